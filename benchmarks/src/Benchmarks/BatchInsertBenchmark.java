@@ -0,0 +1,93 @@
+package Benchmarks;
+
+import AVL.AVL;
+import RBTree.RedBlackTree;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// ingestão e remoção de um lote numa árvore já populada: laço de operações unitárias
+// contra insertAll/removeAll; a árvore base é remontada com fromSorted antes de cada invocação
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class BatchInsertBenchmark {
+
+    @Param({"1000000"})
+    public int size;
+
+    @Param({"10000", "100000", "1000000"})
+    public int batchSize;
+
+    int[] base;  // conteúdo inicial, ordenado e sem repetições
+    int[] batch; // lote recebido pela ingestão, fora de ordem
+    int[] removals; // lote de remoção: chaves sorteadas de base, fora de ordem
+    AVL avl;
+    RedBlackTree redBlack;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        SplittableRandom random = new SplittableRandom(TreeState.SEED);
+        base = random.ints(size).sorted().distinct().toArray();
+        batch = random.ints(batchSize).toArray();
+        removals = new int[batchSize];
+        for (int i = 0; i < batchSize; i++) removals[i] = base[random.nextInt(base.length)];
+    }
+
+    @Setup(Level.Invocation)
+    public void rebuild() {
+        avl = AVL.fromSorted(base);
+        redBlack = RedBlackTree.fromSorted(base);
+    }
+
+    @Benchmark
+    public AVL avlLoop() {
+        for (int key : batch) avl.insert(key);
+        return avl;
+    }
+
+    @Benchmark
+    public AVL avlInsertAll() {
+        avl.insertAll(batch);
+        return avl;
+    }
+
+    @Benchmark
+    public RedBlackTree redBlackLoop() {
+        for (int key : batch) redBlack.add(key);
+        return redBlack;
+    }
+
+    @Benchmark
+    public RedBlackTree redBlackInsertAll() {
+        redBlack.insertAll(batch);
+        return redBlack;
+    }
+
+    @Benchmark
+    public RedBlackTree redBlackRemoveLoop() {
+        for (int key : removals) redBlack.remove(key);
+        return redBlack;
+    }
+
+    @Benchmark
+    public RedBlackTree redBlackRemoveAll() {
+        redBlack.removeAll(removals);
+        return redBlack;
+    }
+}
@@ -0,0 +1,84 @@
+package Benchmarks;
+
+import Benchmarks.TreeOps.Removable;
+import Benchmarks.TreeOps.Searchable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// carga mista de várias threads sobre uma árvore compartilhada; a escalabilidade aparece
+// rodando com -t 1,2,4,...,32 e comparando a vazão total de cada implementação
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms12g", "-Xmx12g"})
+@Threads(Threads.MAX)
+public class ConcurrentBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Tree {
+        @Param({"LOCKED_AVL", "CONCURRENT_AVL", "CONCURRENT_RED_BLACK"})
+        public TreeImpl impl;
+
+        @Param({"1000000"})
+        public int size;
+
+        // o resto das operações se divide igualmente entre inserção e remoção,
+        // então a árvore fica com cerca de "size" chaves durante toda a medição
+        @Param({"100", "95", "90", "50"})
+        public int readPercent;
+
+        public Searchable tree;
+        public Removable removable; // a mesma árvore, vista pela remoção
+
+        @Setup(Level.Trial)
+        public void populate() {
+            tree = impl.create(Searchable.class);
+            removable = impl.as(tree, Removable.class);
+            SplittableRandom random = new SplittableRandom(TreeState.SEED);
+            for (int i = 0; i < size; i++) tree.insert(random.nextInt(2 * size));
+        }
+
+        @TearDown(Level.Trial)
+        public void release() {
+            tree.close();
+        }
+    }
+
+    // gerador próprio de cada thread, para não disputar um cursor compartilhado
+    @State(Scope.Thread)
+    public static class Worker {
+        SplittableRandom random;
+
+        @Setup(Level.Trial)
+        public void seed(ThreadParams params) {
+            random = new SplittableRandom(TreeState.SEED + 1 + params.getThreadIndex());
+        }
+    }
+
+    @Benchmark
+    public boolean mixed(Tree state, Worker worker) {
+        int key = worker.random.nextInt(2 * state.size);
+        int dice = worker.random.nextInt(100);
+        if (dice < state.readPercent) return state.tree.search(key);
+        if ((dice & 1) == 0) state.tree.insert(key);
+        else state.removable.remove(key);
+        return false;
+    }
+}
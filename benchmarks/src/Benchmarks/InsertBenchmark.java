@@ -0,0 +1,90 @@
+package Benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// carga completa: cada invocação cria uma árvore vazia e insere "size" chaves;
+// a vazão por chave é size / tempo médio da invocação
+@BenchmarkMode({Mode.AverageTime, Mode.SingleShotTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms12g", "-Xmx12g"})
+public class InsertBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Keys {
+        @Param({"AVL", "AVL_PADRAO_JA_TRACKED", "RED_BLACK", "ARRAY_RED_BLACK", "OFF_HEAP_RED_BLACK", "B_PLUS"})
+        public TreeImpl impl;
+
+        @Param({"1000", "100000", "10000000", "100000000"})
+        public int size;
+
+        @Param({"SEQUENTIAL", "RANDOM", "ZIPFIAN", "DUPLICATE_HEAVY"})
+        public KeyDistribution distribution;
+
+        public int[] keys;
+        TreeOps loaded; // árvore da última invocação
+
+        @Setup(Level.Trial)
+        public void generate() {
+            keys = distribution.keys(size, TreeState.SEED);
+        }
+
+        // cada invocação monta uma árvore nova; a de OFF_HEAP_RED_BLACK ocupa memória fora do
+        // heap (2,7 GB com 100M chaves) que o GC não devolve, então é fechada logo depois.
+        // Level.Invocation só é barato porque cada invocação insere "size" chaves
+        @TearDown(Level.Invocation)
+        public void release() {
+            if (loaded != null) loaded.close();
+            loaded = null;
+        }
+    }
+
+    // AVL_PADRAO_JA sem altura guardada recalcula as alturas em O(n) a cada inserção: a
+    // carga inteira é quadrática e não termina com 10M ou 100M chaves, então essa
+    // implementação fica num estado próprio, só com os tamanhos pequenos
+    @State(Scope.Benchmark)
+    public static class UntrackedKeys {
+        @Param({"1000", "10000", "100000"})
+        public int size;
+
+        @Param({"SEQUENTIAL", "RANDOM", "ZIPFIAN", "DUPLICATE_HEAVY"})
+        public KeyDistribution distribution;
+
+        public int[] keys;
+
+        @Setup(Level.Trial)
+        public void generate() {
+            keys = distribution.keys(size, TreeState.SEED);
+        }
+    }
+
+    @Benchmark
+    public TreeOps load(Keys state) {
+        TreeOps tree = state.impl.create();
+        state.loaded = tree;
+        for (int key : state.keys) tree.insert(key);
+        return tree; // devolvido ao JMH para não ser eliminado como código morto
+    }
+
+    @Benchmark
+    public TreeOps loadUntracked(UntrackedKeys state) {
+        TreeOps tree = TreeImpl.AVL_PADRAO_JA.create();
+        for (int key : state.keys) tree.insert(key);
+        return tree;
+    }
+}
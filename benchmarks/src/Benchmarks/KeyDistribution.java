@@ -0,0 +1,78 @@
+package Benchmarks;
+
+import java.util.SplittableRandom;
+
+// distribuições de chaves usadas para popular e consultar as árvores;
+// o nome da constante é o valor do @Param "distribution"
+public enum KeyDistribution {
+
+    // 0, 1, 2, ... n-1: pior caso de rotações para as árvores balanceadas
+    SEQUENTIAL {
+        @Override
+        public int[] keys(int n, long seed) {
+            int[] keys = new int[n];
+            for (int i = 0; i < n; i++) keys[i] = i;
+            return keys;
+        }
+    },
+
+    // inteiros uniformes em todo o domínio de int (praticamente sem repetição)
+    RANDOM {
+        @Override
+        public int[] keys(int n, long seed) {
+            SplittableRandom random = new SplittableRandom(seed);
+            int[] keys = new int[n];
+            for (int i = 0; i < n; i++) keys[i] = random.nextInt();
+            return keys;
+        }
+    },
+
+    // ranks com distribuição de Zipf (theta = 0.99, como no YCSB); o rank é
+    // embaralhado por uma multiplicação ímpar para que as chaves quentes não
+    // fiquem todas juntas no mesmo canto da árvore
+    ZIPFIAN {
+        @Override
+        public int[] keys(int n, long seed) {
+            SplittableRandom random = new SplittableRandom(seed);
+            double theta = 0.99;
+            double zetaN = zeta(n, theta);
+            double zeta2 = zeta(2, theta);
+            double alpha = 1.0 / (1.0 - theta);
+            double eta = (1 - Math.pow(2.0 / n, 1 - theta)) / (1 - zeta2 / zetaN);
+            double half = 1 + Math.pow(0.5, theta);
+
+            int[] keys = new int[n];
+            for (int i = 0; i < n; i++) {
+                double u = random.nextDouble();
+                double uz = u * zetaN;
+                long rank;
+                if (uz < 1) rank = 0;
+                else if (uz < half) rank = 1;
+                else rank = (long) (n * Math.pow(eta * u - eta + 1, alpha));
+                keys[i] = (int) rank * 0x9E3779B9; // bijeção sobre int (constante ímpar)
+            }
+            return keys;
+        }
+
+        private double zeta(long n, double theta) {
+            double sum = 0;
+            for (long i = 1; i <= n; i++) sum += 1.0 / Math.pow(i, theta);
+            return sum;
+        }
+    },
+
+    // chaves uniformes num domínio 16x menor que n: cada chave aparece ~16 vezes
+    DUPLICATE_HEAVY {
+        @Override
+        public int[] keys(int n, long seed) {
+            SplittableRandom random = new SplittableRandom(seed);
+            int domain = Math.max(1, n / 16);
+            int[] keys = new int[n];
+            for (int i = 0; i < n; i++) keys[i] = random.nextInt(domain);
+            return keys;
+        }
+    };
+
+    // gera n chaves de forma determinística a partir da semente
+    public abstract int[] keys(int n, long seed);
+}
@@ -0,0 +1,50 @@
+package Benchmarks;
+
+import Benchmarks.TreeOps.Ordered;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// descida até o menor e o maior elemento
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms12g", "-Xmx12g"})
+public class MinMaxBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Tree extends TreeState<Ordered> {
+        @Param({"RED_BLACK", "ARRAY_RED_BLACK", "OFF_HEAP_RED_BLACK", "B_PLUS"})
+        public TreeImpl impl;
+
+        @Override
+        protected TreeImpl impl() {
+            return impl;
+        }
+
+        @Override
+        protected Class<Ordered> capability() {
+            return Ordered.class;
+        }
+    }
+
+    @Benchmark
+    public Object min(Tree state) {
+        return state.tree.min();
+    }
+
+    @Benchmark
+    public Object max(Tree state) {
+        return state.tree.max();
+    }
+}
@@ -0,0 +1,48 @@
+package Benchmarks;
+
+import Benchmarks.TreeOps.Removable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// rotatividade: remove uma chave presente e a reinsere em seguida, mantendo o
+// tamanho da árvore estável durante toda a medição (cada op = 1 remove + 1 insert)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms12g", "-Xmx12g"})
+public class RemoveBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Tree extends TreeState<Removable> {
+        @Param({"AVL", "RED_BLACK", "ARRAY_RED_BLACK", "OFF_HEAP_RED_BLACK", "B_PLUS"})
+        public TreeImpl impl;
+
+        @Override
+        protected TreeImpl impl() {
+            return impl;
+        }
+
+        @Override
+        protected Class<Removable> capability() {
+            return Removable.class;
+        }
+    }
+
+    @Benchmark
+    public void removeAndReinsert(Tree state) {
+        int key = state.nextProbe();
+        state.tree.remove(key);
+        state.tree.insert(key);
+    }
+}
@@ -0,0 +1,45 @@
+package Benchmarks;
+
+import Benchmarks.TreeOps.Searchable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// busca pontual de chaves presentes: vazão (ops/us) e latência amostrada (percentis)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms12g", "-Xmx12g"})
+public class SearchBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Tree extends TreeState<Searchable> {
+        @Param({"AVL", "RED_BLACK", "ARRAY_RED_BLACK", "OFF_HEAP_RED_BLACK", "B_PLUS"})
+        public TreeImpl impl;
+
+        @Override
+        protected TreeImpl impl() {
+            return impl;
+        }
+
+        @Override
+        protected Class<Searchable> capability() {
+            return Searchable.class;
+        }
+    }
+
+    @Benchmark
+    public boolean search(Tree state) {
+        return state.tree.search(state.nextProbe());
+    }
+}
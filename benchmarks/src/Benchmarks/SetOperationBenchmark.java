@@ -0,0 +1,73 @@
+package Benchmarks;
+
+import AVL.AVL;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.PrimitiveIterator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// fusão de dois índices AVL: union baseado em split/join (paralelo no ForkJoinPool comum)
+// contra o caminho atual de percorrer uma árvore inserindo cada chave na outra; a
+// escalabilidade aparece variando -Djava.util.concurrent.ForkJoinPool.common.parallelism
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms12g", "-Xmx12g"})
+@State(Scope.Benchmark)
+public class SetOperationBenchmark {
+
+    @Param({"1000000", "10000000", "50000000"})
+    public int size;
+
+    int[] a; // chaves ordenadas e distintas de cada árvore, sorteadas num intervalo
+    int[] b; // de 4 * size, então as duas se sobrepõem em parte
+    AVL left;
+    AVL right;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        a = new SplittableRandom(TreeState.SEED).ints(size, 0, 4 * size).sorted().distinct().toArray();
+        b = new SplittableRandom(TreeState.SEED + 1).ints(size, 0, 4 * size).sorted().distinct().toArray();
+    }
+
+    // as operações de conjunto consomem as entradas, então elas são remontadas a cada invocação
+    @Setup(Level.Invocation)
+    public void rebuild() {
+        left = AVL.fromSorted(a);
+        right = AVL.fromSorted(b);
+    }
+
+    @Benchmark
+    public AVL unionJoin() {
+        return AVL.union(left, right);
+    }
+
+    @Benchmark
+    public AVL unionByInsert() {
+        for (PrimitiveIterator.OfInt keys = right.iterator(); keys.hasNext(); ) left.insert(keys.nextInt());
+        return left;
+    }
+
+    @Benchmark
+    public AVL intersection() {
+        return AVL.intersection(left, right);
+    }
+
+    @Benchmark
+    public AVL difference() {
+        return AVL.difference(left, right);
+    }
+}
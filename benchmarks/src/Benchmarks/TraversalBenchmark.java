@@ -0,0 +1,72 @@
+package Benchmarks;
+
+import Benchmarks.TreeOps.Traversable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// percurso completo da árvore (uma invocação visita todos os "size" nós)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms12g", "-Xmx12g"})
+public class TraversalBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Tree extends TreeState<Traversable> {
+        @Param({"AVL_PADRAO_JA_TRACKED", "RED_BLACK", "ARRAY_RED_BLACK", "OFF_HEAP_RED_BLACK", "B_PLUS"})
+        public TreeImpl impl;
+
+        @Override
+        protected TreeImpl impl() {
+            return impl;
+        }
+
+        @Override
+        protected Class<Traversable> capability() {
+            return Traversable.class;
+        }
+    }
+
+    // AVL_PADRAO_JA sem altura guardada tem inserção O(n): montar a árvore com 10M ou 100M
+    // chaves levaria um tempo quadrático, então ela só roda com os tamanhos pequenos
+    @State(Scope.Benchmark)
+    public static class UntrackedTree {
+        @Param({"1000", "10000", "100000"})
+        public int size;
+
+        @Param({"SEQUENTIAL", "RANDOM", "ZIPFIAN", "DUPLICATE_HEAVY"})
+        public KeyDistribution distribution;
+
+        public Traversable tree;
+
+        @Setup(Level.Trial)
+        public void populate() {
+            tree = TreeImpl.AVL_PADRAO_JA.create(Traversable.class);
+            for (int key : distribution.keys(size, TreeState.SEED)) tree.insert(key);
+        }
+    }
+
+    @Benchmark
+    public void traverse(Tree state, Blackhole bh) {
+        state.tree.traverse(bh);
+    }
+
+    @Benchmark
+    public void traverseUntracked(UntrackedTree state, Blackhole bh) {
+        state.tree.traverse(bh);
+    }
+}
@@ -0,0 +1,192 @@
+package Benchmarks;
+
+import AVL.AVL;
+import AVL.AVLpadraoJA;
+import AVL.ConcurrentAVL;
+import BTree.BPlusTree;
+import RBTree.ArrayRedBlackTree;
+import RBTree.ConcurrentRedBlackTree;
+import RBTree.OffHeapRedBlackTree;
+import RBTree.RedBlackTree;
+import Benchmarks.TreeOps.Ordered;
+import Benchmarks.TreeOps.Removable;
+import Benchmarks.TreeOps.Searchable;
+import Benchmarks.TreeOps.Traversable;
+import Benchmarks.TreeOps.Visitable;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.function.IntConsumer;
+
+// implementações comparadas nos benchmarks; o nome da constante é o valor do @Param "impl"
+public enum TreeImpl {
+
+    AVL {
+        @Override
+        public TreeOps create() {
+            AVL tree = new AVL();
+            class Ops implements Searchable, Removable {
+                public void insert(int key) { tree.insert(key); }
+                public boolean search(int key) { return tree.search(key) != null; }
+                public void remove(int key) { tree.remove(key); }
+            }
+            return new Ops();
+        }
+    },
+
+    AVL_PADRAO_JA {
+        @Override
+        public TreeOps create() {
+            AVLpadraoJA tree = new AVLpadraoJA();
+            class Ops implements Traversable, Visitable {
+                public void insert(int key) { tree.add(key); }
+                public void traverse(Blackhole bh) { bh.consume(tree.preOrder()); }
+                public void forEachInOrder(IntConsumer action) { tree.forEachInOrder(action); }
+                public int[] toArray() { return tree.toArray(); }
+            }
+            return new Ops();
+        }
+    },
+
+    // mesmo algoritmo, mas com Node.height mantido e retracing com parada antecipada
+    AVL_PADRAO_JA_TRACKED {
+        @Override
+        public TreeOps create() {
+            AVLpadraoJA tree = new AVLpadraoJA(true);
+            class Ops implements Traversable, Visitable {
+                public void insert(int key) { tree.add(key); }
+                public void traverse(Blackhole bh) { bh.consume(tree.preOrder()); }
+                public void forEachInOrder(IntConsumer action) { tree.forEachInOrder(action); }
+                public int[] toArray() { return tree.toArray(); }
+            }
+            return new Ops();
+        }
+    },
+
+    RED_BLACK {
+        @Override
+        public TreeOps create() {
+            RedBlackTree tree = new RedBlackTree();
+            class Ops implements Searchable, Removable, Ordered, Traversable, Visitable {
+                public void insert(int key) { tree.add(key); }
+                public boolean search(int key) { return tree.search(key) != null; }
+                public void remove(int key) { tree.remove(key); }
+                public Object min() { return tree.min(); }
+                public Object max() { return tree.max(); }
+                public void traverse(Blackhole bh) { bh.consume(tree.inOrder()); }
+                public void forEachInOrder(IntConsumer action) { tree.forEachInOrder(action); }
+                public int[] toArray() { return tree.toArray(); }
+            }
+            return new Ops();
+        }
+    },
+
+    // mesma árvore Rubro-Negra, com nós em vetores paralelos em vez de objetos
+    ARRAY_RED_BLACK {
+        @Override
+        public TreeOps create() {
+            ArrayRedBlackTree tree = new ArrayRedBlackTree();
+            class Ops implements Searchable, Removable, Ordered, Traversable {
+                public void insert(int key) { tree.add(key); }
+                public boolean search(int key) { return tree.search(key); }
+                public void remove(int key) { tree.remove(key); }
+                public Object min() { return tree.min(); }
+                public Object max() { return tree.max(); }
+                public void traverse(Blackhole bh) { bh.consume(tree.inOrder()); }
+            }
+            return new Ops();
+        }
+    },
+
+    // mesma árvore Rubro-Negra, com os registros num MemorySegment fora do heap
+    OFF_HEAP_RED_BLACK {
+        @Override
+        public TreeOps create() {
+            OffHeapRedBlackTree tree = new OffHeapRedBlackTree(); // o arena só é liberado em close()
+            class Ops implements Searchable, Removable, Ordered, Traversable {
+                public void insert(int key) { tree.add(key); }
+                public boolean search(int key) { return tree.search(key); }
+                public void remove(int key) { tree.remove(key); }
+                public Object min() { return tree.min(); }
+                public Object max() { return tree.max(); }
+                public void traverse(Blackhole bh) { bh.consume(tree.inOrder()); }
+                public void close() { tree.close(); }
+            }
+            return new Ops();
+        }
+    },
+
+    B_PLUS {
+        @Override
+        public TreeOps create() {
+            BPlusTree tree = new BPlusTree();
+            class Ops implements Searchable, Removable, Ordered, Traversable {
+                public void insert(int key) { tree.add(key); }
+                public boolean search(int key) { return tree.search(key); }
+                public void remove(int key) { tree.remove(key); }
+                public Object min() { return tree.min(); }
+                public Object max() { return tree.max(); }
+                public void traverse(Blackhole bh) { bh.consume(tree.inOrder()); }
+            }
+            return new Ops();
+        }
+    },
+
+    // AVL atrás de uma trava global: como a árvore é compartilhada entre threads hoje
+    LOCKED_AVL {
+        @Override
+        public TreeOps create() {
+            AVL tree = new AVL();
+            class Ops implements Searchable, Removable {
+                public synchronized void insert(int key) { tree.insert(key); }
+                public synchronized boolean search(int key) { return tree.search(key) != null; }
+                public synchronized void remove(int key) { tree.remove(key); }
+            }
+            return new Ops();
+        }
+    },
+
+    // leituras otimistas validadas por versão e travas por nó nas escritas
+    CONCURRENT_AVL {
+        @Override
+        public TreeOps create() {
+            ConcurrentAVL tree = new ConcurrentAVL();
+            class Ops implements Searchable, Removable {
+                public void insert(int key) { tree.add(key); }
+                public boolean search(int key) { return tree.contains(key); }
+                public void remove(int key) { tree.remove(key); }
+            }
+            return new Ops();
+        }
+    },
+
+    // RedBlackTree atrás de um StampedLock, com leituras otimistas validadas
+    CONCURRENT_RED_BLACK {
+        @Override
+        public TreeOps create() {
+            ConcurrentRedBlackTree tree = new ConcurrentRedBlackTree();
+            class Ops implements Searchable, Removable, Ordered {
+                public void insert(int key) { tree.add(key); }
+                public boolean search(int key) { return tree.contains(key); }
+                public void remove(int key) { tree.remove(key); }
+                public Object min() { return tree.min(); }
+                public Object max() { return tree.max(); }
+            }
+            return new Ops();
+        }
+    };
+
+    public abstract TreeOps create();
+
+    // cria a árvore já vista pela capacidade que o benchmark usa
+    public <T extends TreeOps> T create(Class<T> capability) {
+        return as(create(), capability);
+    }
+
+    // a mesma árvore vista por outra capacidade; uma implementação que não a oferece
+    // (@Param "impl" errado) falha aqui, no setup, com o nome da operação que falta
+    public <T extends TreeOps> T as(TreeOps tree, Class<T> capability) {
+        if (!capability.isInstance(tree))
+            throw new IllegalArgumentException(name() + " não implementa " + capability.getSimpleName());
+        return capability.cast(tree);
+    }
+}
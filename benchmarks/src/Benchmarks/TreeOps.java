@@ -0,0 +1,46 @@
+package Benchmarks;
+
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.function.IntConsumer;
+
+// adaptador mínimo sobre as árvores do projeto, para que um mesmo benchmark rode
+// contra qualquer implementação; cada fork do JMH carrega só uma implementação,
+// então as chamadas continuam monomórficas.
+// Toda árvore sabe inserir; as demais operações ficam nas interfaces de capacidade
+// abaixo, implementadas só por quem as oferece. Cada estado pede a capacidade que usa
+// em TreeImpl.create(Class), então um @Param "impl" errado falha no setup do trial.
+// close() libera recursos fora do heap (OFF_HEAP_RED_BLACK); para as demais é vazio
+public interface TreeOps extends AutoCloseable {
+
+    void insert(int key);
+
+    @Override
+    default void close() {
+    }
+
+    interface Searchable extends TreeOps {
+        boolean search(int key);
+    }
+
+    interface Removable extends TreeOps {
+        void remove(int key);
+    }
+
+    interface Ordered extends TreeOps {
+        Object min();
+
+        Object max();
+    }
+
+    interface Traversable extends TreeOps {
+        void traverse(Blackhole bh);
+    }
+
+    // percurso em ordem sem alocação por nó
+    interface Visitable extends TreeOps {
+        void forEachInOrder(IntConsumer action);
+
+        int[] toArray();
+    }
+}
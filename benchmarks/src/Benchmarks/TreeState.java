@@ -0,0 +1,60 @@
+package Benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.SplittableRandom;
+
+// estado compartilhado: uma árvore já populada com "size" chaves da distribuição
+// escolhida, mais um vetor de chaves de consulta percorrido de forma circular. T é a
+// capacidade de TreeOps que o benchmark usa
+@State(Scope.Benchmark)
+public abstract class TreeState<T extends TreeOps> {
+
+    static final long SEED = 42L;
+    static final int PROBES = 1 << 20; // potência de 2 para usar máscara no índice
+
+    @Param({"1000", "100000", "10000000", "100000000"})
+    public int size;
+
+    @Param({"SEQUENTIAL", "RANDOM", "ZIPFIAN", "DUPLICATE_HEAVY"})
+    public KeyDistribution distribution;
+
+    public T tree;
+    public int[] keys;   // chaves inseridas na árvore
+    public int[] probes; // chaves consultadas (todas presentes na árvore)
+    int cursor;
+
+    // a implementação fica nas subclasses para que cada benchmark restrinja o @Param "impl"
+    protected abstract TreeImpl impl();
+
+    protected abstract Class<T> capability();
+
+    @Setup(Level.Trial)
+    public void populate() {
+        keys = distribution.keys(size, SEED);
+        tree = impl().create(capability());
+        for (int key : keys) tree.insert(key);
+
+        // sortear posições uniformes do vetor de chaves mantém a frequência da
+        // distribuição (chaves quentes do Zipf aparecem mais vezes em "keys")
+        SplittableRandom random = new SplittableRandom(SEED + 1);
+        probes = new int[PROBES];
+        for (int i = 0; i < PROBES; i++) probes[i] = keys[random.nextInt(size)];
+    }
+
+    // árvores fora do heap não são liberadas pelo GC: sem isto cada trial vazaria o segmento
+    @TearDown(Level.Trial)
+    public void release() {
+        tree.close();
+    }
+
+    // próxima chave de consulta, sem divisão nem desvio
+    public int nextProbe() {
+        return probes[cursor++ & (PROBES - 1)];
+    }
+}
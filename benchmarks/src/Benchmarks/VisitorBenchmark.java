@@ -0,0 +1,52 @@
+package Benchmarks;
+
+import Benchmarks.TreeOps.Visitable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// mesmo percurso completo de TraversalBenchmark, pelas APIs sem alocação por nó;
+// rodar com -prof gc mostra a diferença de alocação contra traverse
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms12g", "-Xmx12g"})
+public class VisitorBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Tree extends TreeState<Visitable> {
+        @Param({"AVL_PADRAO_JA_TRACKED", "RED_BLACK"})
+        public TreeImpl impl;
+
+        @Override
+        protected TreeImpl impl() {
+            return impl;
+        }
+
+        @Override
+        protected Class<Visitable> capability() {
+            return Visitable.class;
+        }
+    }
+
+    @Benchmark
+    public void forEachInOrder(Tree state, Blackhole bh) {
+        state.tree.forEachInOrder(bh::consume);
+    }
+
+    @Benchmark
+    public int[] toArray(Tree state) {
+        return state.tree.toArray();
+    }
+}
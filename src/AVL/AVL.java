@@ -1,8 +1,21 @@
 package AVL;
 
+import Metrics.TreeMetrics;
+import Metrics.TreeOperationEvent;
+import Snapshot.SnapshotReader;
+import Snapshot.SnapshotWriter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
 public class AVL {
     Node root;
     int size;
+    private TreeMetrics metrics; // null = métricas desligadas
 
     public AVL() {
         this.size = 0; // inicializa o tamanho da árvore como 0
@@ -22,6 +35,8 @@ public class AVL {
         return height(node.left) - height(node.right); // FB = altura esquerda - altura direita
     }
 
+    // atualiza altura e tamanho da subárvore; é chamado em todo nó cujos filhos mudaram
+    // (inserção, remoção e rotações), então os dois campos nunca ficam desatualizados
     public void updateHeight(Node node) {
         if (node == null) return; // proteção contra nulo
         // altura do nó = 1 + maior altura entre os filhos
@@ -30,6 +45,25 @@ public class AVL {
         } else {
             node.height = height(node.left) + 1;
         }
+        node.subtreeSize = 1 + sizeOf(node.left) + sizeOf(node.right);
+    }
+
+    static int sizeOf(Node node) {
+        return node == null ? 0 : node.subtreeSize;
+    }
+
+    // quantidade de elementos, O(1)
+    public int size() {
+        return size;
+    }
+
+    // passa a registrar rotações, comparações e profundidades em metrics (null desliga)
+    public void setMetrics(TreeMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public TreeMetrics getMetrics() {
+        return metrics;
     }
 
     public Node rotateRight(Node node) {
@@ -63,38 +97,173 @@ public class AVL {
     public Node rebalance(Node node) {
         if (node == null) return null; // proteção contra nulo
 
-        // caso Esquerda-Esquerda: FB > 1 e filho esquerdo pesado à esquerda
-        if (getBalanceFactor(node) > 1 && getBalanceFactor(node.left) >= 0) {
-            return rotateRight(node);
-        }
-        // caso Esquerda-Direita: FB > 1 e filho esquerdo pesado à direita
-        else if (getBalanceFactor(node) > 1 && getBalanceFactor(node.left) < 0) {
+        int balance = getBalanceFactor(node); // calculado uma vez só
+        if (balance > 1) {
+            // caso Esquerda-Esquerda: filho esquerdo pesado à esquerda (ou equilibrado)
+            if (getBalanceFactor(node.left) >= 0) {
+                if (metrics != null) metrics.rotation(TreeMetrics.Rotation.LL);
+                return rotateRight(node);
+            }
+            // caso Esquerda-Direita: filho esquerdo pesado à direita
+            if (metrics != null) metrics.rotation(TreeMetrics.Rotation.LR);
             return rotateLeftRight(node);
         }
-        // caso Direita-Direita: FB < -1 e filho direito pesado à direita
-        else if (getBalanceFactor(node) < -1 && getBalanceFactor(node.right) <= 0) {
-            return rotateLeft(node);
-        }
-        // caso Direita-Esquerda: FB < -1 e filho direito pesado à esquerda
-        else if (getBalanceFactor(node) < -1 && getBalanceFactor(node.right) > 0) {
+        if (balance < -1) {
+            // caso Direita-Direita: filho direito pesado à direita (ou equilibrado)
+            if (getBalanceFactor(node.right) <= 0) {
+                if (metrics != null) metrics.rotation(TreeMetrics.Rotation.RR);
+                return rotateLeft(node);
+            }
+            // caso Direita-Esquerda: filho direito pesado à esquerda
+            if (metrics != null) metrics.rotation(TreeMetrics.Rotation.RL);
             return rotateRightLeft(node);
         }
         return node; // já está balanceado, retorna o próprio nó
     }
 
-    private Node insert(Node node, int element) {
-        if (node == null) return new Node(element); // posição encontrada, cria o nó
-        else if (element < node.value)
-            node.left = insert(node.left, element);   // desce pela esquerda
-        else if (element > node.value)
-            node.right = insert(node.right, element); // desce pela direita
-        // na volta da recursão:
-        updateHeight(node);     // atualiza a altura do nó atual
-        return rebalance(node); // rebalanceia e retorna o nó
-    }
+    // -------------------------------------------------------------------------
+    // INSERÇÃO E REMOÇÃO ITERATIVAS
+    // -------------------------------------------------------------------------
+
+    // uma AVL com até 2^31 nós tem altura < 1.45 log2(n + 2) < 46
+    static final int MAX_HEIGHT = 64;
 
+    // caminho da raiz até o ponto de mudança, reaproveitado entre operações
+    private final Node[] path = new Node[MAX_HEIGHT];
+
+    // desce guardando o caminho e, na volta, só recalcula altura e rebalanceia enquanto a
+    // altura da subárvore muda; na inserção, uma rotação (simples ou dupla) devolve a
+    // subárvore à altura anterior, então o retracing para ali. Acima desse ponto só o
+    // tamanho das subárvores muda, com um incremento por ancestral
     public void insert(int element) {
-        root = insert(root, element); // chama o recursivo e atualiza a raiz
+        TreeOperationEvent event = TreeOperationEvent.start(); // null quando o JFR não está gravando este evento
+        if (root == null) {
+            root = new Node(element);
+            size = 1;
+            if (metrics != null) metrics.operation(TreeMetrics.Operation.INSERT, 0);
+            if (event != null) event.finish("AVL", "insert", element, 0, 0);
+            return;
+        }
+        Node[] path = this.path;
+        int depth = 0;
+        Node node = root;
+        while (true) {
+            path[depth++] = node;
+            if (element < node.value) {
+                if (node.left == null) {
+                    node.left = new Node(element);   // posição encontrada à esquerda
+                    break;
+                }
+                node = node.left;
+            } else if (element > node.value) {
+                if (node.right == null) {
+                    node.right = new Node(element);  // posição encontrada à direita
+                    break;
+                }
+                node = node.right;
+            } else {
+                if (metrics != null) metrics.operation(TreeMetrics.Operation.INSERT, depth);
+                if (event != null) event.finish("AVL", "insert", element, depth, 0);
+                return; // duplicata: nenhum nó do caminho foi alterado
+            }
+        }
+        size++;
+        if (metrics != null) metrics.operation(TreeMetrics.Operation.INSERT, depth);
+
+        int rotations = 0;
+        int i = depth - 1;
+        for (; i >= 0; i--) {
+            Node current = path[i];
+            int oldHeight = current.height;
+            updateHeight(current);                 // altura e tamanho do nó atual
+            Node left = current.left;
+            Node right = current.right;
+            Node balanced = rebalance(current);
+            if (balanced != current) {             // houve rotação: altura volta à anterior
+                link(i, current, balanced);
+                rotations = singleRotations(left, right, balanced);
+                i--;
+                break;
+            }
+            if (current.height == oldHeight) {     // altura não mudou: ancestrais não precisam de reparo
+                i--;
+                break;
+            }
+        }
+        for (; i >= 0; i--) path[i].subtreeSize++;
+        if (event != null) event.finish("AVL", "insert", element, depth, rotations);
+    }
+
+    public void remove(int element) {
+        TreeOperationEvent event = TreeOperationEvent.start();
+        Node[] path = this.path;
+        int depth = 0;
+        Node node = root;
+        while (node != null && node.value != element) {
+            path[depth++] = node;
+            node = element < node.value ? node.left : node.right;
+        }
+        if (metrics != null) metrics.operation(TreeMetrics.Operation.REMOVE, node == null ? depth : depth + 1);
+        if (node == null) { // elemento não existe na árvore
+            if (event != null) event.finish("AVL", "remove", element, depth, 0);
+            return;
+        }
+        int searchDepth = depth + 1;
+
+        // caso 3: dois filhos — copia o valor do sucessor in-order e passa a remover o sucessor
+        if (node.left != null && node.right != null) {
+            path[depth++] = node;
+            Node successor = node.right;
+            while (successor.left != null) {
+                path[depth++] = successor;
+                successor = successor.left;
+            }
+            node.value = successor.value;
+            node = successor;
+        }
+        // casos 1 e 2: o nó tem no máximo um filho, que sobe no lugar dele
+        link(depth, node, node.left != null ? node.left : node.right);
+        size--;
+
+        // na remoção uma rotação pode diminuir a altura, então o retracing só para quando
+        // a altura da subárvore (já rebalanceada) fica igual à anterior
+        int rotations = 0;
+        int i = depth - 1;
+        for (; i >= 0; i--) {
+            Node current = path[i];
+            int oldHeight = current.height;
+            updateHeight(current);
+            Node left = current.left;
+            Node right = current.right;
+            Node balanced = rebalance(current);
+            if (balanced != current) {
+                link(i, current, balanced);
+                rotations += singleRotations(left, right, balanced);
+            }
+            if (balanced.height == oldHeight) {
+                i--;
+                break;
+            }
+        }
+        for (; i >= 0; i--) path[i].subtreeSize--;
+        if (event != null) event.finish("AVL", "remove", element, searchDepth, rotations);
+    }
+
+    // rotações simples feitas por rebalance, como nos eventos das outras árvores: se subiu
+    // um filho foi uma rotação simples, se subiu um neto foi uma dupla, que conta duas
+    private static int singleRotations(Node left, Node right, Node balanced) {
+        return balanced == left || balanced == right ? 1 : 2;
+    }
+
+    // coloca replacement no lugar de path[depth] (o filho de path[depth - 1], ou a raiz)
+    private void link(int depth, Node old, Node replacement) {
+        if (depth == 0) {
+            root = replacement;
+            return;
+        }
+        Node parent = path[depth - 1];
+        if (parent.left == old) parent.left = replacement;
+        else parent.right = replacement;
     }
 
     private Node search(Node node, int element) {
@@ -107,43 +276,517 @@ public class AVL {
     }
 
     public Node search(int element) {
-        return search(root, element); // começa a busca pela raiz
+        if (metrics == null) return search(root, element); // começa a busca pela raiz
+        int depth = 0;
+        Node node = root;
+        while (node != null) {
+            depth++;
+            if (element < node.value) node = node.left;
+            else if (element > node.value) node = node.right;
+            else break;
+        }
+        metrics.operation(TreeMetrics.Operation.SEARCH, depth);
+        return node;
     }
 
-    private Node remove(Node node, int element) {
-        if (node == null) return null; // elemento não existe na árvore
-        else if (element < node.value)
-            node.left = remove(node.left, element);   // desce pela esquerda
-        else if (element > node.value)
-            node.right = remove(node.right, element); // desce pela direita
-        else {
-            // elemento encontrado, trata os 3 casos:
+    // -------------------------------------------------------------------------
+    // OPERAÇÕES EM LOTE
+    // -------------------------------------------------------------------------
+
+    // o lote é ordenado uma vez; cada nó visitado separa o lote em "menores" e "maiores",
+    // cada parte desce só pelo lado dela e a subárvore é remontada com join na volta,
+    // então caminhos em comum são percorridos uma vez só e cada subárvore afetada é
+    // rebalanceada uma vez, em vez de uma descida completa por chave
+    public void insertAll(int[] elements) {
+        int[] batch = sortedDistinct(elements);
+        root = union(root, batch, 0, batch.length);
+        size = sizeOf(root);
+    }
+
+    public void removeAll(int[] elements) {
+        int[] batch = sortedDistinct(elements);
+        root = difference(root, batch, 0, batch.length);
+        size = sizeOf(root);
+    }
+
+    public boolean containsAll(int[] elements) {
+        int[] batch = sortedDistinct(elements);
+        return containsAll(root, batch, 0, batch.length);
+    }
+
+    // cópia ordenada e sem repetições (a AVL ignora duplicatas)
+    private static int[] sortedDistinct(int[] elements) {
+        int[] batch = elements.clone();
+        Arrays.sort(batch);
+        int distinct = 0;
+        for (int i = 0; i < batch.length; i++) {
+            if (i == 0 || batch[i] != batch[distinct - 1]) batch[distinct++] = batch[i];
+        }
+        return distinct == batch.length ? batch : Arrays.copyOf(batch, distinct);
+    }
+
+    // primeira posição em batch[low..high) com valor >= element
+    private static int lowerBound(int[] batch, int low, int high, int element) {
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (batch[mid] < element) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    // insere batch[low..high) na subárvore e retorna a nova raiz
+    private Node union(Node node, int[] batch, int low, int high) {
+        if (low >= high) return node;
+        if (node == null) return build(batch, low, high - 1); // subárvore nova já balanceada
+        int split = lowerBound(batch, low, high, node.value);
+        int end = split < high && batch[split] == node.value ? split + 1 : split; // pula a duplicata
+        Node left = union(node.left, batch, low, split);
+        Node right = union(node.right, batch, end, high);
+        return join(left, node, right);
+    }
+
+    // remove batch[low..high) da subárvore e retorna a nova raiz
+    private Node difference(Node node, int[] batch, int low, int high) {
+        if (node == null || low >= high) return node;
+        int split = lowerBound(batch, low, high, node.value);
+        int end = split < high && batch[split] == node.value ? split + 1 : split;
+        Node left = difference(node.left, batch, low, split);
+        Node right = difference(node.right, batch, end, high);
+        if (end > split) return join(left, right); // o próprio nó está no lote e sai da árvore
+        return join(left, node, right);
+    }
+
+    private boolean containsAll(Node node, int[] batch, int low, int high) {
+        if (low >= high) return true;
+        if (node == null) return false;
+        int split = lowerBound(batch, low, high, node.value);
+        int end = split < high && batch[split] == node.value ? split + 1 : split;
+        return containsAll(node.left, batch, low, split) && containsAll(node.right, batch, end, high);
+    }
+
+    // junta left < mid < right com alturas quaisquer: desce pela borda da subárvore mais
+    // alta até encontrar uma de altura compatível, pendura mid ali e rebalanceia na volta
+    private Node join(Node left, Node mid, Node right) {
+        if (height(left) > height(right) + 1) {
+            left.right = join(left.right, mid, right);
+            updateHeight(left);
+            return rebalance(left);
+        }
+        if (height(right) > height(left) + 1) {
+            right.left = join(left, mid, right.left);
+            updateHeight(right);
+            return rebalance(right);
+        }
+        mid.left = left;
+        mid.right = right;
+        updateHeight(mid);
+        return mid;
+    }
+
+    // junta left < right sem nó do meio: o menor de right é retirado e usado como meio
+    private Node join(Node left, Node right) {
+        if (right == null) return left;
+        Node mid = minimum(right);
+        return join(left, mid, removeMinimum(right));
+    }
+
+    private Node removeMinimum(Node node) {
+        if (node.left == null) return node.right;
+        node.left = removeMinimum(node.left);
+        updateHeight(node);
+        return rebalance(node);
+    }
+
+    // -------------------------------------------------------------------------
+    // SPLIT, JOIN E OPERAÇÕES DE CONJUNTO
+    // -------------------------------------------------------------------------
+
+    // abaixo deste total de nós as operações de conjunto continuam na mesma thread
+    static final int PARALLEL_SET_THRESHOLD = 1 << 13;
+
+    // resultado de split: chaves menores, se a chave existia, chaves maiores
+    public record Split(AVL left, boolean found, AVL right) {
+    }
+
+    // mesmo resultado, em nós, para uso interno
+    private record Parts(Node left, boolean found, Node right) {
+    }
+
+    // divide a árvore em torno de key em O(log n); os nós são reaproveitados, então esta
+    // árvore fica vazia
+    public Split split(int key) {
+        Parts parts = split(root, key);
+        clear();
+        return new Split(wrap(parts.left()), parts.found(), wrap(parts.right()));
+    }
+
+    // junta left < key < right em O(|altura(left) - altura(right)|); as duas árvores
+    // de entrada ficam vazias
+    public static AVL join(AVL left, int key, AVL right) {
+        if (!left.isEmpty() && left.maximum(left.root).value >= key)
+            throw new IllegalArgumentException("left deve ter só chaves menores que " + key);
+        if (!right.isEmpty() && right.minimum(right.root).value <= key)
+            throw new IllegalArgumentException("right deve ter só chaves maiores que " + key);
+        AVL result = new AVL();
+        result.root = result.join(left.root, new Node(key), right.root);
+        result.size = sizeOf(result.root);
+        left.clear();
+        right.clear();
+        return result;
+    }
+
+    // as três operações seguem o esquema de "Just Join" (Blelloch, Ferizovic e Sun): a raiz
+    // de uma árvore divide a outra com split, os dois lados são resolvidos em paralelo no
+    // ForkJoinPool comum e o resultado é remontado com join. O trabalho é
+    // O(m log(n/m + 1)), com m <= n, e a profundidade é polilogarítmica.
+    // Os nós das entradas são reaproveitados, então as duas árvores ficam vazias.
+
+    public static AVL union(AVL a, AVL b) {
+        return setOperation(a, b, UNION);
+    }
+
+    public static AVL intersection(AVL a, AVL b) {
+        return setOperation(a, b, INTERSECTION);
+    }
 
-            // caso 1: nó folha — remove diretamente
-            if (node.left == null && node.right == null) {
-                return null;
+    // elementos de a que não estão em b
+    public static AVL difference(AVL a, AVL b) {
+        return setOperation(a, b, DIFFERENCE);
+    }
+
+    private static final int UNION = 0;
+    private static final int INTERSECTION = 1;
+    private static final int DIFFERENCE = 2;
+
+    private static AVL setOperation(AVL a, AVL b, int operation) {
+        AVL result = new AVL();
+        result.root = ForkJoinPool.commonPool().invoke(result.new SetTask(a.root, b.root, operation));
+        result.size = sizeOf(result.root);
+        a.clear();
+        b.clear();
+        return result;
+    }
+
+    private static AVL wrap(Node root) {
+        AVL tree = new AVL();
+        tree.root = root;
+        tree.size = sizeOf(root);
+        return tree;
+    }
+
+    private void clear() {
+        root = null;
+        size = 0;
+    }
+
+    private Parts split(Node node, int key) {
+        if (node == null) return new Parts(null, false, null);
+        if (key < node.value) {
+            Parts parts = split(node.left, key);
+            return new Parts(parts.left(), parts.found(), join(parts.right(), node, node.right));
+        }
+        if (key > node.value) {
+            Parts parts = split(node.right, key);
+            return new Parts(join(node.left, node, parts.left()), parts.found(), parts.right());
+        }
+        return new Parts(node.left, true, node.right); // o próprio nó sai da árvore
+    }
+
+    // versões sequenciais, usadas abaixo do limiar de paralelismo
+
+    private Node union(Node a, Node b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        Parts parts = split(b, a.value);
+        Node left = union(a.left, parts.left());
+        Node right = union(a.right, parts.right());
+        return join(left, a, right);
+    }
+
+    private Node intersection(Node a, Node b) {
+        if (a == null || b == null) return null;
+        Parts parts = split(b, a.value);
+        Node left = intersection(a.left, parts.left());
+        Node right = intersection(a.right, parts.right());
+        return parts.found() ? join(left, a, right) : join(left, right);
+    }
+
+    private Node difference(Node a, Node b) {
+        if (a == null || b == null) return a;
+        Parts parts = split(a, b.value); // aqui quem divide é b: a raiz de b sai do resultado
+        Node left = difference(parts.left(), b.left);
+        Node right = difference(parts.right(), b.right);
+        return join(left, right);
+    }
+
+    // mesma recursão, com o lado esquerdo em outra thread enquanto há trabalho suficiente
+    private final class SetTask extends RecursiveTask<Node> {
+        private static final long serialVersionUID = 1L;
+
+        // Node não é Serializable; a tarefa só vive dentro do ForkJoinPool
+        private final transient Node a;
+        private final transient Node b;
+        private final int operation;
+
+        SetTask(Node a, Node b, int operation) {
+            this.a = a;
+            this.b = b;
+            this.operation = operation;
+        }
+
+        @Override
+        protected Node compute() {
+            if (sizeOf(a) + sizeOf(b) < PARALLEL_SET_THRESHOLD) {
+                switch (operation) {
+                    case UNION: return union(a, b);
+                    case INTERSECTION: return intersection(a, b);
+                    default: return difference(a, b);
+                }
             }
-            // caso 2a: só tem filho esquerdo — filho sobe no lugar do nó
-            else if (node.left != null && node.right == null) {
-                return node.left;
+            if (a == null) return operation == UNION ? b : null;
+            if (b == null) return operation == INTERSECTION ? null : a;
+
+            if (operation == DIFFERENCE) {
+                Parts parts = split(a, b.value);
+                SetTask left = new SetTask(parts.left(), b.left, operation);
+                left.fork();
+                Node right = new SetTask(parts.right(), b.right, operation).compute();
+                return AVL.this.join(left.join(), right); // join de ForkJoinTask espera a tarefa
             }
-            // caso 2b: só tem filho direito — filho sobe no lugar do nó
-            else if (node.left == null && node.right != null) {
-                return node.right;
+            Parts parts = split(b, a.value);
+            SetTask left = new SetTask(a.left, parts.left(), operation);
+            left.fork();
+            Node right = new SetTask(a.right, parts.right(), operation).compute();
+            Node leftResult = left.join();
+            if (operation == UNION || parts.found()) return AVL.this.join(leftResult, a, right);
+            return AVL.this.join(leftResult, right);
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // CONSTRUÇÃO A PARTIR DE VETOR ORDENADO
+    // -------------------------------------------------------------------------
+
+    // abaixo deste tamanho a construção paralela continua na mesma thread
+    static final int PARALLEL_BUILD_THRESHOLD = 1 << 13;
+
+    // monta em O(n) uma árvore perfeitamente balanceada a partir de chaves estritamente
+    // crescentes: o elemento do meio vira a raiz e cada metade vira uma subárvore,
+    // sem rotações nem comparações (as alturas saem corretas direto da construção)
+    public static AVL fromSorted(int[] sorted) {
+        checkStrictlyAscending(sorted);
+        AVL tree = new AVL();
+        tree.root = build(sorted, 0, sorted.length - 1);
+        tree.size = sorted.length;
+        return tree;
+    }
+
+    // mesma construção, com as duas metades montadas em paralelo no ForkJoinPool comum
+    public static AVL fromSortedParallel(int[] sorted) {
+        checkStrictlyAscending(sorted);
+        AVL tree = new AVL();
+        tree.root = ForkJoinPool.commonPool().invoke(new BuildTask(sorted, 0, sorted.length - 1));
+        tree.size = sorted.length;
+        return tree;
+    }
+
+    private static void checkStrictlyAscending(int[] sorted) {
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i - 1] >= sorted[i])
+                throw new IllegalArgumentException("chaves devem ser estritamente crescentes (posição " + i + ")");
+        }
+    }
+
+    // monta a subárvore com as chaves sorted[low..high]
+    private static Node build(int[] sorted, int low, int high) {
+        if (low > high) return null;
+        int mid = (low + high) >>> 1;
+        Node node = new Node(sorted[mid]);
+        node.left = build(sorted, low, mid - 1);
+        node.right = build(sorted, mid + 1, high);
+        updateFromChildren(node);
+        return node;
+    }
+
+    // versão estática de updateHeight, usada pela construção (inclusive a paralela)
+    private static void updateFromChildren(Node node) {
+        int left = node.left == null ? -1 : node.left.height;
+        int right = node.right == null ? -1 : node.right.height;
+        node.height = 1 + Math.max(left, right);
+        node.subtreeSize = 1 + sizeOf(node.left) + sizeOf(node.right);
+    }
+
+    // divide o intervalo até PARALLEL_BUILD_THRESHOLD; a raiz de cada intervalo é criada
+    // depois que as duas metades terminam
+    private static final class BuildTask extends RecursiveTask<Node> {
+        private static final long serialVersionUID = 1L; // ForkJoinTask é Serializable; a tarefa nunca é serializada
+
+        private final int[] sorted;
+        private final int low;
+        private final int high;
+
+        BuildTask(int[] sorted, int low, int high) {
+            this.sorted = sorted;
+            this.low = low;
+            this.high = high;
+        }
+
+        @Override
+        protected Node compute() {
+            if (high - low < PARALLEL_BUILD_THRESHOLD) return build(sorted, low, high);
+            int mid = (low + high) >>> 1;
+            BuildTask left = new BuildTask(sorted, low, mid - 1);
+            left.fork();                                                   // metade esquerda em outra thread
+            Node right = new BuildTask(sorted, mid + 1, high).compute();   // metade direita nesta
+            Node node = new Node(sorted[mid]);
+            node.left = left.join();
+            node.right = right;
+            updateFromChildren(node);
+            return node;
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // SNAPSHOT BINÁRIO
+    // -------------------------------------------------------------------------
+
+    // formato: magic "AVL1", versão, quantidade de nós e os nós em pré-ordem, cada um
+    // com o valor (int) e um byte de flags: bit 0 = tem filho esquerdo, bit 1 = tem filho
+    // direito, bits 2..7 = altura (cabe em 6 bits, MAX_HEIGHT = 64). O CRC32 fecha o arquivo
+    static final int SNAPSHOT_MAGIC = 0x41564C31;
+    private static final int HAS_LEFT = 1;
+    private static final int HAS_RIGHT = 2;
+    private static final int HEIGHT_SHIFT = 2;
+
+    // grava a árvore em path; o arquivo anterior só é substituído se a gravação terminar
+    public void save(Path path) throws IOException {
+        try (SnapshotWriter out = new SnapshotWriter(path, SNAPSHOT_MAGIC)) {
+            out.writeInt(size);
+            save(root, out);
+            out.commit();
+        }
+    }
+
+    private static void save(Node node, SnapshotWriter out) throws IOException {
+        if (node == null) return;
+        out.writeInt(node.value);
+        out.writeByte((node.left != null ? HAS_LEFT : 0) | (node.right != null ? HAS_RIGHT : 0)
+                | node.height << HEIGHT_SHIFT);
+        save(node.left, out);
+        save(node.right, out);
+    }
+
+    // remonta exatamente a árvore gravada numa única passada, sem comparações nem rotações;
+    // a altura gravada é conferida com a dos filhos e o subtreeSize é recalculado
+    public static AVL load(Path path) throws IOException {
+        try (SnapshotReader in = new SnapshotReader(path, SNAPSHOT_MAGIC)) {
+            int size = in.readInt();
+            if (size < 0) throw new IOException("quantidade de nós inválida: " + size);
+            AVL tree = new AVL();
+            if (size > 0) tree.root = load(in, 0);
+            if (sizeOf(tree.root) != size) throw new IOException("snapshot com " + sizeOf(tree.root) + " nós, esperado " + size);
+            in.verifyChecksum();
+            tree.size = size;
+            return tree;
+        }
+    }
+
+    private static Node load(SnapshotReader in, int depth) throws IOException {
+        if (depth >= MAX_HEIGHT) throw new IOException("snapshot corrompido: profundidade maior que " + MAX_HEIGHT);
+        Node node = new Node(in.readInt());
+        int flags = in.readByte() & 0xFF;
+        if ((flags & HAS_LEFT) != 0) node.left = load(in, depth + 1);
+        if ((flags & HAS_RIGHT) != 0) node.right = load(in, depth + 1);
+        updateFromChildren(node);
+        int left = node.left == null ? -1 : node.left.height;
+        int right = node.right == null ? -1 : node.right.height;
+        if (node.height != flags >>> HEIGHT_SHIFT || Math.abs(left - right) > 1)
+            throw new IOException("snapshot corrompido: altura não confere");
+        return node;
+    }
+
+    // -------------------------------------------------------------------------
+    // ESTATÍSTICAS DE ORDEM
+    // -------------------------------------------------------------------------
+
+    // quantidade de elementos menores que element: a cada passo para a direita, a
+    // subárvore esquerda inteira e o próprio nó ficam para trás, O(log n)
+    public int rank(int element) {
+        int rank = 0;
+        Node node = root;
+        while (node != null) {
+            if (element <= node.value) {
+                node = node.left;
+            } else {
+                rank += sizeOf(node.left) + 1;
+                node = node.right;
             }
-            // caso 3: tem dois filhos — substitui pelo sucessor in-order
-            else {
-                Node successor = minimum(node.right); // acha o menor da subárvore direita
-                node.value = successor.value;         // copia o valor do sucessor pro nó atual
-                node.right = remove(node.right, successor.value); // remove o sucessor
+        }
+        return rank;
+    }
+
+    // k-ésimo menor elemento, começando em 0
+    public Node select(int k) {
+        if (k < 0 || k >= size) throw new IndexOutOfBoundsException("posição " + k + " fora de [0, " + size + ")");
+        Node node = root;
+        while (true) {
+            int leftSize = sizeOf(node.left);
+            if (k < leftSize) {
+                node = node.left;
+            } else if (k == leftSize) {
+                return node;
+            } else {
+                k -= leftSize + 1; // pula a subárvore esquerda e o próprio nó
+                node = node.right;
             }
         }
-        updateHeight(node);     // atualiza a altura na volta da recursão
-        return rebalance(node); // rebalanceia e retorna o nó
     }
 
-    public void remove(int element) {
-        root = remove(root, element); // chama o recursivo e atualiza a raiz
+    // quantidade de elementos em [low, high)
+    public int countInRange(int low, int high) {
+        if (low >= high) return 0;
+        return rank(high) - rank(low);
+    }
+
+    // -------------------------------------------------------------------------
+    // NAVEGAÇÃO E ITERADORES
+    // -------------------------------------------------------------------------
+
+    public Node floor(int element) {
+        return Navigation.floor(root, element);   // maior valor <= element
+    }
+
+    public Node ceiling(int element) {
+        return Navigation.ceiling(root, element); // menor valor >= element
+    }
+
+    public Node higher(int element) {
+        return Navigation.higher(root, element);  // menor valor > element
+    }
+
+    public Node lower(int element) {
+        return Navigation.lower(root, element);   // maior valor < element
+    }
+
+    // os iteradores não copiam a árvore: uma consulta de intervalo custa O(log n + k)
+
+    public PrimitiveIterator.OfInt iterator() {
+        return new NodeIterator(root, Long.MIN_VALUE, Long.MAX_VALUE, false);
+    }
+
+    // valores em [from, to), em ordem crescente
+    public PrimitiveIterator.OfInt iterator(int from, int to) {
+        return new NodeIterator(root, from, to, false);
+    }
+
+    public PrimitiveIterator.OfInt descendingIterator() {
+        return new NodeIterator(root, Long.MIN_VALUE, Long.MAX_VALUE, true);
+    }
+
+    // valores em [from, to), em ordem decrescente
+    public PrimitiveIterator.OfInt descendingIterator(int from, int to) {
+        return new NodeIterator(root, from, to, true);
     }
 
     public Node minimum(Node node) {
@@ -349,6 +992,409 @@ class AVLTest {
         assertNull("maximum de nulo deve retornar null", avl.maximum(null));
     }
 
+    static void testarMapaIntLong() {
+        System.out.println("\n--- IntLongAVLMap ---");
+        IntLongAVLMap map = new IntLongAVLMap(-1L);
+        java.util.TreeMap<Integer, Long> expected = new java.util.TreeMap<>();
+        java.util.Random random = new java.util.Random(11);
+        boolean same = true;
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(1000);
+            long value = random.nextLong();
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    same &= map.put(key, value) == expected.getOrDefault(key, -1L);
+                    expected.put(key, value);
+                }
+                case 1 -> {
+                    Long removed = expected.remove(key);
+                    same &= map.remove(key) == (removed == null ? -1L : removed);
+                }
+                default -> same &= map.computeIfAbsent(key, k -> value) == expected.computeIfAbsent(key, k -> value);
+            }
+        }
+        for (int key = 0; key < 1000; key++) same &= map.get(key) == expected.getOrDefault(key, -1L);
+        assertEquals("mapa deve se comportar como TreeMap", 1, same ? 1 : 0);
+        assertEquals("size deve bater com o TreeMap", expected.size(), map.size());
+        assertEquals("getOrDefault de chave ausente", 7, (int) map.getOrDefault(5000, 7L));
+    }
+
+    // verifica recursivamente BF e alturas armazenadas; retorna a altura ou -2 se inválida
+    static int alturaValida(Node node) {
+        if (node == null) return -1;
+        int left = alturaValida(node.left);
+        int right = alturaValida(node.right);
+        if (left == -2 || right == -2 || Math.abs(left - right) > 1) return -2;
+        if (node.left != null && node.left.value >= node.value) return -2;
+        if (node.right != null && node.right.value <= node.value) return -2;
+        int height = 1 + Math.max(left, right);
+        return node.height == height ? height : -2;
+    }
+
+    static void testarFromSorted() {
+        System.out.println("\n--- fromSorted ---");
+        int[] sorted = new int[100000];
+        for (int i = 0; i < sorted.length; i++) sorted[i] = i * 3;
+
+        AVL avl = AVL.fromSorted(sorted);
+        assertEquals("fromSorted deve gerar AVL válida", 1, alturaValida(avl.root) >= 0 ? 1 : 0);
+        assertEquals("altura mínima para 100000 nós deve ser 16", 16, avl.root.height);
+        assertNotNull("busca por 2997 deve encontrar", avl.search(2997));
+        assertNull("busca por 2998 deve retornar null", avl.search(2998));
+
+        AVL parallel = AVL.fromSortedParallel(sorted);
+        assertEquals("fromSortedParallel deve gerar AVL válida", 1, alturaValida(parallel.root) >= 0 ? 1 : 0);
+        assertEquals("paralela deve ter a mesma raiz", avl.root.value, parallel.root.value);
+
+        AVL empty = AVL.fromSorted(new int[0]);
+        assertEquals("vetor vazio gera árvore vazia", 1, empty.isEmpty() ? 1 : 0);
+
+        boolean rejected = false;
+        try {
+            AVL.fromSorted(new int[]{1, 3, 2});
+        } catch (IllegalArgumentException e) {
+            rejected = true;
+        }
+        assertEquals("vetor fora de ordem deve ser rejeitado", 1, rejected ? 1 : 0);
+    }
+
+    static void testarOperacoesEmLote() {
+        System.out.println("\n--- insertAll / removeAll / containsAll ---");
+        java.util.Random random = new java.util.Random(11);
+        java.util.TreeSet<Integer> expected = new java.util.TreeSet<>();
+        AVL avl = new AVL();
+        boolean valid = true;
+        for (int round = 0; round < 40; round++) {
+            int[] batch = new int[random.nextInt(2000)];
+            for (int i = 0; i < batch.length; i++) batch[i] = random.nextInt(5000);
+            if (round % 3 == 2) {
+                avl.removeAll(batch);
+                for (int element : batch) expected.remove(element);
+            } else {
+                avl.insertAll(batch);
+                for (int element : batch) expected.add(element);
+            }
+            valid &= alturaValida(avl.root) >= 0;
+        }
+        assertEquals("árvore deve continuar AVL após lotes", 1, valid ? 1 : 0);
+
+        int[] contents = expected.stream().mapToInt(Integer::intValue).toArray();
+        assertEquals("containsAll deve achar todo o conteúdo", 1, avl.containsAll(contents) ? 1 : 0);
+        int missing = 0;
+        while (expected.contains(missing)) missing++;
+        assertEquals("containsAll com chave ausente deve ser falso", 0,
+                avl.containsAll(new int[]{contents[0], missing}) ? 1 : 0);
+
+        avl.removeAll(contents);
+        assertEquals("removeAll do conteúdo deve esvaziar", 1, avl.isEmpty() ? 1 : 0);
+    }
+
+    static void testarNavegacao() {
+        System.out.println("\n--- floor / ceiling / higher / lower e iteradores ---");
+        AVL avl = AVL.fromSorted(new int[]{10, 20, 30, 40, 50, 60, 70});
+        assertEquals("floor(35) deve ser 30", 30, avl.floor(35).value);
+        assertEquals("ceiling(35) deve ser 40", 40, avl.ceiling(35).value);
+        assertEquals("higher(40) deve ser 50", 50, avl.higher(40).value);
+        assertEquals("lower(40) deve ser 30", 30, avl.lower(40).value);
+        assertNull("lower(10) deve ser null", avl.lower(10));
+
+        java.util.PrimitiveIterator.OfInt range = avl.iterator(25, 60);
+        int sum = 0, count = 0;
+        while (range.hasNext()) {
+            sum += range.nextInt();
+            count++;
+        }
+        assertEquals("iterador em [25, 60) deve visitar 3 valores", 3, count);
+        assertEquals("iterador em [25, 60) deve somar 30+40+50", 120, sum);
+
+        java.util.PrimitiveIterator.OfInt descending = avl.descendingIterator();
+        assertEquals("iterador decrescente começa no máximo", 70, descending.nextInt());
+        assertEquals("iterador decrescente segue para 60", 60, descending.nextInt());
+
+        AVLpadraoJA padrao = new AVLpadraoJA(true);
+        for (int value = 1; value <= 100; value++) padrao.add(value);
+        java.util.PrimitiveIterator.OfInt all = padrao.iterator();
+        int previous = 0;
+        boolean ordered = true;
+        while (all.hasNext()) {
+            int value = all.nextInt();
+            ordered &= value == previous + 1;
+            previous = value;
+        }
+        assertEquals("AVLpadraoJA deve iterar 1..100 em ordem", 1, ordered && previous == 100 ? 1 : 0);
+        assertEquals("AVLpadraoJA.ceiling(101) deve ser null", 1, padrao.ceiling(101) == null ? 1 : 0);
+    }
+
+    // verifica recursivamente os tamanhos armazenados; retorna o tamanho ou -1 se algum estiver errado
+    static int tamanhoValido(Node node) {
+        if (node == null) return 0;
+        int left = tamanhoValido(node.left);
+        int right = tamanhoValido(node.right);
+        if (left == -1 || right == -1 || node.subtreeSize != left + right + 1) return -1;
+        return node.subtreeSize;
+    }
+
+    static void testarEstatisticasDeOrdem() {
+        System.out.println("\n--- rank / select / countInRange ---");
+        java.util.Random random = new java.util.Random(13);
+        java.util.TreeSet<Integer> expected = new java.util.TreeSet<>();
+        AVL avl = new AVL();
+        for (int i = 0; i < 5000; i++) {
+            int value = random.nextInt(3000);
+            if (random.nextInt(4) == 0) {
+                avl.remove(value);
+                expected.remove(value);
+            } else {
+                avl.insert(value);
+                expected.add(value);
+            }
+        }
+        assertEquals("size() deve bater com o TreeSet", expected.size(), avl.size());
+        assertEquals("tamanhos das subárvores devem estar corretos", expected.size(), tamanhoValido(avl.root));
+
+        boolean ok = true;
+        int k = 0;
+        for (int value : expected) {
+            ok &= avl.select(k).value == value && avl.rank(value) == k;
+            k++;
+        }
+        assertEquals("select(rank(x)) deve devolver x para todo x", 1, ok ? 1 : 0);
+        assertEquals("countInRange(1000, 2000)", expected.subSet(1000, 2000).size(), avl.countInRange(1000, 2000));
+        assertEquals("rank abaixo do mínimo deve ser 0", 0, avl.rank(-1));
+
+        int[] batch = new int[1000];
+        for (int i = 0; i < batch.length; i++) batch[i] = 10000 + i;
+        avl.insertAll(batch);
+        assertEquals("insertAll deve manter os tamanhos", expected.size() + 1000, tamanhoValido(avl.root));
+        assertEquals("select após insertAll", 10000, avl.select(expected.size()).value);
+
+        boolean thrown = false;
+        try {
+            avl.select(avl.size());
+        } catch (IndexOutOfBoundsException e) {
+            thrown = true;
+        }
+        assertEquals("select fora do intervalo deve lançar exceção", 1, thrown ? 1 : 0);
+    }
+
+    static int[] conteudo(AVL tree) {
+        int[] values = new int[tree.size()];
+        java.util.PrimitiveIterator.OfInt iterator = tree.iterator();
+        for (int i = 0; i < values.length; i++) values[i] = iterator.nextInt();
+        return values;
+    }
+
+    static void testarSplitJoinEConjuntos() {
+        System.out.println("\n--- split / join / union / intersection / difference ---");
+        int[] sorted = new int[1000];
+        for (int i = 0; i < sorted.length; i++) sorted[i] = 2 * i;
+
+        AVL.Split split = AVL.fromSorted(sorted).split(500);
+        assertEquals("split: 250 chaves menores", 250, split.left().size());
+        assertEquals("split: 749 chaves maiores", 749, split.right().size());
+        assertEquals("split: chave encontrada", 1, split.found() ? 1 : 0);
+        assertEquals("split: lados válidos", 1,
+                alturaValida(split.left().root) >= 0 && alturaValida(split.right().root) >= 0 ? 1 : 0);
+
+        AVL joined = AVL.join(split.left(), 500, split.right());
+        assertEquals("join devolve as 1000 chaves", 1000, joined.size());
+        assertEquals("join gera AVL válida com tamanhos corretos", 1000, tamanhoValido(joined.root));
+        assertEquals("join esvazia as entradas", 1, split.left().isEmpty() ? 1 : 0);
+
+        boolean rejected = false;
+        try {
+            AVL.join(AVL.fromSorted(new int[]{1, 5}), 3, new AVL());
+        } catch (IllegalArgumentException e) {
+            rejected = true;
+        }
+        assertEquals("join fora de ordem é rejeitado", 1, rejected ? 1 : 0);
+
+        // tamanhos acima do limiar para passar pelo caminho paralelo
+        java.util.Random random = new java.util.Random(17);
+        java.util.TreeSet<Integer> setA = new java.util.TreeSet<>(), setB = new java.util.TreeSet<>();
+        while (setA.size() < 60000) setA.add(random.nextInt(200000));
+        while (setB.size() < 40000) setB.add(random.nextInt(200000));
+        int[] a = setA.stream().mapToInt(Integer::intValue).toArray();
+        int[] b = setB.stream().mapToInt(Integer::intValue).toArray();
+
+        java.util.TreeSet<Integer> expected = new java.util.TreeSet<>(setA);
+        expected.addAll(setB);
+        AVL union = AVL.union(AVL.fromSorted(a), AVL.fromSorted(b));
+        assertEquals("union válida", 1, alturaValida(union.root) >= 0 && tamanhoValido(union.root) == expected.size() ? 1 : 0);
+        assertEquals("union com o conteúdo esperado", 1,
+                java.util.Arrays.equals(conteudo(union), expected.stream().mapToInt(Integer::intValue).toArray()) ? 1 : 0);
+
+        expected = new java.util.TreeSet<>(setA);
+        expected.retainAll(setB);
+        AVL intersection = AVL.intersection(AVL.fromSorted(a), AVL.fromSorted(b));
+        assertEquals("intersection válida", 1, alturaValida(intersection.root) >= 0 ? 1 : 0);
+        assertEquals("intersection com o conteúdo esperado", 1,
+                java.util.Arrays.equals(conteudo(intersection), expected.stream().mapToInt(Integer::intValue).toArray()) ? 1 : 0);
+
+        expected = new java.util.TreeSet<>(setA);
+        expected.removeAll(setB);
+        AVL difference = AVL.difference(AVL.fromSorted(a), AVL.fromSorted(b));
+        assertEquals("difference válida", 1, alturaValida(difference.root) >= 0 ? 1 : 0);
+        assertEquals("difference com o conteúdo esperado", 1,
+                java.util.Arrays.equals(conteudo(difference), expected.stream().mapToInt(Integer::intValue).toArray()) ? 1 : 0);
+    }
+
+    static void testarInsercaoRemocaoIterativas() {
+        System.out.println("\n--- inserção e remoção iterativas ---");
+        java.util.Random random = new java.util.Random(19);
+        java.util.TreeSet<Integer> expected = new java.util.TreeSet<>();
+        AVL avl = new AVL();
+        boolean valid = true;
+        for (int i = 0; i < 20000; i++) {
+            int value = random.nextInt(2000);
+            if (random.nextBoolean()) {
+                avl.insert(value);
+                expected.add(value);
+            } else {
+                avl.remove(value);
+                expected.remove(value);
+            }
+            if (i % 500 == 0) valid &= alturaValida(avl.root) != -2 && tamanhoValido(avl.root) == expected.size();
+        }
+        assertEquals("alturas e tamanhos corretos ao longo das operações", 1, valid ? 1 : 0);
+        assertEquals("size() bate com o TreeSet", expected.size(), avl.size());
+
+        Node root = avl.root;
+        int height = root.height;
+        avl.insert(expected.first()); // duplicata
+        assertEquals("duplicata não altera tamanho nem raiz", 1,
+                avl.size() == expected.size() && avl.root == root && root.height == height ? 1 : 0);
+    }
+
+    static void testarPercursosAVLpadraoJA() {
+        System.out.println("\n--- AVLpadraoJA: forEach*Order / toArray ---");
+        AVLpadraoJA tree = new AVLpadraoJA(true);
+        java.util.Random random = new java.util.Random(20);
+        for (int i = 0; i < 300; i++) tree.add(random.nextInt(1000));
+
+        java.util.ArrayList<Integer> pre = new java.util.ArrayList<>();
+        tree.forEachPreOrder(pre::add);
+        assertEquals("forEachPreOrder igual a preOrder()", 1, pre.equals(tree.preOrder()) ? 1 : 0);
+
+        java.util.ArrayList<Integer> post = new java.util.ArrayList<>();
+        tree.forEachPostOrder(post::add);
+        java.util.ArrayList<Integer> expectedPost = new java.util.ArrayList<>();
+        for (String item : tree.postOrder()) expectedPost.add(Integer.parseInt(item.split(",")[0]));
+        assertEquals("forEachPostOrder igual a postOrder()", 1, post.equals(expectedPost) ? 1 : 0);
+
+        java.util.ArrayList<Integer> levels = new java.util.ArrayList<>();
+        tree.forEachLevelOrder(levels::add);
+        assertEquals("forEachLevelOrder visita todos os nós", 300, levels.size());
+
+        int[] values = tree.toArray();
+        boolean ordered = values.length == 300;
+        for (int i = 1; i < values.length; i++) ordered &= values[i - 1] <= values[i];
+        assertEquals("toArray ordenado com todos os nós", 1, ordered ? 1 : 0);
+        assertEquals("toArray de árvore vazia", 0, new AVLpadraoJA().toArray().length);
+    }
+
+    static void testarSnapshot() {
+        System.out.println("\n--- save / load ---");
+        try {
+            java.nio.file.Path dir = java.nio.file.Files.createTempDirectory("avl-snapshot");
+            java.nio.file.Path file = dir.resolve("tree.bin");
+            AVL avl = new AVL();
+            java.util.Random random = new java.util.Random(21);
+            for (int i = 0; i < 200000; i++) avl.insert(random.nextInt(1 << 20));
+            for (int i = 0; i < 50000; i++) avl.remove(random.nextInt(1 << 20));
+            avl.save(file);
+
+            AVL loaded = AVL.load(file);
+            assertEquals("mesmo tamanho", avl.size(), loaded.size());
+            assertEquals("mesma forma", 1, mesmaForma(avl.root, loaded.root) ? 1 : 0);
+            assertEquals("tamanhos de subárvore recalculados", avl.size(), tamanhoValido(loaded.root));
+            assertEquals("select funciona na árvore carregada", avl.select(1000).value, loaded.select(1000).value);
+
+            new AVL().save(file);
+            assertEquals("snapshot de árvore vazia", 1, AVL.load(file).isEmpty() ? 1 : 0);
+
+            avl.save(file);
+            byte[] bytes = java.nio.file.Files.readAllBytes(file);
+            bytes[bytes.length / 3] ^= 0x01;
+            java.nio.file.Files.write(file, bytes);
+            int rejected = 0;
+            try {
+                AVL.load(file);
+            } catch (java.io.IOException e) {
+                rejected = 1;
+            }
+            assertEquals("arquivo corrompido é rejeitado", 1, rejected);
+
+            bytes[0] = 'X'; // magic errado
+            java.nio.file.Files.write(file, bytes);
+            rejected = 0;
+            try {
+                AVL.load(file);
+            } catch (java.io.IOException e) {
+                rejected = 1;
+            }
+            assertEquals("arquivo de outro tipo é rejeitado", 1, rejected);
+            java.nio.file.Files.delete(file);
+            java.nio.file.Files.delete(dir);
+        } catch (java.io.IOException e) {
+            assertNull("save/load sem IOException", e);
+        }
+    }
+
+    static boolean mesmaForma(Node a, Node b) {
+        if (a == null || b == null) return a == b;
+        return a.value == b.value && a.height == b.height
+                && mesmaForma(a.left, b.left) && mesmaForma(a.right, b.right);
+    }
+
+    static void testarMetricas() {
+        System.out.println("\n--- métricas ---");
+        Metrics.TreeMetrics metrics = new Metrics.TreeMetrics();
+        AVL avl = new AVL();
+        avl.setMetrics(metrics);
+        for (int value = 1; value <= 7; value++) avl.insert(value); // só rotações Direita-Direita
+        Metrics.TreeMetrics.Snapshot snapshot = metrics.snapshot();
+        assertEquals("inserção crescente: 4 rotações RR", 4, (int) snapshot.rotationsRR());
+        assertEquals("inserção crescente: nenhuma outra rotação", 4, (int) snapshot.rotations());
+        assertEquals("7 inserções registradas", 7, (int) snapshot.inserts());
+        assertEquals("comparações = nós visitados (0+1+2+2+3+3+3)", 14, (int) snapshot.comparisons());
+
+        metrics.reset();
+        AVL dobrada = new AVL();
+        dobrada.setMetrics(metrics);
+        for (int value : new int[]{30, 10, 20}) dobrada.insert(value);
+        AVL dobradaDireita = new AVL();
+        dobradaDireita.setMetrics(metrics);
+        for (int value : new int[]{10, 30, 20}) dobradaDireita.insert(value);
+        snapshot = metrics.snapshot();
+        assertEquals("Esquerda-Direita registrada", 1, (int) snapshot.rotationsLR());
+        assertEquals("Direita-Esquerda registrada", 1, (int) snapshot.rotationsRL());
+
+        metrics.reset();
+        avl.search(4);  // raiz: 1 nó
+        avl.search(7);  // 4 -> 6 -> 7
+        avl.search(99); // 4 -> 6 -> 7 -> null
+        avl.remove(1);  // 4 -> 2 -> 1
+        snapshot = metrics.snapshot();
+        assertEquals("3 buscas e 1 remoção", 4, (int) snapshot.operations());
+        assertEquals("histograma: uma descida de 1 nó e três de 3", 1,
+                snapshot.depthHistogram()[1] == 1 && snapshot.depthHistogram()[3] == 3 ? 1 : 0);
+        assertEquals("mediana da profundidade", 3, snapshot.depthPercentile(0.5));
+
+        avl.setMetrics(null);
+        avl.search(4);
+        assertEquals("sem métricas, nada é registrado", 4, (int) metrics.snapshot().operations());
+
+        AVLpadraoJA padrao = new AVLpadraoJA(true);
+        Metrics.TreeMetrics padraoMetrics = new Metrics.TreeMetrics();
+        padrao.setMetrics(padraoMetrics);
+        for (int value : new int[]{30, 10, 20, 40, 50}) padrao.add(value);
+        snapshot = padraoMetrics.snapshot();
+        assertEquals("AVLpadraoJA: LR em 30-10-20", 1, (int) snapshot.rotationsLR());
+        assertEquals("AVLpadraoJA: RR em 30-40-50", 1, (int) snapshot.rotationsRR());
+        assertEquals("AVLpadraoJA: 5 adds registrados", 5, (int) snapshot.inserts());
+    }
+
     public static void main(String[] args) {
         testarInsercaoSimples();
         testarBalanceamentoEsquerdaEsquerda();
@@ -361,6 +1407,16 @@ class AVLTest {
         testarAltura();
         testarFatorDeBalanceamento();
         testarNuloProtecao();
+        testarMapaIntLong();
+        testarFromSorted();
+        testarOperacoesEmLote();
+        testarNavegacao();
+        testarEstatisticasDeOrdem();
+        testarSplitJoinEConjuntos();
+        testarInsercaoRemocaoIterativas();
+        testarPercursosAVLpadraoJA();
+        testarSnapshot();
+        testarMetricas();
 
         System.out.println("\n══════════════════════════════");
         System.out.println("Total: " + (testsPassed + testsFailed) +
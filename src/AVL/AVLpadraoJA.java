@@ -1,16 +1,34 @@
 package AVL;
+import Metrics.RebalanceEvent;
+import Metrics.TreeMetrics;
+import Metrics.TreeOperationEvent;
+
 import java.util.ArrayList;
-import java.util.Deque;
-import java.util.LinkedList;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
 
 public class AVLpadraoJA {
     private Node root; // referência para o nó raiz da árvore
     private int size;// quantidade de elementos na árvore
     private boolean rotated = false;
+    private long rotationCount; // rotações simples desde a criação (alimenta os eventos do JFR)
+    private RotationListener rotationListener = RotationListener.NONE; // eventos de rotação (padrão: nenhum)
+    private TreeMetrics metrics; // null = métricas desligadas
+
+    // quando true, o campo Node.height é mantido atualizado durante a inserção e as
+    // rotações, e o balanceamento é lido dele em vez de recalculado sobre a subárvore
+    private final boolean trackHeights;
 
     // construtor: inicializa size como -1 (convenção usada na lógica de add)
     public AVLpadraoJA() {
+        this(false);
+    }
+
+    // trackHeights = true torna a inserção O(log n): a subida para na primeira
+    // altura que não mudou, e cada passo custa O(1) em vez de percorrer a subárvore
+    public AVLpadraoJA(boolean trackHeights) {
         this.size = -1;
+        this.trackHeights = trackHeights;
     }
 
     // retorna true se a árvore não tiver nenhum nó (raiz nula)
@@ -21,6 +39,22 @@ public class AVLpadraoJA {
         return this.rotated;
     }
 
+    // registra o ouvinte das rotações; null volta ao ouvinte vazio
+    // (use new RotationTracer() para o antigo dump da árvore a cada rotação)
+    public void setRotationListener(RotationListener listener) {
+        this.rotationListener = listener == null ? RotationListener.NONE : listener;
+    }
+
+    // passa a registrar o tipo de cada rotação (LL/LR/RR/RL) e a profundidade de cada add
+    // em metrics; null desliga
+    public void setMetrics(TreeMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public TreeMetrics getMetrics() {
+        return metrics;
+    }
+
     // -------------------------------------------------------------------------
     // ADIÇÃO ITERATIVA
     // -------------------------------------------------------------------------
@@ -28,22 +62,30 @@ public class AVLpadraoJA {
     public void add(int element) {
 
         this.size += 1; // incrementa o tamanho antes de inserir
+        TreeOperationEvent event = TreeOperationEvent.start(); // null quando o JFR não está gravando este evento
+        long rotationsBefore = rotationCount;
 
-        if (isEmpty()) this.root = new Node(element); // se a árvore está vazia, o novo nó vira a raiz
-        else {
+        if (isEmpty()) {
+            this.root = new Node(element); // se a árvore está vazia, o novo nó vira a raiz
+            if (metrics != null) metrics.operation(TreeMetrics.Operation.INSERT, 0);
+            if (event != null) event.finish("AVLpadraoJA", "insert", element, 0, 0);
+        } else {
 
             Node aux = this.root; // começa a busca pela raiz
+            int depth = 0;        // nós visitados (só usado pelas métricas)
 
             while (aux != null) { // percorre a árvore até encontrar o lugar correto
+                depth++;
 
                 if (element < aux.value) { // vai para a subárvore esquerda se o elemento for menor
                     if (aux.left == null) { // encontrou o lugar de inserção à esquerda
                         Node newNode = new Node(element); // cria o novo nó
                         aux.left = newNode;               // conecta como filho esquerdo
                         newNode.parent = aux;             // aponta o pai do novo nó
+                        if (metrics != null) metrics.operation(TreeMetrics.Operation.INSERT, depth);
 
-                        Node unbalanced = checkBalance(newNode); // verifica se algum ancestral ficou desbalanceado
-                        if (unbalanced != null) callBestRotation(unbalanced); // realiza a rotação necessária
+                        afterInsert(newNode); // corrige o balanceamento dos ancestrais
+                        if (event != null) event.finish("AVLpadraoJA", "insert", element, depth, (int) (rotationCount - rotationsBefore));
 
                         return; // inserção concluída
                     }
@@ -54,9 +96,10 @@ public class AVLpadraoJA {
                         Node newNode = new Node(element); // cria o novo nó
                         aux.right = newNode;              // conecta como filho direito
                         newNode.parent = aux;             // aponta o pai do novo nó
+                        if (metrics != null) metrics.operation(TreeMetrics.Operation.INSERT, depth);
 
-                        Node unbalanced = checkBalance(newNode); // verifica desbalanceamento nos ancestrais
-                        if (unbalanced != null) callBestRotation(unbalanced); // realiza a rotação necessária
+                        afterInsert(newNode); // corrige o balanceamento dos ancestrais
+                        if (event != null) event.finish("AVLpadraoJA", "insert", element, depth, (int) (rotationCount - rotationsBefore));
 
                         return; // inserção concluída
                     }
@@ -71,6 +114,53 @@ public class AVLpadraoJA {
     // VERIFICAÇÃO DE BALANCEAMENTO
     // -------------------------------------------------------------------------
 
+    // escolhe a estratégia de rebalanceamento de acordo com o modo da árvore
+    private void afterInsert(Node newNode) {
+        if (trackHeights) {
+            retrace(newNode); // sobe atualizando as alturas armazenadas
+        } else {
+            Node unbalanced = checkBalance(newNode); // verifica se algum ancestral ficou desbalanceado
+            if (unbalanced != null) callBestRotation(unbalanced); // realiza a rotação necessária
+        }
+    }
+
+    // sobe a partir do pai do nó inserido atualizando Node.height; para assim que uma
+    // altura não muda (os ancestrais acima não são afetados) ou após a primeira rotação,
+    // que devolve à subárvore a altura que ela tinha antes da inserção
+    private void retrace(Node node) {
+        Node aux = node.parent;
+
+        while (aux != null) {
+            int balance = storedBalance(aux); // usa as alturas já atualizadas dos filhos
+
+            if (balance > 1 || balance < -1) {
+                callBestRotation(aux); // uma única rotação (simples ou dupla) basta na inserção
+                return;
+            }
+
+            int oldHeight = aux.height;
+            updateHeight(aux);
+            if (aux.height == oldHeight) return; // altura não mudou: ancestrais continuam iguais
+
+            aux = aux.parent; // sobe para o nó pai
+        }
+    }
+
+    // altura armazenada: nulo = -1, folha = 0 (mesma convenção de Node.height)
+    private int storedHeight(Node node) {
+        return node == null ? -1 : node.height;
+    }
+
+    // fator de balanceamento lido das alturas armazenadas, em O(1)
+    private int storedBalance(Node node) {
+        return storedHeight(node.left) - storedHeight(node.right);
+    }
+
+    // recalcula a altura armazenada do nó a partir das alturas dos filhos
+    private void updateHeight(Node node) {
+        node.height = 1 + Math.max(storedHeight(node.left), storedHeight(node.right));
+    }
+
     // sobe da folha recém-inserida até a raiz procurando o primeiro nó desbalanceado
     public Node checkBalance(Node node) {
         Node aux = node; // começa pelo nó inserido
@@ -135,6 +225,12 @@ public class AVLpadraoJA {
 
     // verifica se o nó está desbalanceado e, se estiver, chama a rotação adequada
     private void rebalance(Node node) {
+        if (trackHeights) {
+            if (Math.abs(storedBalance(node)) > 1) callBestRotation(node); // a rotação já atualiza as alturas
+            else updateHeight(node); // mantém a altura armazenada na volta da recursão
+            return;
+        }
+
         int balance = node.balance(); // obtém o fator de balanceamento (altura esq - altura dir)
 
         if (Math.abs(balance) > 1) { // fator fora de [-1, 1] indica desbalanceamento
@@ -149,11 +245,20 @@ public class AVLpadraoJA {
     // analisa o nó desbalanceado e decide qual tipo de rotação aplicar
     public void callBestRotation(Node unbalanced) {
         Node x = unbalanced;
+        rotationListener.rebalancing(this, x.value);
+        RebalanceEvent event = RebalanceEvent.start(); // desligado por padrão no JFR
+        String kind;
+
+        // no modo trackHeights as decisões usam as alturas armazenadas, em O(1)
+        boolean leftPending = trackHeights ? storedBalance(x) > 0 : x.isLeftPending();
 
-        if (x.isLeftPending()) {   // subárvore esquerda é mais alta → caso Left
+        if (leftPending) {         // subárvore esquerda é mais alta → caso Left
             Node y = x.left;       // filho esquerdo é o pivot
 
-            if (y.left != null) rotateRight(x); // filho do pivot está à esquerda → rotação simples direita (LL)
+            boolean outer = (trackHeights ? storedBalance(y) : y.balance()) >= 0;
+            kind = outer ? "LL" : "LR";
+            if (metrics != null) metrics.rotation(outer ? TreeMetrics.Rotation.LL : TreeMetrics.Rotation.LR);
+            if (outer) rotateRight(x);          // filho do pivot está à esquerda → rotação simples direita (LL)
             else {
                 rotateLeft(y); rotateRight(x);  // filho do pivot está à direita → rotação dupla esquerda-direita (LR)
             }
@@ -161,11 +266,15 @@ public class AVLpadraoJA {
         } else {                   // subárvore direita é mais alta → caso Right
             Node y = x.right;      // filho direito é o pivot
 
-            if (y.right != null) rotateLeft(x); // filho do pivot está à direita → rotação simples esquerda (RR)
+            boolean outer = (trackHeights ? storedBalance(y) : y.balance()) <= 0;
+            kind = outer ? "RR" : "RL";
+            if (metrics != null) metrics.rotation(outer ? TreeMetrics.Rotation.RR : TreeMetrics.Rotation.RL);
+            if (outer) rotateLeft(x);           // filho do pivot está à direita → rotação simples esquerda (RR)
             else {
                 rotateRight(y); rotateLeft(x);  // filho do pivot está à esquerda → rotação dupla direita-esquerda (RL)
             }
         }
+        if (event != null) event.finish("AVLpadraoJA", x.value, kind, kind.charAt(0) == kind.charAt(1) ? 1 : 2, 0);
     }
 
     // rotação simples à direita: o filho esquerdo sobe e o nó atual desce para a direita
@@ -174,6 +283,7 @@ public class AVLpadraoJA {
         newRoot.parent = node.parent;     // o novo sub-raiz herda o pai do nó rotacionado
 
         node.left = newRoot.right;        // o filho direito do novo sub-raiz passa a ser filho esquerdo do nó que desceu
+        if (node.left != null) node.left.parent = node; // a subárvore que trocou de lado aponta para o novo pai
         newRoot.right = node;             // o nó rotacionado vai para a direita do novo sub-raiz
 
         node.parent = newRoot;            // atualiza o pai do nó que desceu
@@ -186,9 +296,14 @@ public class AVLpadraoJA {
         } else
             this.root = newRoot; // o novo sub-raiz passa a ser a raiz da árvore inteira
 
+        if (trackHeights) {
+            updateHeight(node);    // o nó que desceu primeiro, pois agora é filho do novo sub-raiz
+            updateHeight(newRoot);
+        }
+
         rotated = true;
-        System.out.println("rot_dir(" + node.value + ")");
-        System.out.println(preOrder());
+        rotationCount++;
+        rotationListener.rotatedRight(this, node.value);
     }
 
     // rotação simples à esquerda: o filho direito sobe e o nó atual desce para a esquerda
@@ -197,6 +312,7 @@ public class AVLpadraoJA {
         newRoot.parent = node.parent;     // o novo sub-raiz herda o pai do nó rotacionado
 
         node.right = newRoot.left;        // o filho esquerdo do novo sub-raiz passa a ser filho direito do nó que desceu
+        if (node.right != null) node.right.parent = node; // a subárvore que trocou de lado aponta para o novo pai
         newRoot.left = node;              // o nó rotacionado vai para a esquerda do novo sub-raiz
 
         node.parent = newRoot;            // atualiza o pai do nó que desceu
@@ -209,9 +325,14 @@ public class AVLpadraoJA {
         } else
             this.root = newRoot; // o novo sub-raiz passa a ser a raiz da árvore inteira
 
+        if (trackHeights) {
+            updateHeight(node);    // o nó que desceu primeiro, pois agora é filho do novo sub-raiz
+            updateHeight(newRoot);
+        }
+
         rotated = true;
-        System.out.println("rot_esq(" + node.value + ")");
-        System.out.println(preOrder());
+        rotationCount++;
+        rotationListener.rotatedLeft(this, node.value);
     }
 
     // verifica recursivamente se todos os nós têm BF no intervalo [-1, 1]
@@ -258,6 +379,46 @@ public class AVLpadraoJA {
         int BF = height(node.left) - height(node.right);  // calcula BF do nó atual
         list.add(node.value + "," + BF);                   // visita o nó POR ÚLTIMO
     }
+    // -------------------------------------------------------------------------
+    // NAVEGAÇÃO E ITERADORES
+    // -------------------------------------------------------------------------
+
+    public Node floor(int element) {
+        return Navigation.floor(root, element);   // maior valor <= element
+    }
+
+    public Node ceiling(int element) {
+        return Navigation.ceiling(root, element); // menor valor >= element
+    }
+
+    public Node higher(int element) {
+        return Navigation.higher(root, element);  // menor valor > element
+    }
+
+    public Node lower(int element) {
+        return Navigation.lower(root, element);   // maior valor < element
+    }
+
+    // os iteradores não copiam a árvore: uma consulta de intervalo custa O(log n + k)
+
+    public PrimitiveIterator.OfInt iterator() {
+        return new NodeIterator(root, Long.MIN_VALUE, Long.MAX_VALUE, false);
+    }
+
+    // valores em [from, to), em ordem crescente
+    public PrimitiveIterator.OfInt iterator(int from, int to) {
+        return new NodeIterator(root, from, to, false);
+    }
+
+    public PrimitiveIterator.OfInt descendingIterator() {
+        return new NodeIterator(root, Long.MIN_VALUE, Long.MAX_VALUE, true);
+    }
+
+    // valores em [from, to), em ordem decrescente
+    public PrimitiveIterator.OfInt descendingIterator(int from, int to) {
+        return new NodeIterator(root, from, to, true);
+    }
+
     // -------------------------------------------------------------------------
     // BFS (PERCURSO EM LARGURA)
     // -------------------------------------------------------------------------
@@ -265,22 +426,99 @@ public class AVLpadraoJA {
     // percorre a árvore nível a nível (BFS) e retorna os elementos em ordem de visita
     public ArrayList<Integer> bfs() {
         ArrayList<Integer> list = new ArrayList<Integer>(); // lista que armazena os resultados
-        Deque<Node> queue = new LinkedList<Node>();          // fila para controlar a ordem de visita
+        forEachLevelOrder(list::add);
+        return list;
+    }
 
-        if (!isEmpty()) {
-            queue.addLast(this.root); // começa pela raiz
-            while (!queue.isEmpty()) {
-                Node current = queue.removeFirst(); // retira o nó da frente da fila
+    // percorre nível a nível com uma única fila circular de nós, sem alocar por nó
+    public void forEachLevelOrder(IntConsumer action) {
+        if (isEmpty()) return;
+        Node[] queue = new Node[64]; // fila circular; o tamanho é sempre potência de 2
+        int head = 0, count = 0;
+        queue[count++] = this.root; // começa pela raiz
+        while (count > 0) {
+            Node current = queue[head]; // retira o nó da frente da fila
+            head = (head + 1) & (queue.length - 1);
+            count--;
+            action.accept(current.value);
+            if (count + 2 > queue.length) { // garante espaço para os dois filhos
+                Node[] larger = new Node[queue.length * 2];
+                for (int i = 0; i < count; i++) larger[i] = queue[(head + i) & (queue.length - 1)];
+                queue = larger;
+                head = 0;
+            }
+            if (current.left != null) queue[(head + count++) & (queue.length - 1)] = current.left;
+            if (current.right != null) queue[(head + count++) & (queue.length - 1)] = current.right;
+        }
+    }
 
-                list.add(current.value); // registra o valor do nó visitado
+    // -------------------------------------------------------------------------
+    // PERCURSOS EM PROFUNDIDADE SEM ALOCAÇÃO
+    // -------------------------------------------------------------------------
 
-                if (current.left != null)
-                    queue.addLast(current.left);  // enfileira o filho esquerdo, se existir
-                if (current.right != null)
-                    queue.addLast(current.right); // enfileira o filho direito, se existir
+    // os nós guardam o pai, então os percursos andam pela árvore sem pilha nem recursão
+
+    public void forEachInOrder(IntConsumer action) {
+        if (isEmpty()) return;
+        Node node = this.root;
+        while (node.left != null) node = node.left; // começa no menor
+        while (node != null) {
+            action.accept(node.value);
+            if (node.right != null) { // sucessor: menor da subárvore direita...
+                node = node.right;
+                while (node.left != null) node = node.left;
+            } else {                  // ...ou o primeiro ancestral alcançado pela esquerda
+                while (node.parent != null && node == node.parent.right) node = node.parent;
+                node = node.parent;
             }
         }
-        return list;
+    }
+
+    public void forEachPreOrder(IntConsumer action) {
+        Node node = this.root;
+        while (node != null) {
+            action.accept(node.value);
+            if (node.left != null) node = node.left;
+            else if (node.right != null) node = node.right;
+            else {
+                // sobe até um ancestral alcançado pela esquerda que ainda tenha filho direito
+                Node child = node;
+                node = node.parent;
+                while (node != null && (child == node.right || node.right == null)) {
+                    child = node;
+                    node = node.parent;
+                }
+                if (node != null) node = node.right;
+            }
+        }
+    }
+
+    public void forEachPostOrder(IntConsumer action) {
+        if (isEmpty()) return;
+        Node node = firstInPostOrder(this.root);
+        while (node != null) {
+            action.accept(node.value);
+            Node parent = node.parent;
+            if (parent != null && node == parent.left && parent.right != null) node = firstInPostOrder(parent.right);
+            else node = parent;
+        }
+    }
+
+    // primeiro nó do pós-ordem: desce preferindo a esquerda até uma folha
+    private static Node firstInPostOrder(Node node) {
+        while (true) {
+            if (node.left != null) node = node.left;
+            else if (node.right != null) node = node.right;
+            else return node;
+        }
+    }
+
+    // valores em ordem num int[] do tamanho exato da árvore
+    public int[] toArray() {
+        int[] values = new int[this.size + 1]; // size começa em -1 (ver construtor)
+        int[] count = new int[1];
+        forEachInOrder(value -> values[count[0]++] = value);
+        return values;
     }
 
     // retorna a quantidade de elementos da árvore
@@ -288,6 +526,16 @@ public class AVLpadraoJA {
         return this.size;
     }
 
+    // raiz, para o harness conferir a estrutura
+    Node root() {
+        return this.root;
+    }
+
+    // true se todo nó tem fator de balanceamento em [-1, 1] (alturas recalculadas)
+    boolean isAVL() {
+        return checkIsAVL(this.root);
+    }
+
     public ArrayList<Integer> preOrder(){
         ArrayList<Integer> list = new ArrayList<>();
         preOrder(this.root, list);
@@ -302,85 +550,183 @@ public class AVLpadraoJA {
 }
 
 // -------------------------------------------------------------------------
-// CLASSE NODE
+// TESTES DO AVLPADRAOJA
 // -------------------------------------------------------------------------
 
-class Node {
+class AVLpadraoJATest {
 
-    int value;   // valor armazenado no nó
-    int height;  // altura do nó (não usada diretamente; calculada via height())
-    Node left;   // filho esquerdo
-    Node right;  // filho direito
-    Node parent; // pai do nó (necessário para subir na árvore sem recursão)
+    static int testsPassed = 0;
+    static int testsFailed = 0;
 
-    // construtor: cria um nó folha com altura 0
-    Node(int v) {
-        this.height = 0;
-        this.value = v;
+    static void assertEquals(String testName, long expected, long actual) {
+        if (expected == actual) {
+            System.out.println("✅ PASSOU: " + testName);
+            testsPassed++;
+        } else {
+            System.out.println("❌ FALHOU: " + testName +
+                    " | esperado: " + expected + " | obtido: " + actual);
+            testsFailed++;
+        }
     }
 
-    // retorna true se o nó tiver apenas filho esquerdo
-    public boolean hasOnlyLeftChild() {
-        return (this.left != null && this.right == null);
+    static void assertTrue(String testName, boolean condition) {
+        if (condition) {
+            System.out.println("✅ PASSOU: " + testName);
+            testsPassed++;
+        } else {
+            System.out.println("❌ FALHOU: " + testName);
+            testsFailed++;
+        }
     }
 
-    // retorna true se o nó tiver apenas filho direito
-    public boolean hasOnlyRightChild() {
-        return (this.left == null && this.right != null);
+    // altura recalculada da subárvore (folha = 0, nulo = -1), conferindo no caminho os
+    // ponteiros de pai e, se tracked, a altura armazenada; retorna -2 se algo não bate
+    static int alturaConferida(Node node, Node parent, boolean tracked) {
+        if (node == null) return -1;
+        if (node.parent != parent) return -2;
+        int left = alturaConferida(node.left, node, tracked);
+        int right = alturaConferida(node.right, node, tracked);
+        if (left == -2 || right == -2) return -2;
+        int height = 1 + Math.max(left, right);
+        if (tracked && node.height != height) return -2;
+        return height;
     }
 
-    // retorna true se o nó não tiver filhos (é uma folha)
-    public boolean isLeaf() {
-        return this.left == null && this.right == null;
+    // AVL válida, com n elementos em ordem, pais consistentes e alturas armazenadas corretas
+    static boolean estruturaValida(AVLpadraoJA tree, boolean tracked, int n) {
+        int[] values = tree.toArray();
+        boolean ordered = values.length == n;
+        for (int i = 1; i < values.length; i++) ordered &= values[i - 1] <= values[i];
+        return ordered && tree.isAVL() && alturaConferida(tree.root(), null, tracked) != -2;
     }
 
-    // calcula recursivamente a altura do nó:
-    // folha = 0; outros = 1 + maior altura entre filhos esquerdo e direito
-    public int height() {
-        if (this.left == null && this.right == null)
-            return 0; // nó folha tem altura 0
-        else if (this.left == null) {
-            return 1 + this.right.height(); // só tem filho direito
-        } else if (this.right == null) {
-            return 1 + this.left.height();  // só tem filho esquerdo
-        } else {
-            return 1 + max(this.left.height(), this.right.height()); // tem os dois filhos
+    static void testarAlturasArmazenadas() {
+        System.out.println("\n--- trackHeights: alturas, balanceamento e pais ---");
+        AVLpadraoJA crescente = new AVLpadraoJA(true);
+        for (int i = 0; i < 10000; i++) crescente.add(i);
+        assertTrue("add crescente (10000)", estruturaValida(crescente, true, 10000));
+        assertTrue("altura armazenada da raiz = log2 (13)", crescente.root().height == 13);
+
+        AVLpadraoJA decrescente = new AVLpadraoJA(true);
+        for (int i = 10000; i > 0; i--) decrescente.add(i);
+        assertTrue("add decrescente (10000)", estruturaValida(decrescente, true, 10000));
+
+        java.util.Random random = new java.util.Random(2);
+        AVLpadraoJA aleatoria = new AVLpadraoJA(true);
+        boolean ok = true;
+        for (int i = 1; i <= 20000; i++) {
+            aleatoria.add(random.nextInt(5000)); // com duplicatas
+            if (i % 1000 == 0) ok &= estruturaValida(aleatoria, true, i);
+        }
+        assertTrue("add aleatório com duplicatas (20000)", ok);
+
+        AVLpadraoJA semAltura = new AVLpadraoJA();
+        for (int i = 0; i < 2000; i++) semAltura.add(random.nextInt(1000));
+        assertTrue("modo sem altura armazenada continua AVL com pais corretos", estruturaValida(semAltura, false, 2000));
+    }
+
+    static void testarRecursiveAdd() {
+        System.out.println("\n--- trackHeights: recursiveAdd ---");
+        AVLpadraoJA crescente = new AVLpadraoJA(true);
+        for (int i = 0; i < 5000; i++) crescente.recursiveAdd(i);
+        assertTrue("recursiveAdd crescente (5000)", estruturaValida(crescente, true, 5000));
+
+        java.util.Random random = new java.util.Random(3);
+        AVLpadraoJA aleatoria = new AVLpadraoJA(true);
+        for (int i = 0; i < 5000; i++) aleatoria.recursiveAdd(random.nextInt(2000));
+        assertTrue("recursiveAdd aleatório (5000)", estruturaValida(aleatoria, true, 5000));
+
+        AVLpadraoJA misturada = new AVLpadraoJA(true);
+        for (int i = 0; i < 3000; i++) {
+            if ((i & 1) == 0) misturada.add(random.nextInt(2000));
+            else misturada.recursiveAdd(random.nextInt(2000));
         }
+        assertTrue("add e recursiveAdd intercalados", estruturaValida(misturada, true, 3000));
     }
 
-    // retorna o maior entre dois inteiros (utilizado no cálculo de altura)
-    private int max(int height1, int height2) {
-        if (height1 >= height2)
-            return height1;
-        return height2;
+    // sequência de inserção → {rebalanceamentos, rotações à esquerda, rotações à direita}
+    static void conferirRotacoes(String caso, int[] values, int left, int right, boolean tracked) {
+        AVLpadraoJA tree = new AVLpadraoJA(tracked);
+        RotationCounter counter = new RotationCounter();
+        tree.setRotationListener(counter);
+        for (int value : values) tree.add(value);
+        String modo = tracked ? " (trackHeights)" : "";
+        assertTrue(caso + modo + ": um rebalanceamento, " + left + " esq e " + right + " dir",
+                counter.rebalances() == 1 && counter.leftRotations() == left && counter.rightRotations() == right
+                        && counter.rotations() == left + right && tree.wasRotated());
     }
 
-    // calcula o fator de balanceamento: altura(esquerda) - altura(direita)
-    // nós ausentes contam como altura -1
-    public int balance() {
-        int left = this.left == null ? -1 : this.left.height();   // -1 se não há filho esquerdo
-        int right = this.right == null ? -1 : this.right.height(); // -1 se não há filho direito
-        return left - right; // positivo = pendente à esquerda; negativo = pendente à direita
+    static void testarRotationCounter() {
+        System.out.println("\n--- RotationCounter ---");
+        for (boolean tracked : new boolean[]{false, true}) {
+            conferirRotacoes("LL 30-20-10", new int[]{30, 20, 10}, 0, 1, tracked);
+            conferirRotacoes("RR 10-20-30", new int[]{10, 20, 30}, 1, 0, tracked);
+            conferirRotacoes("LR 30-10-20", new int[]{30, 10, 20}, 1, 1, tracked);
+            conferirRotacoes("RL 10-30-20", new int[]{10, 30, 20}, 1, 1, tracked);
+        }
+
+        AVLpadraoJA tree = new AVLpadraoJA(true);
+        RotationCounter counter = new RotationCounter();
+        tree.setRotationListener(counter);
+        for (int i = 1; i <= 7; i++) tree.add(i); // RR em 1, 3, 2 (raiz) e 5
+        assertEquals("1..7 crescente: 4 rebalanceamentos", 4, counter.rebalances());
+        assertEquals("1..7 crescente: 4 rotações à esquerda", 4, counter.leftRotations());
+        assertEquals("1..7 crescente: nenhuma à direita", 0, counter.rightRotations());
+        counter.reset();
+        assertEquals("reset zera os contadores", 0, counter.rebalances() + counter.rotations());
+        tree.setRotationListener(null); // volta ao ouvinte vazio
+        tree.add(8);
+        tree.add(9);
+        assertEquals("ouvinte removido não recebe eventos", 0, counter.rotations());
     }
 
-    // retorna true se o nó está mais "pesado" à esquerda (fator >= 1)
-    public boolean isLeftPending() {
-        int left = this.left == null ? -1 : this.left.height();
-        int right = this.right == null ? -1 : this.right.height();
-        return left - right >= 1;
+    static void testarRotationTracer() {
+        System.out.println("\n--- RotationTracer ---");
+        java.io.ByteArrayOutputStream bytes = new java.io.ByteArrayOutputStream();
+        java.io.PrintStream out = new java.io.PrintStream(bytes, true);
+        AVLpadraoJA tree = new AVLpadraoJA(true);
+        tree.setRotationListener(new RotationTracer(out));
+        for (int value : new int[]{10, 20, 30}) tree.add(value);
+        String esperado = "rot_esq(10)" + System.lineSeparator() + "[20, 10, 30]" + System.lineSeparator();
+        assertTrue("RR imprime a rotação e a pré-ordem", bytes.toString().equals(esperado));
+
+        bytes.reset();
+        tree.add(5);
+        tree.add(1); // LL em 10
+        esperado = "rot_dir(10)" + System.lineSeparator() + "[20, 5, 1, 10, 30]" + System.lineSeparator();
+        assertTrue("LL imprime rot_dir e a árvore depois da rotação", bytes.toString().equals(esperado));
+
+        bytes.reset();
+        tree.add(40); // sem rotação
+        assertTrue("inserção sem rotação não imprime nada", bytes.size() == 0);
     }
 
-    // retorna true se o nó está mais "pesado" à direita (fator <= -1)
-    public boolean isRightPending() {
-        int left = this.left == null ? -1 : this.left.height();
-        int right = this.right == null ? -1 : this.right.height();
-        return left - right <= -1;
+    static void testarSemSaidaPorPadrao() {
+        System.out.println("\n--- add sem ouvinte não imprime ---");
+        java.io.PrintStream original = System.out;
+        java.io.ByteArrayOutputStream bytes = new java.io.ByteArrayOutputStream();
+        System.setOut(new java.io.PrintStream(bytes, true));
+        try {
+            for (boolean tracked : new boolean[]{false, true}) {
+                AVLpadraoJA tree = new AVLpadraoJA(tracked);
+                for (int i = 0; i < 1000; i++) tree.add(i);     // muitas rotações
+                for (int i = 2000; i > 1000; i--) tree.recursiveAdd(i);
+            }
+        } finally {
+            System.setOut(original);
+        }
+        assertTrue("add e recursiveAdd com o ouvinte padrão não escrevem no stdout", bytes.size() == 0);
     }
 
-    // retorna true se o nó está balanceado (fator de balanceamento entre -1 e 1, inclusive)
-    public boolean isBalanced() {
-        int left = this.left == null ? -1 : this.left.height();
-        int right = this.right == null ? -1 : this.right.height();
-        return left - right >= -1 && left - right <= 1;
+    public static void main(String[] args) {
+        testarAlturasArmazenadas();
+        testarRecursiveAdd();
+        testarRotationCounter();
+        testarRotationTracer();
+        testarSemSaidaPorPadrao();
+
+        System.out.println("\n══════════════════════════════");
+        System.out.println("Total: " + (testsPassed + testsFailed) +
+                " | ✅ " + testsPassed + " | ❌ " + testsFailed);
     }
-}
\ No newline at end of file
+}
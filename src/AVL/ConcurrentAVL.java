@@ -0,0 +1,693 @@
+package AVL;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// AVL concorrente no estilo de Bronson et al. ("A Practical Concurrent Binary Search Tree"):
+//  - leituras não travam nada: cada nó tem uma versão que muda quando ele perde altura numa
+//    rotação; a busca lê a versão, desce para o filho e confere de novo (hand-over-hand
+//    otimista). Se a versão mudou, volta um nível e tenta de novo;
+//  - escritas travam só os nós que alteram (monitor do próprio nó), sempre de pai para filho;
+//  - remover um nó com dois filhos só o marca como ausente (nó de roteamento), que é
+//    desligado depois quando ficar com no máximo um filho;
+//  - o balanceamento é relaxado: alturas são corrigidas subindo a partir do nó alterado,
+//    com as mesmas rotações simples e duplas da AVL, cada uma sob as travas locais.
+public class ConcurrentAVL {
+
+    // bits da versão: UNLINKED marca nó removido; SHRINKING marca nó descendo numa rotação;
+    // o restante é um contador de rotações, incrementado no fim de cada mudança
+    static final long UNLINKED = 1L;
+    static final long SHRINKING = 2L;
+    static final long CHANGE_MASK = UNLINKED | SHRINKING;
+
+    static final int SPIN_COUNT = 100; // tentativas de espera ativa antes de bloquear no monitor
+
+    // resultados de nodeCondition além de uma altura nova
+    static final int UNLINK_REQUIRED = -1;
+    static final int REBALANCE_REQUIRED = -2;
+    static final int NOTHING_REQUIRED = -3;
+
+    // sinaliza que a validação otimista falhou e a operação deve recomeçar de um nível acima
+    private static final Object RETRY = new Object();
+
+    // sentinela fixa: a raiz real é sempre rootHolder.right, então a raiz pode mudar por
+    // rotação sem um caso especial
+    final CNode rootHolder = new CNode(0, 1, false, null, 0L, null, null);
+    private final LongAdder size = new LongAdder();
+
+    public boolean isEmpty() {
+        return rootHolder.right == null;
+    }
+
+    // quantidade de elementos; exata quando não há escritas em andamento
+    public int size() {
+        return size.intValue();
+    }
+
+    // -------------------------------------------------------------------------
+    // BUSCA
+    // -------------------------------------------------------------------------
+
+    public boolean contains(int element) {
+        while (true) {
+            CNode right = rootHolder.right;
+            if (right == null) return false;
+            if (element == right.value) return right.present;
+            long ovl = right.version;
+            if ((ovl & CHANGE_MASK) != 0) {
+                right.waitUntilNotChanging();
+            } else if (right == rootHolder.right) {
+                Object result = attemptGet(element, right, element < right.value, ovl);
+                if (result != RETRY) return (Boolean) result;
+            }
+        }
+    }
+
+    // desce a partir de node, que estava válido na versão nodeOVL
+    private Object attemptGet(int element, CNode node, boolean goLeft, long nodeOVL) {
+        while (true) {
+            CNode child = node.child(goLeft);
+            if (child == null) {
+                if (node.version != nodeOVL) return RETRY; // o nó mudou: o filho nulo pode ser falso
+                return Boolean.FALSE;
+            }
+            if (element == child.value) return child.present;
+            long childOVL = child.version;
+            if ((childOVL & CHANGE_MASK) != 0) {
+                child.waitUntilNotChanging();
+                if (node.version != nodeOVL) return RETRY;
+            } else if (child != node.child(goLeft)) {
+                if (node.version != nodeOVL) return RETRY;
+            } else {
+                if (node.version != nodeOVL) return RETRY; // valida o pai antes de confiar no filho
+                Object result = attemptGet(element, child, element < child.value, childOVL);
+                if (result != RETRY) return result;
+                // o filho mudou durante a descida: tenta de novo a partir deste nível
+            }
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // INSERÇÃO E REMOÇÃO
+    // -------------------------------------------------------------------------
+
+    // retorna true se o elemento não estava presente
+    public boolean add(int element) {
+        boolean added = update(element, true);
+        if (added) size.increment();
+        return added;
+    }
+
+    // retorna true se o elemento estava presente
+    public boolean remove(int element) {
+        boolean removed = update(element, false);
+        if (removed) size.decrement();
+        return removed;
+    }
+
+    private boolean update(int element, boolean insert) {
+        while (true) {
+            CNode right = rootHolder.right;
+            if (right == null) {
+                if (!insert) return false;
+                synchronized (rootHolder) {
+                    if (rootHolder.right == null) {
+                        rootHolder.right = new CNode(element, 1, true, rootHolder, 0L, null, null);
+                        rootHolder.height = 2;
+                        return true;
+                    }
+                }
+            } else {
+                long ovl = right.version;
+                if ((ovl & CHANGE_MASK) != 0) {
+                    right.waitUntilNotChanging();
+                } else if (right == rootHolder.right) {
+                    Object result = attemptUpdate(element, insert, rootHolder, right, ovl);
+                    if (result != RETRY) return (Boolean) result;
+                }
+            }
+        }
+    }
+
+    private Object attemptUpdate(int element, boolean insert, CNode parent, CNode node, long nodeOVL) {
+        if (element == node.value) return attemptNodeUpdate(insert, parent, node);
+        boolean goLeft = element < node.value;
+        while (true) {
+            CNode child = node.child(goLeft);
+            if (node.version != nodeOVL) return RETRY;
+            if (child == null) {
+                if (!insert) return Boolean.FALSE; // remoção de elemento ausente
+                CNode damaged;
+                synchronized (node) {
+                    if (node.version != nodeOVL) return RETRY;
+                    if (node.child(goLeft) != null) continue; // outra thread ocupou a posição
+                    node.setChild(goLeft, new CNode(element, 1, true, node, 0L, null, null));
+                    damaged = fixHeight_nl(node);
+                }
+                fixHeightAndRebalance(damaged);
+                return Boolean.TRUE;
+            }
+            long childOVL = child.version;
+            if ((childOVL & CHANGE_MASK) != 0) {
+                child.waitUntilNotChanging();
+            } else if (child == node.child(goLeft)) {
+                if (node.version != nodeOVL) return RETRY;
+                Object result = attemptUpdate(element, insert, node, child, childOVL);
+                if (result != RETRY) return result;
+            }
+        }
+    }
+
+    // o elemento já tem um nó: inserir só marca presença; remover desliga o nó se ele tiver
+    // no máximo um filho, senão o transforma em nó de roteamento
+    private Object attemptNodeUpdate(boolean insert, CNode parent, CNode node) {
+        if (insert) {
+            synchronized (node) {
+                if ((node.version & UNLINKED) != 0) return RETRY;
+                boolean wasPresent = node.present;
+                node.present = true;
+                return !wasPresent;
+            }
+        }
+        if (!node.present) return Boolean.FALSE;
+        if (node.left == null || node.right == null) {
+            CNode damaged;
+            synchronized (parent) {
+                if ((parent.version & UNLINKED) != 0 || node.parent != parent) return RETRY;
+                synchronized (node) {
+                    if (!node.present) return Boolean.FALSE;
+                    if (!attemptUnlink_nl(parent, node)) return RETRY;
+                }
+                damaged = fixHeight_nl(parent);
+            }
+            fixHeightAndRebalance(damaged);
+            return Boolean.TRUE;
+        }
+        synchronized (node) {
+            if ((node.version & UNLINKED) != 0) return RETRY;
+            if (node.left == null || node.right == null) return RETRY; // perdeu um filho: pode ser desligado
+            boolean wasPresent = node.present;
+            node.present = false;
+            return wasPresent;
+        }
+    }
+
+    // requer as travas de parent e node
+    private boolean attemptUnlink_nl(CNode parent, CNode node) {
+        CNode parentLeft = parent.left;
+        CNode parentRight = parent.right;
+        if (parentLeft != node && parentRight != node) return false; // node já não é filho de parent
+        CNode left = node.left;
+        CNode right = node.right;
+        if (left != null && right != null) return false;              // ganhou um filho
+        CNode splice = left != null ? left : right;
+        if (parentLeft == node) parent.left = splice;
+        else parent.right = splice;
+        if (splice != null) splice.parent = parent;
+        node.version = UNLINKED;
+        node.present = false;
+        return true;
+    }
+
+    // -------------------------------------------------------------------------
+    // REBALANCEAMENTO RELAXADO
+    // -------------------------------------------------------------------------
+
+    private static int height(CNode node) {
+        return node == null ? 0 : node.height; // aqui folha tem altura 1
+    }
+
+    // diz o que o nó precisa: ser desligado, ser rebalanceado, só uma altura nova ou nada
+    private int nodeCondition(CNode node) {
+        CNode left = node.left;
+        CNode right = node.right;
+        if ((left == null || right == null) && !node.present) return UNLINK_REQUIRED;
+        int heightLeft = height(left);
+        int heightRight = height(right);
+        int newHeight = 1 + Math.max(heightLeft, heightRight);
+        int balance = heightLeft - heightRight;
+        if (balance < -1 || balance > 1) return REBALANCE_REQUIRED;
+        return node.height != newHeight ? newHeight : NOTHING_REQUIRED;
+    }
+
+    // sobe corrigindo alturas e rotacionando até não haver mais nada a fazer
+    private void fixHeightAndRebalance(CNode node) {
+        while (node != null && node.parent != null) {
+            int condition = nodeCondition(node);
+            if (condition == NOTHING_REQUIRED || (node.version & UNLINKED) != 0) return;
+            if (condition != UNLINK_REQUIRED && condition != REBALANCE_REQUIRED) {
+                synchronized (node) {
+                    node = fixHeight_nl(node);
+                }
+            } else {
+                CNode parent = node.parent;
+                synchronized (parent) {
+                    if ((parent.version & UNLINKED) == 0 && node.parent == parent) {
+                        synchronized (node) {
+                            node = rebalance_nl(parent, node);
+                        }
+                    }
+                    // senão o pai mudou: o laço reavalia o mesmo nó
+                }
+            }
+        }
+    }
+
+    // atualiza a altura de node (travado); retorna o próximo nó que pode precisar de reparo
+    private CNode fixHeight_nl(CNode node) {
+        int condition = nodeCondition(node);
+        switch (condition) {
+            case REBALANCE_REQUIRED:
+            case UNLINK_REQUIRED:
+                return node;
+            case NOTHING_REQUIRED:
+                return null;
+            default:
+                node.height = condition;
+                return node.parent;
+        }
+    }
+
+    // requer as travas de parent e node
+    private CNode rebalance_nl(CNode parent, CNode node) {
+        CNode left = node.left;
+        CNode right = node.right;
+        if ((left == null || right == null) && !node.present) {
+            if (attemptUnlink_nl(parent, node)) return fixHeight_nl(parent);
+            return node;
+        }
+        int heightLeft = height(left);
+        int heightRight = height(right);
+        int newHeight = 1 + Math.max(heightLeft, heightRight);
+        int balance = heightLeft - heightRight;
+        if (balance > 1) return rebalanceToRight_nl(parent, node, left, heightRight);
+        if (balance < -1) return rebalanceToLeft_nl(parent, node, right, heightLeft);
+        if (newHeight != node.height) {
+            node.height = newHeight;
+            return fixHeight_nl(parent);
+        }
+        return null;
+    }
+
+    // lado esquerdo pesado: rotação simples à direita ou dupla (esquerda-direita)
+    private CNode rebalanceToRight_nl(CNode parent, CNode node, CNode left, int heightRight) {
+        synchronized (left) {
+            int heightLeft = left.height;
+            if (heightLeft - heightRight <= 1) return node; // já mudou: reavaliar
+            CNode leftRight = left.right;
+            int heightLeftLeft = height(left.left);
+            int heightLeftRight = height(leftRight);
+            if (heightLeftLeft >= heightLeftRight) {
+                return rotateRight_nl(parent, node, left, heightRight, heightLeftLeft, leftRight, heightLeftRight);
+            }
+            synchronized (leftRight) {
+                heightLeftRight = leftRight.height;
+                if (heightLeftLeft >= heightLeftRight) {
+                    return rotateRight_nl(parent, node, left, heightRight, heightLeftLeft, leftRight, heightLeftRight);
+                }
+                int heightLeftRightLeft = height(leftRight.left);
+                int balance = heightLeftLeft - heightLeftRightLeft;
+                if (balance >= -1 && balance <= 1) {
+                    return rotateRightOverLeft_nl(parent, node, left, heightRight, heightLeftLeft, leftRight, heightLeftRightLeft);
+                }
+            }
+            // a rotação dupla deixaria left desbalanceado: rotaciona left primeiro. Se left não
+            // puder ser rotacionado, node continua desbalanceado e é devolvido para nova avaliação
+            CNode damaged = rebalanceToLeft_nl(node, left, leftRight, heightLeftLeft);
+            return damaged == left && left.parent == node ? node : damaged;
+        }
+    }
+
+    // espelho de rebalanceToRight_nl
+    private CNode rebalanceToLeft_nl(CNode parent, CNode node, CNode right, int heightLeft) {
+        synchronized (right) {
+            int heightRight = right.height;
+            if (heightLeft - heightRight >= -1) return node;
+            CNode rightLeft = right.left;
+            int heightRightLeft = height(rightLeft);
+            int heightRightRight = height(right.right);
+            if (heightRightRight >= heightRightLeft) {
+                return rotateLeft_nl(parent, node, heightLeft, right, rightLeft, heightRightLeft, heightRightRight);
+            }
+            synchronized (rightLeft) {
+                heightRightLeft = rightLeft.height;
+                if (heightRightRight >= heightRightLeft) {
+                    return rotateLeft_nl(parent, node, heightLeft, right, rightLeft, heightRightLeft, heightRightRight);
+                }
+                int heightRightLeftRight = height(rightLeft.right);
+                int balance = heightRightRight - heightRightLeftRight;
+                if (balance >= -1 && balance <= 1) {
+                    return rotateLeftOverRight_nl(parent, node, heightLeft, right, rightLeft, heightRightRight, heightRightLeftRight);
+                }
+            }
+            CNode damaged = rebalanceToRight_nl(node, right, rightLeft, heightRightRight);
+            return damaged == right && right.parent == node ? node : damaged;
+        }
+    }
+
+    // rotação à direita: node desce (SHRINKING durante a troca), left sobe. Um nó de
+    // roteamento que desce com no máximo um filho é desligado aqui mesmo, com as travas
+    // que a rotação já tem: devolvê-lo como dano faria a altura dos nós acima se perder
+    private CNode rotateRight_nl(CNode parent, CNode node, CNode left, int heightRight,
+                                 int heightLeftLeft, CNode leftRight, int heightLeftRight) {
+        long nodeOVL = node.version;
+        CNode parentLeft = parent.left;
+        node.version = nodeOVL | SHRINKING;
+
+        node.left = leftRight;
+        if (leftRight != null) leftRight.parent = node;
+        left.right = node;
+        node.parent = left;
+        if (parentLeft == node) parent.left = left;
+        else parent.right = left;
+        left.parent = parent;
+
+        int nodeHeight = 1 + Math.max(heightLeftRight, heightRight);
+        node.height = nodeHeight;
+
+        node.version = (nodeOVL | CHANGE_MASK) + 1; // limpa SHRINKING e incrementa o contador
+
+        boolean nodeUnlinked = (leftRight == null || heightRight == 0) && !node.present && attemptUnlink_nl(left, node);
+        if (nodeUnlinked) nodeHeight = Math.max(heightLeftRight, heightRight);
+        left.height = 1 + Math.max(heightLeftLeft, nodeHeight);
+
+        // procura o próximo nó que ainda precise de reparo
+        int nodeBalance = heightLeftRight - heightRight;
+        if (!nodeUnlinked && (nodeBalance < -1 || nodeBalance > 1)) return node;
+        int leftBalance = heightLeftLeft - nodeHeight;
+        if (leftBalance < -1 || leftBalance > 1) return left;
+        if (heightLeftLeft == 0 && !left.present) return left;
+        return fixHeight_nl(parent);
+    }
+
+    private CNode rotateLeft_nl(CNode parent, CNode node, int heightLeft, CNode right,
+                                CNode rightLeft, int heightRightLeft, int heightRightRight) {
+        long nodeOVL = node.version;
+        CNode parentLeft = parent.left;
+        node.version = nodeOVL | SHRINKING;
+
+        node.right = rightLeft;
+        if (rightLeft != null) rightLeft.parent = node;
+        right.left = node;
+        node.parent = right;
+        if (parentLeft == node) parent.left = right;
+        else parent.right = right;
+        right.parent = parent;
+
+        int nodeHeight = 1 + Math.max(heightLeft, heightRightLeft);
+        node.height = nodeHeight;
+
+        node.version = (nodeOVL | CHANGE_MASK) + 1;
+
+        boolean nodeUnlinked = (rightLeft == null || heightLeft == 0) && !node.present && attemptUnlink_nl(right, node);
+        if (nodeUnlinked) nodeHeight = Math.max(heightLeft, heightRightLeft);
+        right.height = 1 + Math.max(nodeHeight, heightRightRight);
+
+        int nodeBalance = heightRightLeft - heightLeft;
+        if (!nodeUnlinked && (nodeBalance < -1 || nodeBalance > 1)) return node;
+        int rightBalance = heightRightRight - nodeHeight;
+        if (rightBalance < -1 || rightBalance > 1) return right;
+        if (heightRightRight == 0 && !right.present) return right;
+        return fixHeight_nl(parent);
+    }
+
+    // rotação dupla esquerda-direita: node e left descem, leftRight sobe para o lugar de node
+    private CNode rotateRightOverLeft_nl(CNode parent, CNode node, CNode left, int heightRight,
+                                         int heightLeftLeft, CNode leftRight, int heightLeftRightLeft) {
+        long nodeOVL = node.version;
+        long leftOVL = left.version;
+        CNode parentLeft = parent.left;
+        CNode leftRightLeft = leftRight.left;
+        CNode leftRightRight = leftRight.right;
+        int heightLeftRightRight = height(leftRightRight);
+
+        node.version = nodeOVL | SHRINKING;
+        left.version = leftOVL | SHRINKING;
+
+        node.left = leftRightRight;
+        if (leftRightRight != null) leftRightRight.parent = node;
+        left.right = leftRightLeft;
+        if (leftRightLeft != null) leftRightLeft.parent = left;
+        leftRight.left = left;
+        left.parent = leftRight;
+        leftRight.right = node;
+        node.parent = leftRight;
+        if (parentLeft == node) parent.left = leftRight;
+        else parent.right = leftRight;
+        leftRight.parent = parent;
+
+        int nodeHeight = 1 + Math.max(heightLeftRightRight, heightRight);
+        node.height = nodeHeight;
+        int leftHeight = 1 + Math.max(heightLeftLeft, heightLeftRightLeft);
+        left.height = leftHeight;
+
+        node.version = (nodeOVL | CHANGE_MASK) + 1;
+        left.version = (leftOVL | CHANGE_MASK) + 1;
+
+        boolean nodeUnlinked = (leftRightRight == null || heightRight == 0) && !node.present
+                && attemptUnlink_nl(leftRight, node);
+        if (nodeUnlinked) nodeHeight = Math.max(heightLeftRightRight, heightRight);
+        if ((heightLeftLeft == 0 || heightLeftRightLeft == 0) && !left.present && attemptUnlink_nl(leftRight, left)) {
+            leftHeight = Math.max(heightLeftLeft, heightLeftRightLeft);
+        }
+        leftRight.height = 1 + Math.max(leftHeight, nodeHeight);
+
+        int nodeBalance = heightLeftRightRight - heightRight;
+        if (!nodeUnlinked && (nodeBalance < -1 || nodeBalance > 1)) return node;
+        int topBalance = leftHeight - nodeHeight;
+        if (topBalance < -1 || topBalance > 1) return leftRight;
+        return fixHeight_nl(parent);
+    }
+
+    private CNode rotateLeftOverRight_nl(CNode parent, CNode node, int heightLeft, CNode right,
+                                         CNode rightLeft, int heightRightRight, int heightRightLeftRight) {
+        long nodeOVL = node.version;
+        long rightOVL = right.version;
+        CNode parentLeft = parent.left;
+        CNode rightLeftLeft = rightLeft.left;
+        CNode rightLeftRight = rightLeft.right;
+        int heightRightLeftLeft = height(rightLeftLeft);
+
+        node.version = nodeOVL | SHRINKING;
+        right.version = rightOVL | SHRINKING;
+
+        node.right = rightLeftLeft;
+        if (rightLeftLeft != null) rightLeftLeft.parent = node;
+        right.left = rightLeftRight;
+        if (rightLeftRight != null) rightLeftRight.parent = right;
+        rightLeft.right = right;
+        right.parent = rightLeft;
+        rightLeft.left = node;
+        node.parent = rightLeft;
+        if (parentLeft == node) parent.left = rightLeft;
+        else parent.right = rightLeft;
+        rightLeft.parent = parent;
+
+        int nodeHeight = 1 + Math.max(heightLeft, heightRightLeftLeft);
+        node.height = nodeHeight;
+        int rightHeight = 1 + Math.max(heightRightLeftRight, heightRightRight);
+        right.height = rightHeight;
+
+        node.version = (nodeOVL | CHANGE_MASK) + 1;
+        right.version = (rightOVL | CHANGE_MASK) + 1;
+
+        boolean nodeUnlinked = (rightLeftLeft == null || heightLeft == 0) && !node.present
+                && attemptUnlink_nl(rightLeft, node);
+        if (nodeUnlinked) nodeHeight = Math.max(heightLeft, heightRightLeftLeft);
+        if ((heightRightRight == 0 || heightRightLeftRight == 0) && !right.present && attemptUnlink_nl(rightLeft, right)) {
+            rightHeight = Math.max(heightRightRight, heightRightLeftRight);
+        }
+        rightLeft.height = 1 + Math.max(nodeHeight, rightHeight);
+
+        int nodeBalance = heightRightLeftLeft - heightLeft;
+        if (!nodeUnlinked && (nodeBalance < -1 || nodeBalance > 1)) return node;
+        int topBalance = rightHeight - nodeHeight;
+        if (topBalance < -1 || topBalance > 1) return rightLeft;
+        return fixHeight_nl(parent);
+    }
+
+    // -------------------------------------------------------------------------
+    // CLASSE CNODE
+    // -------------------------------------------------------------------------
+
+    // nó com campos voláteis para as leituras sem trava; o monitor do próprio nó é a trava de escrita
+    static final class CNode {
+        final int value;
+        volatile boolean present; // false = nó de roteamento (removido logicamente)
+        volatile int height;      // folha = 1
+        volatile long version;
+        volatile CNode parent;
+        volatile CNode left;
+        volatile CNode right;
+
+        CNode(int value, int height, boolean present, CNode parent, long version, CNode left, CNode right) {
+            this.value = value;
+            this.height = height;
+            this.present = present;
+            this.parent = parent;
+            this.version = version;
+            this.left = left;
+            this.right = right;
+        }
+
+        CNode child(boolean left) {
+            return left ? this.left : this.right;
+        }
+
+        void setChild(boolean left, CNode child) {
+            if (left) this.left = child;
+            else this.right = child;
+        }
+
+        // espera a rotação em andamento terminar: gira um pouco e, se não bastar, bloqueia
+        // no monitor do nó, que a thread que rotaciona mantém durante toda a troca
+        void waitUntilNotChanging() {
+            long changing = version;
+            if ((changing & SHRINKING) != 0) {
+                for (int i = 0; i < SPIN_COUNT; i++) {
+                    if (version != changing) return;
+                    Thread.onSpinWait();
+                }
+                synchronized (this) {
+                    // só adquire e solta
+                }
+            }
+        }
+    }
+}
+
+// -------------------------------------------------------------------------
+// TESTES DO CONCURRENTAVL
+// -------------------------------------------------------------------------
+
+class ConcurrentAVLTest {
+
+    static int testsPassed = 0;
+    static int testsFailed = 0;
+
+    static void assertTrue(String testName, boolean condition) {
+        if (condition) {
+            System.out.println("✅ PASSOU: " + testName);
+            testsPassed++;
+        } else {
+            System.out.println("❌ FALHOU: " + testName);
+            testsFailed++;
+        }
+    }
+
+    // percorre a árvore parada: confere a ordem, conta os presentes e devolve a altura real
+    static int verificar(ConcurrentAVL.CNode node, long low, long high, int[] present) {
+        if (node == null) return 0;
+        if (node.value <= low || node.value >= high) return -1_000_000;
+        if (node.present) present[0]++;
+        int left = verificar(node.left, low, node.value, present);
+        int right = verificar(node.right, node.value, high, present);
+        return 1 + Math.max(left, right);
+    }
+
+    static void testarSequencial() {
+        System.out.println("\n--- operações sequenciais ---");
+        ConcurrentAVL tree = new ConcurrentAVL();
+        for (int i = 0; i < 1000; i++) tree.add(i);
+        assertTrue("add de chave repetida retorna false", !tree.add(500));
+        assertTrue("contains(999)", tree.contains(999));
+        assertTrue("remove(500) retorna true", tree.remove(500));
+        assertTrue("remove(500) de novo retorna false", !tree.remove(500));
+        assertTrue("contains(500) após remoção é false", !tree.contains(500));
+        assertTrue("size deve ser 999", tree.size() == 999);
+
+        int[] present = new int[1];
+        int height = verificar(tree.rootHolder.right, Long.MIN_VALUE, Long.MAX_VALUE, present);
+        assertTrue("ordem preservada e presentes contados", height > 0 && present[0] == 999);
+        assertTrue("altura logarítmica após inserção sequencial (" + height + ")", height <= 15);
+    }
+
+    // recalcula cada altura a partir dos filhos e confere a guardada e o fator de balanceamento;
+    // devolve a altura real, ou -1 no primeiro nó errado
+    static int alturasConferidas(ConcurrentAVL.CNode node) {
+        if (node == null) return 0;
+        int left = alturasConferidas(node.left);
+        int right = alturasConferidas(node.right);
+        if (left < 0 || right < 0 || Math.abs(left - right) > 1) return -1;
+        int height = 1 + Math.max(left, right);
+        return node.height == height ? height : -1;
+    }
+
+    static void testarBalanceamentoSequencial() {
+        System.out.println("\n--- balanceamento com nós de roteamento ---");
+        // ((0 1* 2) 7 8) com 1 como nó de roteamento: add(3) desbalanceia 7 pelo filho 1*
+        ConcurrentAVL tree = new ConcurrentAVL();
+        for (int value : new int[]{7, 1, 8, 0, 2}) tree.add(value);
+        tree.remove(1);
+        tree.add(3);
+        assertTrue("add(3) sob um nó de roteamento rebalanceia 7",
+                alturasConferidas(tree.rootHolder.right) > 0);
+        assertTrue("conteúdo preservado", !tree.contains(1) && tree.contains(3) && tree.contains(7) && tree.size() == 5);
+
+        tree = new ConcurrentAVL();
+        java.util.TreeSet<Integer> expected = new java.util.TreeSet<>();
+        java.util.SplittableRandom random = new java.util.SplittableRandom(14);
+        boolean balanced = true;
+        boolean same = true;
+        for (int i = 0; i < 500000; i++) {
+            int key = random.nextInt(20000);
+            if (random.nextBoolean()) same &= tree.add(key) == expected.add(key);
+            else same &= tree.remove(key) == expected.remove(key);
+            if (i % 50000 == 49999) balanced &= alturasConferidas(tree.rootHolder.right) >= 0;
+        }
+        int[] present = new int[1];
+        verificar(tree.rootHolder.right, Long.MIN_VALUE, Long.MAX_VALUE, present);
+        assertTrue("500k add/remove aleatórios: retornos batem com um TreeSet", same && present[0] == expected.size());
+        assertTrue("alturas guardadas corretas e |balanceamento| <= 1 em todos os nós", balanced
+                && alturasConferidas(tree.rootHolder.right) >= 0);
+    }
+
+    static void testarConcorrente() throws InterruptedException {
+        System.out.println("\n--- 8 threads inserindo, buscando e removendo ---");
+        ConcurrentAVL tree = new ConcurrentAVL();
+        int threads = 8;
+        int perThread = 20000;
+        Thread[] workers = new Thread[threads];
+        boolean[] lostRead = new boolean[threads];
+        for (int t = 0; t < threads; t++) {
+            final int id = t;
+            workers[t] = new Thread(() -> {
+                java.util.SplittableRandom random = new java.util.SplittableRandom(id);
+                // cada thread é dona das chaves congruentes a id módulo threads
+                for (int i = 0; i < perThread; i++) tree.add(random.nextInt(perThread) * threads + id);
+                for (int i = 0; i < perThread; i++) {
+                    int key = i * threads + id;
+                    boolean had = tree.contains(key);
+                    if (had != tree.remove(key)) lostRead[id] = true; // só esta thread altera key
+                    if (i % 2 == 0) tree.add(key);
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) worker.join();
+
+        boolean consistent = true;
+        for (boolean lost : lostRead) consistent &= !lost;
+        assertTrue("leituras consistentes com as escritas da própria thread", consistent);
+
+        int[] present = new int[1];
+        int height = verificar(tree.rootHolder.right, Long.MIN_VALUE, Long.MAX_VALUE, present);
+        int expected = threads * perThread / 2;
+        assertTrue("sobram exatamente as chaves pares de cada thread", present[0] == expected && tree.size() == expected);
+        boolean all = true;
+        for (int i = 0; i < perThread; i++) {
+            for (int t = 0; t < threads; t++) all &= tree.contains(i * threads + t) == (i % 2 == 0);
+        }
+        assertTrue("contains bate com o conteúdo esperado", all);
+        assertTrue("altura logarítmica após carga concorrente (" + height + ")", height > 0 && height <= 25);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        testarSequencial();
+        testarBalanceamentoSequencial();
+        testarConcorrente();
+
+        System.out.println("\n══════════════════════════════");
+        System.out.println("Total: " + (testsPassed + testsFailed) +
+                " | ✅ " + testsPassed + " | ❌ " + testsFailed);
+    }
+}
@@ -0,0 +1,188 @@
+package AVL;
+
+import java.util.function.IntToLongFunction;
+
+// mapa int -> long sobre árvore AVL (mesma inserção/remoção recursiva da classe AVL);
+// chave e valor ficam em campos primitivos da entrada, então nenhuma operação faz
+// boxing. Chaves ausentes retornam noEntryValue.
+public class IntLongAVLMap {
+    private Entry root;
+    private int size;
+    private final long noEntryValue;
+
+    private long previousValue; // valor substituído/removido pela última operação recursiva
+    private boolean found;      // se a última operação recursiva encontrou a chave
+
+    private static final class Entry {
+        int key;
+        long value;
+        int height;   // folha = 0, como em Node
+        Entry left;
+        Entry right;
+
+        Entry(int key, long value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    public IntLongAVLMap() {
+        this(0L);
+    }
+
+    // noEntryValue é o valor devolvido por get/put/remove quando a chave não existe
+    public IntLongAVLMap(long noEntryValue) {
+        this.noEntryValue = noEntryValue;
+    }
+
+    public long noEntryValue() {
+        return this.noEntryValue;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.root == null;
+    }
+
+    // busca iterativa pela entrada da chave
+    private Entry find(int key) {
+        Entry aux = this.root;
+        while (aux != null) {
+            if (key < aux.key) aux = aux.left;
+            else if (key > aux.key) aux = aux.right;
+            else return aux;
+        }
+        return null;
+    }
+
+    public boolean containsKey(int key) {
+        return find(key) != null;
+    }
+
+    public long get(int key) {
+        Entry entry = find(key);
+        return entry == null ? this.noEntryValue : entry.value;
+    }
+
+    public long getOrDefault(int key, long defaultValue) {
+        Entry entry = find(key);
+        return entry == null ? defaultValue : entry.value;
+    }
+
+    // associa o valor à chave; retorna o valor anterior ou noEntryValue
+    public long put(int key, long value) {
+        this.found = false;
+        this.root = put(this.root, key, value);
+        if (this.found) return this.previousValue;
+        this.size++;
+        return this.noEntryValue;
+    }
+
+    // retorna o valor da chave; se ausente, calcula, insere e retorna o novo valor
+    public long computeIfAbsent(int key, IntToLongFunction mappingFunction) {
+        Entry entry = find(key);
+        if (entry != null) return entry.value;
+        long value = mappingFunction.applyAsLong(key);
+        put(key, value);
+        return value;
+    }
+
+    // remove a chave; retorna o valor removido ou noEntryValue
+    public long remove(int key) {
+        this.found = false;
+        this.root = remove(this.root, key);
+        if (!this.found) return this.noEntryValue;
+        this.size--;
+        return this.previousValue;
+    }
+
+    // remove todas as chaves
+    public void clear() {
+        this.root = null;
+        this.size = 0;
+    }
+
+    private Entry put(Entry node, int key, long value) {
+        if (node == null) return new Entry(key, value);  // posição encontrada, cria a entrada
+        if (key < node.key) {
+            node.left = put(node.left, key, value);
+        } else if (key > node.key) {
+            node.right = put(node.right, key, value);
+        } else {                                          // chave existente: só troca o valor
+            this.found = true;
+            this.previousValue = node.value;
+            node.value = value;
+            return node;                                  // estrutura não mudou
+        }
+        if (this.found) return node;                      // nada a rebalancear na volta
+        updateHeight(node);
+        return rebalance(node);
+    }
+
+    private Entry remove(Entry node, int key) {
+        if (node == null) return null;                    // chave não existe
+        if (key < node.key) {
+            node.left = remove(node.left, key);
+        } else if (key > node.key) {
+            node.right = remove(node.right, key);
+        } else {
+            if (!this.found) {                            // guarda o valor só na entrada pedida
+                this.found = true;
+                this.previousValue = node.value;
+            }
+            if (node.left == null) return node.right;     // zero ou um filho: o filho sobe
+            if (node.right == null) return node.left;
+            Entry successor = node.right;                 // dois filhos: copia o sucessor in-order
+            while (successor.left != null) successor = successor.left;
+            node.key = successor.key;
+            node.value = successor.value;
+            node.right = remove(node.right, successor.key); // remove o sucessor
+        }
+        if (!this.found) return node;
+        updateHeight(node);
+        return rebalance(node);
+    }
+
+    private static int height(Entry node) {
+        return node == null ? -1 : node.height;
+    }
+
+    private static void updateHeight(Entry node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+    }
+
+    private static Entry rotateRight(Entry node) {
+        Entry newRoot = node.left;
+        node.left = newRoot.right;
+        newRoot.right = node;
+        updateHeight(node);
+        updateHeight(newRoot);
+        return newRoot;
+    }
+
+    private static Entry rotateLeft(Entry node) {
+        Entry newRoot = node.right;
+        node.right = newRoot.left;
+        newRoot.left = node;
+        updateHeight(node);
+        updateHeight(newRoot);
+        return newRoot;
+    }
+
+    // mesmos quatro casos de AVL.rebalance
+    private static Entry rebalance(Entry node) {
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) node.left = rotateLeft(node.left); // Esquerda-Direita
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) node.right = rotateRight(node.right); // Direita-Esquerda
+            return rotateLeft(node);
+        }
+        return node;
+    }
+}
@@ -0,0 +1,65 @@
+package AVL;
+
+// consultas de vizinhança compartilhadas por AVL e AVLpadraoJA: uma descida da raiz,
+// guardando o último nó que satisfaz a condição, O(log n) e sem alocação
+final class Navigation {
+
+    private Navigation() {
+    }
+
+    // maior valor <= element
+    static Node floor(Node node, int element) {
+        Node best = null;
+        while (node != null) {
+            if (node.value <= element) {
+                best = node;        // candidato; algo maior ainda pode estar à direita
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return best;
+    }
+
+    // menor valor >= element
+    static Node ceiling(Node node, int element) {
+        Node best = null;
+        while (node != null) {
+            if (node.value >= element) {
+                best = node;        // candidato; algo menor ainda pode estar à esquerda
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return best;
+    }
+
+    // menor valor > element
+    static Node higher(Node node, int element) {
+        Node best = null;
+        while (node != null) {
+            if (node.value > element) {
+                best = node;
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return best;
+    }
+
+    // maior valor < element
+    static Node lower(Node node, int element) {
+        Node best = null;
+        while (node != null) {
+            if (node.value < element) {
+                best = node;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,83 @@
+package AVL;
+
+// nó compartilhado por AVL e AVLpadraoJA (e pelos iteradores e consultas do pacote)
+class Node {
+
+    int value;   // valor armazenado no nó
+    int height;  // altura armazenada do nó (mantida por AVL e pelo modo trackHeights de AVLpadraoJA)
+    int subtreeSize = 1; // quantidade de nós na subárvore enraizada aqui (mantida por AVL)
+    Node left;   // filho esquerdo
+    Node right;  // filho direito
+    Node parent; // pai do nó (necessário para subir na árvore sem recursão)
+
+    // construtor: cria um nó folha com altura 0
+    Node(int v) {
+        this.height = 0;
+        this.value = v;
+    }
+
+    // retorna true se o nó tiver apenas filho esquerdo
+    public boolean hasOnlyLeftChild() {
+        return (this.left != null && this.right == null);
+    }
+
+    // retorna true se o nó tiver apenas filho direito
+    public boolean hasOnlyRightChild() {
+        return (this.left == null && this.right != null);
+    }
+
+    // retorna true se o nó não tiver filhos (é uma folha)
+    public boolean isLeaf() {
+        return this.left == null && this.right == null;
+    }
+
+    // calcula recursivamente a altura do nó:
+    // folha = 0; outros = 1 + maior altura entre filhos esquerdo e direito
+    public int height() {
+        if (this.left == null && this.right == null)
+            return 0; // nó folha tem altura 0
+        else if (this.left == null) {
+            return 1 + this.right.height(); // só tem filho direito
+        } else if (this.right == null) {
+            return 1 + this.left.height();  // só tem filho esquerdo
+        } else {
+            return 1 + max(this.left.height(), this.right.height()); // tem os dois filhos
+        }
+    }
+
+    // retorna o maior entre dois inteiros (utilizado no cálculo de altura)
+    private int max(int height1, int height2) {
+        if (height1 >= height2)
+            return height1;
+        return height2;
+    }
+
+    // calcula o fator de balanceamento: altura(esquerda) - altura(direita)
+    // nós ausentes contam como altura -1
+    public int balance() {
+        int left = this.left == null ? -1 : this.left.height();   // -1 se não há filho esquerdo
+        int right = this.right == null ? -1 : this.right.height(); // -1 se não há filho direito
+        return left - right; // positivo = pendente à esquerda; negativo = pendente à direita
+    }
+
+    // retorna true se o nó está mais "pesado" à esquerda (fator >= 1)
+    public boolean isLeftPending() {
+        int left = this.left == null ? -1 : this.left.height();
+        int right = this.right == null ? -1 : this.right.height();
+        return left - right >= 1;
+    }
+
+    // retorna true se o nó está mais "pesado" à direita (fator <= -1)
+    public boolean isRightPending() {
+        int left = this.left == null ? -1 : this.left.height();
+        int right = this.right == null ? -1 : this.right.height();
+        return left - right <= -1;
+    }
+
+    // retorna true se o nó está balanceado (fator de balanceamento entre -1 e 1, inclusive)
+    public boolean isBalanced() {
+        int left = this.left == null ? -1 : this.left.height();
+        int right = this.right == null ? -1 : this.right.height();
+        return left - right >= -1 && left - right <= 1;
+    }
+}
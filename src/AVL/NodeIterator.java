@@ -0,0 +1,59 @@
+package AVL;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+// iterador preguiçoso sobre os valores de uma subárvore, nos limites [from, to):
+// a pilha explícita guarda só o caminho ainda não visitado (no máximo a altura da
+// árvore), então não depende de ponteiros de pai e funciona para AVL e AVLpadraoJA.
+// Alterar a árvore durante a iteração invalida o iterador.
+final class NodeIterator implements PrimitiveIterator.OfInt {
+
+    private Node[] stack = new Node[16];
+    private int depth;
+    private final long from;          // limite inferior inclusivo (long para representar "sem limite")
+    private final long to;            // limite superior exclusivo
+    private final boolean descending;
+
+    NodeIterator(Node root, long from, long to, boolean descending) {
+        this.from = from;
+        this.to = to;
+        this.descending = descending;
+        // empilha o caminho até o primeiro valor do intervalo no sentido da iteração
+        Node node = root;
+        while (node != null) {
+            if (descending ? node.value < to : node.value >= from) {
+                push(node);
+                node = descending ? node.right : node.left;
+            } else {
+                node = descending ? node.left : node.right;
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (depth == 0) return false;
+        int value = stack[depth - 1].value;
+        return descending ? value >= from : value < to; // a ordem é monotônica: basta checar o outro limite
+    }
+
+    @Override
+    public int nextInt() {
+        if (!hasNext()) throw new NoSuchElementException();
+        Node node = stack[--depth];
+        // o próximo no sentido da iteração é o extremo da subárvore do lado oposto
+        Node child = descending ? node.left : node.right;
+        while (child != null) {
+            push(child);
+            child = descending ? child.right : child.left;
+        }
+        return node.value;
+    }
+
+    private void push(Node node) {
+        if (depth == stack.length) stack = Arrays.copyOf(stack, depth * 2);
+        stack[depth++] = node;
+    }
+}
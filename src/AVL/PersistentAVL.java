@@ -0,0 +1,323 @@
+package AVL;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+// AVL persistente por cópia de caminho: os nós são imutáveis e cada inserção ou remoção
+// copia só os O(log n) nós do caminho da raiz até a mudança, compartilhando todas as outras
+// subárvores com a versão anterior. Cada versão é, portanto, uma raiz:
+//  - snapshot() é O(1): só guarda a raiz atual;
+//  - leitores leem a raiz volátil uma vez e trabalham naquela versão sem trava nenhuma;
+//  - escritores são serializados (synchronized) e publicam a nova raiz com uma escrita volátil.
+public class PersistentAVL {
+
+    private volatile PNode root;
+
+    public PersistentAVL() {
+    }
+
+    private PersistentAVL(PNode root) {
+        this.root = root;
+    }
+
+    // versão atual, congelada: alterações feitas depois nesta árvore não aparecem nela, e
+    // alterações feitas no snapshot geram versões próprias sem afetar esta árvore
+    public PersistentAVL snapshot() {
+        return new PersistentAVL(root);
+    }
+
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    public int size() {
+        return sizeOf(root);
+    }
+
+    // -------------------------------------------------------------------------
+    // ESCRITA
+    // -------------------------------------------------------------------------
+
+    // retorna true se o elemento foi inserido (duplicatas são ignoradas)
+    public synchronized boolean add(int element) {
+        PNode current = root;
+        PNode updated = insert(current, element);
+        if (updated == current) return false; // nada mudou, nenhum nó foi copiado
+        root = updated;                       // publica a nova versão
+        return true;
+    }
+
+    // retorna true se o elemento estava presente
+    public synchronized boolean remove(int element) {
+        PNode current = root;
+        PNode updated = remove(current, element);
+        if (updated == current) return false;
+        root = updated;
+        return true;
+    }
+
+    // mesma estrutura recursiva da AVL, mas em vez de alterar node.left/node.right cada
+    // nível devolve um nó novo quando o filho mudou (ou o próprio nó quando não mudou)
+    private static PNode insert(PNode node, int element) {
+        if (node == null) return new PNode(element, null, null);
+        if (element < node.value) {
+            PNode left = insert(node.left, element);
+            return left == node.left ? node : balance(node.value, left, node.right);
+        }
+        if (element > node.value) {
+            PNode right = insert(node.right, element);
+            return right == node.right ? node : balance(node.value, node.left, right);
+        }
+        return node; // elemento já existe
+    }
+
+    private static PNode remove(PNode node, int element) {
+        if (node == null) return null;
+        if (element < node.value) {
+            PNode left = remove(node.left, element);
+            return left == node.left ? node : balance(node.value, left, node.right);
+        }
+        if (element > node.value) {
+            PNode right = remove(node.right, element);
+            return right == node.right ? node : balance(node.value, node.left, right);
+        }
+        if (node.left == null) return node.right;  // caso 1 e 2b
+        if (node.right == null) return node.left;  // caso 2a
+        // caso 3: o sucessor vira o valor do novo nó (os nós antigos não são alterados)
+        PNode successor = node.right;
+        while (successor.left != null) successor = successor.left;
+        return balance(successor.value, node.left, removeMinimum(node.right));
+    }
+
+    private static PNode removeMinimum(PNode node) {
+        if (node.left == null) return node.right;
+        return balance(node.value, removeMinimum(node.left), node.right);
+    }
+
+    // cria o nó (value, left, right) já balanceado; as rotações montam nós novos em vez
+    // de religar os existentes
+    private static PNode balance(int value, PNode left, PNode right) {
+        int balanceFactor = height(left) - height(right);
+        if (balanceFactor > 1) {
+            if (height(left.left) >= height(left.right)) {
+                // Esquerda-Esquerda: rotação à direita
+                return new PNode(left.value, left.left, new PNode(value, left.right, right));
+            }
+            // Esquerda-Direita: o neto sobe para a raiz
+            PNode middle = left.right;
+            return new PNode(middle.value,
+                    new PNode(left.value, left.left, middle.left),
+                    new PNode(value, middle.right, right));
+        }
+        if (balanceFactor < -1) {
+            if (height(right.right) >= height(right.left)) {
+                // Direita-Direita: rotação à esquerda
+                return new PNode(right.value, new PNode(value, left, right.left), right.right);
+            }
+            // Direita-Esquerda
+            PNode middle = right.left;
+            return new PNode(middle.value,
+                    new PNode(value, left, middle.left),
+                    new PNode(right.value, middle.right, right.right));
+        }
+        return new PNode(value, left, right);
+    }
+
+    // -------------------------------------------------------------------------
+    // LEITURA
+    // -------------------------------------------------------------------------
+
+    public boolean contains(int element) {
+        PNode node = root; // uma leitura volátil: o resto da busca é nessa versão
+        while (node != null) {
+            if (element < node.value) node = node.left;
+            else if (element > node.value) node = node.right;
+            else return true;
+        }
+        return false;
+    }
+
+    public int min() {
+        PNode node = root;
+        if (node == null) throw new NoSuchElementException("árvore vazia");
+        while (node.left != null) node = node.left;
+        return node.value;
+    }
+
+    public int max() {
+        PNode node = root;
+        if (node == null) throw new NoSuchElementException("árvore vazia");
+        while (node.right != null) node = node.right;
+        return node.value;
+    }
+
+    // percorre em ordem crescente a versão vigente no momento da chamada, mesmo que a
+    // árvore seja alterada durante a iteração
+    public PrimitiveIterator.OfInt iterator() {
+        PNode version = root;
+        return new PrimitiveIterator.OfInt() {
+            private PNode[] stack = new PNode[Math.max(1, height(version))];
+            private int depth;
+
+            {
+                pushLeftSpine(version);
+            }
+
+            private void pushLeftSpine(PNode node) {
+                for (; node != null; node = node.left) {
+                    if (depth == stack.length) stack = Arrays.copyOf(stack, depth * 2);
+                    stack[depth++] = node;
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return depth > 0;
+            }
+
+            @Override
+            public int nextInt() {
+                if (depth == 0) throw new NoSuchElementException();
+                PNode node = stack[--depth];
+                pushLeftSpine(node.right);
+                return node.value;
+            }
+        };
+    }
+
+    static int height(PNode node) {
+        return node == null ? -1 : node.height; // folha tem altura 0, como na AVL
+    }
+
+    static int sizeOf(PNode node) {
+        return node == null ? 0 : node.size;
+    }
+
+    PNode root() {
+        return root;
+    }
+
+    // -------------------------------------------------------------------------
+    // CLASSE PNODE
+    // -------------------------------------------------------------------------
+
+    // nó imutável: altura e tamanho são calculados uma vez, na criação; campos final
+    // garantem que qualquer thread que veja o nó veja também o conteúdo dele
+    static final class PNode {
+        final int value;
+        final int height;
+        final int size;
+        final PNode left;
+        final PNode right;
+
+        PNode(int value, PNode left, PNode right) {
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            this.height = 1 + Math.max(PersistentAVL.height(left), PersistentAVL.height(right));
+            this.size = 1 + sizeOf(left) + sizeOf(right);
+        }
+    }
+}
+
+// -------------------------------------------------------------------------
+// TESTES DO PERSISTENTAVL
+// -------------------------------------------------------------------------
+
+class PersistentAVLTest {
+
+    static int testsPassed = 0;
+    static int testsFailed = 0;
+
+    static void assertTrue(String testName, boolean condition) {
+        if (condition) {
+            System.out.println("✅ PASSOU: " + testName);
+            testsPassed++;
+        } else {
+            System.out.println("❌ FALHOU: " + testName);
+            testsFailed++;
+        }
+    }
+
+    // confere ordem e balanceamento de uma versão; retorna a altura ou -2 se inválida
+    static int alturaValida(PersistentAVL.PNode node, long low, long high) {
+        if (node == null) return -1;
+        if (node.value <= low || node.value >= high) return -2;
+        int left = alturaValida(node.left, low, node.value);
+        int right = alturaValida(node.right, node.value, high);
+        if (left == -2 || right == -2 || Math.abs(left - right) > 1) return -2;
+        return 1 + Math.max(left, right);
+    }
+
+    static void testarSnapshots() {
+        System.out.println("\n--- snapshots ---");
+        PersistentAVL tree = new PersistentAVL();
+        for (int i = 0; i < 1000; i++) tree.add(i);
+        PersistentAVL.PNode before = tree.root();
+        PersistentAVL snapshot = tree.snapshot();
+
+        for (int i = 1000; i < 2000; i++) tree.add(i);
+        for (int i = 0; i < 500; i++) tree.remove(i);
+        assertTrue("árvore atual tem 1500 elementos", tree.size() == 1500 && !tree.contains(10) && tree.contains(1999));
+        assertTrue("snapshot continua com os 1000 originais", snapshot.size() == 1000 && snapshot.contains(10) && !snapshot.contains(1999));
+        assertTrue("versão antiga não foi alterada", snapshot.root() == before);
+        assertTrue("as duas versões são AVL válidas",
+                alturaValida(tree.root(), Long.MIN_VALUE, Long.MAX_VALUE) >= 0
+                        && alturaValida(snapshot.root(), Long.MIN_VALUE, Long.MAX_VALUE) >= 0);
+
+        PersistentAVL.PNode root = tree.root();
+        assertTrue("inserir duplicata não cria versão nova", !tree.add(1500) && tree.root() == root);
+        assertTrue("remover ausente não cria versão nova", !tree.remove(-1) && tree.root() == root);
+
+        snapshot.add(-5);
+        assertTrue("escrever no snapshot não afeta a árvore", snapshot.contains(-5) && !tree.contains(-5));
+
+        java.util.PrimitiveIterator.OfInt iterator = tree.iterator();
+        tree.add(5000); // não aparece na iteração já começada
+        int count = 0, previous = Integer.MIN_VALUE;
+        boolean ordered = true;
+        while (iterator.hasNext()) {
+            int value = iterator.nextInt();
+            ordered &= value > previous;
+            previous = value;
+            count++;
+        }
+        assertTrue("iterador percorre a versão do momento da chamada", ordered && count == 1500);
+        assertTrue("min e max", tree.min() == 500 && tree.max() == 5000);
+    }
+
+    static void testarLeitorDuranteEscritas() throws InterruptedException {
+        System.out.println("\n--- leitor sem trava durante escritas ---");
+        PersistentAVL tree = new PersistentAVL();
+        boolean[] inconsistent = new boolean[1];
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 100000; i++) tree.add(i);
+        });
+        Thread reader = new Thread(() -> {
+            // o escritor insere em ordem: toda versão contém exatamente 0..size-1
+            for (int i = 0; i < 2000; i++) {
+                PersistentAVL version = tree.snapshot();
+                int size = version.size();
+                if (size > 0 && (version.min() != 0 || version.max() != size - 1 || !version.contains(size / 2))) {
+                    inconsistent[0] = true;
+                }
+            }
+        });
+        writer.start();
+        reader.start();
+        writer.join();
+        reader.join();
+        assertTrue("toda versão lida é consistente", !inconsistent[0]);
+        assertTrue("versão final completa", tree.size() == 100000);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        testarSnapshots();
+        testarLeitorDuranteEscritas();
+
+        System.out.println("\n══════════════════════════════");
+        System.out.println("Total: " + (testsPassed + testsFailed) +
+                " | ✅ " + testsPassed + " | ❌ " + testsFailed);
+    }
+}
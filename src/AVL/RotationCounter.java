@@ -0,0 +1,46 @@
+package AVL;
+
+// ouvinte que apenas conta os eventos, sem I/O nem alocação
+public class RotationCounter implements RotationListener {
+    private long rebalances;     // nós desbalanceados corrigidos
+    private long leftRotations;  // rotações simples à esquerda (uma dupla conta uma de cada)
+    private long rightRotations; // rotações simples à direita
+
+    @Override
+    public void rebalancing(AVLpadraoJA tree, int unbalanced) {
+        rebalances++;
+    }
+
+    @Override
+    public void rotatedLeft(AVLpadraoJA tree, int value) {
+        leftRotations++;
+    }
+
+    @Override
+    public void rotatedRight(AVLpadraoJA tree, int value) {
+        rightRotations++;
+    }
+
+    public long rebalances() {
+        return rebalances;
+    }
+
+    public long leftRotations() {
+        return leftRotations;
+    }
+
+    public long rightRotations() {
+        return rightRotations;
+    }
+
+    public long rotations() {
+        return leftRotations + rightRotations;
+    }
+
+    // zera todos os contadores
+    public void reset() {
+        rebalances = 0;
+        leftRotations = 0;
+        rightRotations = 0;
+    }
+}
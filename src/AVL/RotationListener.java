@@ -0,0 +1,22 @@
+package AVL;
+
+// observador dos eventos de rebalanceamento da AVLpadraoJA; todos os métodos têm
+// implementação vazia por padrão, então quem implementa sobrescreve só o que usa
+public interface RotationListener {
+
+    // ouvinte padrão: não faz nada, e a chamada é eliminada pelo JIT
+    RotationListener NONE = new RotationListener() {
+    };
+
+    // chamado quando "unbalanced" saiu do intervalo [-1, 1] e vai ser rotacionado
+    default void rebalancing(AVLpadraoJA tree, int unbalanced) {
+    }
+
+    // chamado após uma rotação simples à esquerda em torno do nó "value"
+    default void rotatedLeft(AVLpadraoJA tree, int value) {
+    }
+
+    // chamado após uma rotação simples à direita em torno do nó "value"
+    default void rotatedRight(AVLpadraoJA tree, int value) {
+    }
+}
@@ -0,0 +1,29 @@
+package AVL;
+
+import java.io.PrintStream;
+
+// ouvinte de depuração: imprime cada rotação seguida da árvore em pré-ordem;
+// cada evento custa O(n), então só deve ser ligado explicitamente
+public class RotationTracer implements RotationListener {
+    private final PrintStream out;
+
+    public RotationTracer() {
+        this(System.out);
+    }
+
+    public RotationTracer(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void rotatedLeft(AVLpadraoJA tree, int value) {
+        out.println("rot_esq(" + value + ")");
+        out.println(tree.preOrder());
+    }
+
+    @Override
+    public void rotatedRight(AVLpadraoJA tree, int value) {
+        out.println("rot_dir(" + value + ")");
+        out.println(tree.preOrder());
+    }
+}
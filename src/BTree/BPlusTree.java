@@ -0,0 +1,510 @@
+package BTree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+// árvore B+ de inteiros: as chaves ficam em vetores int[] dentro de cada nó, então
+// uma descida toca poucos nós (uma falta de cache por nível, não por chave); todas as
+// chaves ficam nas folhas, que são encadeadas para percursos e buscas por intervalo
+public class BPlusTree {
+    static final int DEFAULT_ORDER = 64; // máximo de filhos por nó interno
+
+    private final int order;      // máximo de filhos de um nó interno
+    private final int maxKeys;    // máximo de chaves por nó (order - 1)
+    private final int minKeys;    // mínimo de chaves por nó que não é raiz
+    private BNode root;           // raiz (uma folha enquanto a árvore tiver um só nível)
+    private Leaf first;           // folha mais à esquerda (início do encadeamento)
+    private int size;             // quantidade de chaves na árvore
+    private int height;           // quantidade de níveis acima das folhas
+
+    public BPlusTree() {
+        this(DEFAULT_ORDER);
+    }
+
+    public BPlusTree(int order) {
+        if (order < 3) throw new IllegalArgumentException("order deve ser >= 3: " + order);
+        this.order = order;
+        this.maxKeys = order - 1;
+        this.minKeys = (order - 1) / 2;
+        this.root = this.first = new Leaf(maxKeys);
+    }
+
+    // verifica se a árvore está vazia
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    // quantidade de chaves armazenadas
+    public int size() {
+        return this.size;
+    }
+
+    // -------------------------------------------------------------------------
+    // BUSCA
+    // -------------------------------------------------------------------------
+
+    // desce pelos nós internos usando busca binária nos vetores de chaves
+    private Leaf findLeaf(int element) {
+        BNode node = this.root;
+        for (int level = 0; level < this.height; level++) {
+            Internal internal = (Internal) node;
+            node = internal.children[internal.childIndex(element)];
+        }
+        return (Leaf) node;
+    }
+
+    public boolean search(int element) {
+        Leaf leaf = findLeaf(element);
+        return leaf.indexOf(element) >= 0;
+    }
+
+    public int min() {
+        if (isEmpty()) throw new NoSuchElementException("árvore vazia");
+        return this.first.keys[0];
+    }
+
+    public int max() {
+        if (isEmpty()) throw new NoSuchElementException("árvore vazia");
+        BNode node = this.root;
+        for (int level = 0; level < this.height; level++) {
+            Internal internal = (Internal) node;
+            node = internal.children[internal.count]; // desce sempre pelo último filho
+        }
+        Leaf leaf = (Leaf) node;
+        return leaf.keys[leaf.count - 1];
+    }
+
+    // -------------------------------------------------------------------------
+    // INSERÇÃO
+    // -------------------------------------------------------------------------
+
+    // insere o elemento; retorna false se ele já existia (a árvore é um conjunto)
+    public boolean add(int element) {
+        Split split = insert(this.root, element, 0);
+        if (split == NOT_INSERTED) return false;
+        this.size++;
+
+        if (split != null) { // a raiz se dividiu: cria uma nova raiz com os dois pedaços
+            Internal newRoot = new Internal(maxKeys);
+            newRoot.keys[0] = split.separator;
+            newRoot.children[0] = this.root;
+            newRoot.children[1] = split.right;
+            newRoot.count = 1;
+            this.root = newRoot;
+            this.height++;
+        }
+        return true;
+    }
+
+    // resultado de uma divisão: separador que sobe para o pai e o novo irmão à direita
+    private static final class Split {
+        final int separator;
+        final BNode right;
+
+        Split(int separator, BNode right) {
+            this.separator = separator;
+            this.right = right;
+        }
+    }
+
+    private static final Split NOT_INSERTED = new Split(0, null); // marcador de chave repetida
+
+    // insere recursivamente; retorna null se o nó absorveu a chave, ou a divisão a propagar
+    private Split insert(BNode node, int element, int level) {
+        if (level == this.height) { // chegou na folha
+            Leaf leaf = (Leaf) node;
+            int index = leaf.indexOf(element);
+            if (index >= 0) return NOT_INSERTED;
+            int position = -index - 1;
+
+            if (leaf.count < maxKeys) {
+                leaf.insertAt(position, element);
+                return null;
+            }
+            return splitLeaf(leaf, position, element);
+        }
+
+        Internal internal = (Internal) node;
+        int childIndex = internal.childIndex(element);
+        Split split = insert(internal.children[childIndex], element, level + 1);
+        if (split == null || split == NOT_INSERTED) return split;
+
+        if (internal.count < maxKeys) {
+            internal.insertAt(childIndex, split.separator, split.right);
+            return null;
+        }
+        return splitInternal(internal, childIndex, split);
+    }
+
+    // divide uma folha cheia ao meio; a primeira chave da nova folha é copiada para o pai
+    private Split splitLeaf(Leaf leaf, int position, int element) {
+        int[] merged = new int[maxKeys + 1]; // chaves da folha mais a nova, em ordem
+        System.arraycopy(leaf.keys, 0, merged, 0, position);
+        merged[position] = element;
+        System.arraycopy(leaf.keys, position, merged, position + 1, maxKeys - position);
+
+        int leftCount = merged.length / 2;
+        Leaf right = new Leaf(maxKeys);
+        System.arraycopy(merged, 0, leaf.keys, 0, leftCount);
+        leaf.count = leftCount;
+        right.count = merged.length - leftCount;
+        System.arraycopy(merged, leftCount, right.keys, 0, right.count);
+
+        right.next = leaf.next; // encaixa a nova folha no encadeamento
+        leaf.next = right;
+        return new Split(right.keys[0], right);
+    }
+
+    // divide um nó interno cheio; a chave do meio sobe para o pai (não fica em nenhum dos lados)
+    private Split splitInternal(Internal node, int childIndex, Split split) {
+        int[] keys = new int[maxKeys + 1];
+        BNode[] children = new BNode[maxKeys + 2];
+        System.arraycopy(node.keys, 0, keys, 0, childIndex);
+        keys[childIndex] = split.separator;
+        System.arraycopy(node.keys, childIndex, keys, childIndex + 1, maxKeys - childIndex);
+        System.arraycopy(node.children, 0, children, 0, childIndex + 1);
+        children[childIndex + 1] = split.right;
+        System.arraycopy(node.children, childIndex + 1, children, childIndex + 2, maxKeys - childIndex);
+
+        int middle = keys.length / 2;
+        Internal right = new Internal(maxKeys);
+        node.count = middle;
+        System.arraycopy(keys, 0, node.keys, 0, middle);
+        System.arraycopy(children, 0, node.children, 0, middle + 1);
+        Arrays.fill(node.children, middle + 1, node.children.length, null); // solta referências antigas
+
+        right.count = keys.length - middle - 1;
+        System.arraycopy(keys, middle + 1, right.keys, 0, right.count);
+        System.arraycopy(children, middle + 1, right.children, 0, right.count + 1);
+        return new Split(keys[middle], right);
+    }
+
+    // -------------------------------------------------------------------------
+    // REMOÇÃO
+    // -------------------------------------------------------------------------
+
+    // remove o elemento; retorna false se ele não estava na árvore
+    public boolean remove(int element) {
+        if (!remove(this.root, element, 0)) return false;
+        this.size--;
+
+        // a raiz interna ficou sem chaves: o único filho passa a ser a raiz
+        if (this.height > 0 && this.root.count == 0) {
+            this.root = ((Internal) this.root).children[0];
+            this.height--;
+        }
+        return true;
+    }
+
+    // remove recursivamente; na volta, corrige o filho que ficou abaixo do mínimo
+    private boolean remove(BNode node, int element, int level) {
+        if (level == this.height) {
+            Leaf leaf = (Leaf) node;
+            int index = leaf.indexOf(element);
+            if (index < 0) return false;
+            leaf.removeAt(index);
+            return true;
+        }
+
+        Internal internal = (Internal) node;
+        int childIndex = internal.childIndex(element);
+        if (!remove(internal.children[childIndex], element, level + 1)) return false;
+
+        if (internal.children[childIndex].count < minKeys) {
+            fixUnderflow(internal, childIndex, level + 1 == this.height);
+        }
+        return true;
+    }
+
+    // empresta uma chave de um irmão vizinho ou funde o filho com ele
+    private void fixUnderflow(Internal parent, int childIndex, boolean leaves) {
+        if (childIndex > 0 && parent.children[childIndex - 1].count > minKeys) {
+            if (leaves) borrowFromLeftLeaf(parent, childIndex);
+            else borrowFromLeftInternal(parent, childIndex);
+        } else if (childIndex < parent.count && parent.children[childIndex + 1].count > minKeys) {
+            if (leaves) borrowFromRightLeaf(parent, childIndex);
+            else borrowFromRightInternal(parent, childIndex);
+        } else {
+            int leftIndex = childIndex > 0 ? childIndex - 1 : childIndex; // funde sempre com o vizinho da esquerda do par
+            if (leaves) mergeLeaves(parent, leftIndex);
+            else mergeInternals(parent, leftIndex);
+        }
+    }
+
+    private void borrowFromLeftLeaf(Internal parent, int childIndex) {
+        Leaf left = (Leaf) parent.children[childIndex - 1];
+        Leaf child = (Leaf) parent.children[childIndex];
+        child.insertAt(0, left.keys[left.count - 1]); // a maior chave do irmão esquerdo passa para o filho
+        left.count--;
+        parent.keys[childIndex - 1] = child.keys[0];  // o separador passa a ser a nova primeira chave
+    }
+
+    private void borrowFromRightLeaf(Internal parent, int childIndex) {
+        Leaf child = (Leaf) parent.children[childIndex];
+        Leaf right = (Leaf) parent.children[childIndex + 1];
+        child.keys[child.count++] = right.keys[0];    // a menor chave do irmão direito passa para o filho
+        right.removeAt(0);
+        parent.keys[childIndex] = right.keys[0];
+    }
+
+    private void borrowFromLeftInternal(Internal parent, int childIndex) {
+        Internal left = (Internal) parent.children[childIndex - 1];
+        Internal child = (Internal) parent.children[childIndex];
+        // o separador desce para o filho e o último filho do irmão esquerdo vai junto
+        child.insertFirst(parent.keys[childIndex - 1], left.children[left.count]);
+        parent.keys[childIndex - 1] = left.keys[left.count - 1]; // a maior chave do irmão sobe
+        left.children[left.count] = null;
+        left.count--;
+    }
+
+    private void borrowFromRightInternal(Internal parent, int childIndex) {
+        Internal child = (Internal) parent.children[childIndex];
+        Internal right = (Internal) parent.children[childIndex + 1];
+        // o separador desce para o fim do filho e o primeiro filho do irmão direito vai junto
+        child.keys[child.count] = parent.keys[childIndex];
+        child.children[child.count + 1] = right.children[0];
+        child.count++;
+        parent.keys[childIndex] = right.keys[0]; // a menor chave do irmão sobe
+        right.removeFirst();
+    }
+
+    // junta a folha childIndex + 1 na folha childIndex e remove o separador do pai
+    private void mergeLeaves(Internal parent, int leftIndex) {
+        Leaf left = (Leaf) parent.children[leftIndex];
+        Leaf right = (Leaf) parent.children[leftIndex + 1];
+        System.arraycopy(right.keys, 0, left.keys, left.count, right.count);
+        left.count += right.count;
+        left.next = right.next; // tira a folha direita do encadeamento
+        parent.removeAt(leftIndex);
+    }
+
+    // junta o nó interno leftIndex + 1 no nó leftIndex, descendo o separador entre eles
+    private void mergeInternals(Internal parent, int leftIndex) {
+        Internal left = (Internal) parent.children[leftIndex];
+        Internal right = (Internal) parent.children[leftIndex + 1];
+        left.keys[left.count] = parent.keys[leftIndex];
+        System.arraycopy(right.keys, 0, left.keys, left.count + 1, right.count);
+        System.arraycopy(right.children, 0, left.children, left.count + 1, right.count + 1);
+        left.count += right.count + 1;
+        parent.removeAt(leftIndex);
+    }
+
+    // -------------------------------------------------------------------------
+    // PERCURSOS
+    // -------------------------------------------------------------------------
+
+    // todas as chaves em ordem crescente, seguindo o encadeamento das folhas
+    public ArrayList<Integer> inOrder() {
+        ArrayList<Integer> list = new ArrayList<>(this.size);
+        for (Leaf leaf = this.first; leaf != null; leaf = leaf.next) {
+            for (int i = 0; i < leaf.count; i++) list.add(leaf.keys[i]);
+        }
+        return list;
+    }
+
+    // chaves no intervalo [from, to): uma descida até a primeira folha e depois só o encadeamento
+    public ArrayList<Integer> range(int from, int to) {
+        ArrayList<Integer> list = new ArrayList<>();
+        if (from >= to) return list;
+        Leaf leaf = findLeaf(from);
+        int index = leaf.indexOf(from);
+        if (index < 0) index = -index - 1;
+
+        while (leaf != null) {
+            for (; index < leaf.count; index++) {
+                if (leaf.keys[index] >= to) return list;
+                list.add(leaf.keys[index]);
+            }
+            leaf = leaf.next;
+            index = 0;
+        }
+        return list;
+    }
+
+    // quantidade de níveis da árvore (1 = só a raiz folha)
+    public int levels() {
+        return this.height + 1;
+    }
+
+    public int order() {
+        return this.order;
+    }
+
+    // -------------------------------------------------------------------------
+    // NÓS
+    // -------------------------------------------------------------------------
+
+    // base comum: chaves num vetor primitivo ordenado e a quantidade em uso
+    abstract static class BNode {
+        final int[] keys;
+        int count;
+
+        BNode(int capacity) {
+            this.keys = new int[capacity];
+        }
+
+        // busca binária: posição da chave, ou -(ponto de inserção) - 1 se não existir
+        int indexOf(int element) {
+            int low = 0;
+            int high = this.count - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int key = this.keys[mid];
+                if (key < element) low = mid + 1;
+                else if (key > element) high = mid - 1;
+                else return mid;
+            }
+            return -(low + 1);
+        }
+    }
+
+    static final class Leaf extends BNode {
+        Leaf next; // próxima folha em ordem crescente
+
+        Leaf(int capacity) {
+            super(capacity);
+        }
+
+        void insertAt(int position, int element) {
+            System.arraycopy(this.keys, position, this.keys, position + 1, this.count - position);
+            this.keys[position] = element;
+            this.count++;
+        }
+
+        void removeAt(int position) {
+            System.arraycopy(this.keys, position + 1, this.keys, position, this.count - position - 1);
+            this.count--;
+        }
+    }
+
+    // nó interno: keys[i] separa children[i] (chaves < keys[i]) de children[i + 1] (chaves >= keys[i])
+    static final class Internal extends BNode {
+        final BNode[] children;
+
+        Internal(int capacity) {
+            super(capacity);
+            this.children = new BNode[capacity + 1];
+        }
+
+        // índice do filho onde o elemento deve estar
+        int childIndex(int element) {
+            int index = indexOf(element);
+            return index >= 0 ? index + 1 : -index - 1; // chave igual ao separador fica à direita
+        }
+
+        // insere o separador na posição "position" e o novo filho logo à direita dele
+        void insertAt(int position, int separator, BNode right) {
+            System.arraycopy(this.keys, position, this.keys, position + 1, this.count - position);
+            System.arraycopy(this.children, position + 1, this.children, position + 2, this.count - position);
+            this.keys[position] = separator;
+            this.children[position + 1] = right;
+            this.count++;
+        }
+
+        // remove o separador "position" e o filho à direita dele
+        void removeAt(int position) {
+            System.arraycopy(this.keys, position + 1, this.keys, position, this.count - position - 1);
+            System.arraycopy(this.children, position + 2, this.children, position + 1, this.count - position - 1);
+            this.children[this.count] = null;
+            this.count--;
+        }
+
+        // insere um separador e um filho no começo do nó
+        void insertFirst(int separator, BNode child) {
+            System.arraycopy(this.keys, 0, this.keys, 1, this.count);
+            System.arraycopy(this.children, 0, this.children, 1, this.count + 1);
+            this.keys[0] = separator;
+            this.children[0] = child;
+            this.count++;
+        }
+
+        // remove o primeiro separador e o primeiro filho
+        void removeFirst() {
+            System.arraycopy(this.keys, 1, this.keys, 0, this.count - 1);
+            System.arraycopy(this.children, 1, this.children, 0, this.count);
+            this.children[this.count] = null;
+            this.count--;
+        }
+    }
+}
+
+// ═══════════════════════════════════════════════════════════════
+// TESTES
+// ═══════════════════════════════════════════════════════════════
+class BPlusTreeTest {
+
+    static int testsPassed = 0;
+    static int testsFailed = 0;
+
+    static void assertEquals(String testName, Object expected, Object actual) {
+        if (expected.equals(actual)) {
+            System.out.println("✅ PASSOU: " + testName);
+            testsPassed++;
+        } else {
+            System.out.println("❌ FALHOU: " + testName +
+                    " | esperado: " + expected + " | obtido: " + actual);
+            testsFailed++;
+        }
+    }
+
+    static void assertTrue(String testName, boolean condition) {
+        if (condition) {
+            System.out.println("✅ PASSOU: " + testName);
+            testsPassed++;
+        } else {
+            System.out.println("❌ FALHOU: " + testName);
+            testsFailed++;
+        }
+    }
+
+    static void testarInsercaoEBusca() {
+        System.out.println("\n--- Inserção e Busca ---");
+        BPlusTree tree = new BPlusTree(4);
+        for (int i = 10; i >= 1; i--) tree.add(i * 10);
+        assertTrue("busca por 50 deve encontrar", tree.search(50));
+        assertTrue("busca por 55 não deve encontrar", !tree.search(55));
+        assertTrue("inserir repetido deve retornar false", !tree.add(50));
+        assertEquals("size deve ser 10", 10, tree.size());
+        assertTrue("ordem 4 com 10 chaves deve ter mais de um nível", tree.levels() > 1);
+        assertEquals("min deve ser 10", 10, tree.min());
+        assertEquals("max deve ser 100", 100, tree.max());
+    }
+
+    static void testarRange() {
+        System.out.println("\n--- Range ---");
+        BPlusTree tree = new BPlusTree(3);
+        for (int i = 0; i < 20; i++) tree.add(i * 2);
+        assertEquals("range [5, 13) deve seguir o encadeamento", java.util.List.of(6, 8, 10, 12), tree.range(5, 13));
+        assertTrue("range vazio", tree.range(13, 13).isEmpty());
+    }
+
+    static void testarContraTreeSet() {
+        System.out.println("\n--- Operações aleatórias contra TreeSet ---");
+        java.util.Random random = new java.util.Random(3);
+        for (int order : new int[]{3, 4, 5, 16, 64}) {
+            BPlusTree tree = new BPlusTree(order);
+            java.util.TreeSet<Integer> expected = new java.util.TreeSet<>();
+            boolean same = true;
+            for (int i = 0; i < 20000; i++) {
+                int key = random.nextInt(2000);
+                if (random.nextInt(3) == 0) same &= tree.remove(key) == expected.remove(key);
+                else same &= tree.add(key) == expected.add(key);
+            }
+            same &= tree.inOrder().equals(new java.util.ArrayList<>(expected));
+            same &= tree.size() == expected.size();
+            for (int key : new java.util.ArrayList<>(expected)) same &= tree.remove(key);
+            assertTrue("ordem " + order + " deve se comportar como TreeSet", same && tree.isEmpty() && tree.levels() == 1);
+        }
+    }
+
+    public static void main(String[] args) {
+        testarInsercaoEBusca();
+        testarRange();
+        testarContraTreeSet();
+
+        System.out.println("\n══════════════════════════════");
+        System.out.println("Total: " + (testsPassed + testsFailed) +
+                " | ✅ " + testsPassed + " | ❌ " + testsFailed);
+    }
+}
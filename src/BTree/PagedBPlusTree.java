@@ -0,0 +1,753 @@
+package BTree;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+
+// árvore B+ de inteiros guardada em páginas de tamanho fixo de um arquivo mapeado em
+// memória: os nós nunca viram objetos Java, então o índice pode ser maior que o heap
+// (quem segura as páginas é o page cache do sistema) e reabrir o arquivo é imediato,
+// sem carga nem reconstrução. Mesmo algoritmo da BPlusTree, com ids de página no
+// lugar de referências. Não é thread-safe; sync() força as páginas para o disco.
+// Da primeira alteração depois de um sync() até o próximo sync() ou close(), o cabeçalho
+// fica marcado como sujo (e essa marca vai para o disco antes de qualquer página mudar).
+// As páginas mudam no mapeamento na hora, mas raiz, altura e lista de livres só são
+// gravadas no sync, então um arquivo sujo (processo morto ou queda antes do sync) não é
+// confiável: o open o recusa em vez de servir uma árvore corrompida.
+public final class PagedBPlusTree implements Closeable {
+    public static final int DEFAULT_PAGE_SIZE = 4096;
+
+    private static final int MAGIC = 0x42505431;       // "BPT1"
+    private static final int VERSION = 1;
+    private static final long CHUNK_SIZE = 1L << 26;   // o arquivo é mapeado em pedaços de 64 MiB
+
+    // cabeçalho (página 0)
+    private static final int H_MAGIC = 0;
+    private static final int H_VERSION = 4;
+    private static final int H_PAGE_SIZE = 8;
+    private static final int H_ROOT = 12;
+    private static final int H_HEIGHT = 16;
+    private static final int H_PAGE_COUNT = 20;
+    private static final int H_FREE_HEAD = 24;
+    private static final int H_FIRST_LEAF = 28;
+    private static final int H_SIZE = 32;              // long
+    private static final int H_DIRTY = 40;             // 1 = alterado depois do último sync
+
+    // layout de um nó: [tipo:1][reservado:1][count:2][next:4][chaves...][filhos...]
+    private static final int N_TYPE = 0;
+    private static final int N_COUNT = 2;
+    private static final int N_NEXT = 4;               // folha: próxima folha; página livre: próxima livre
+    private static final int N_KEYS = 8;
+    private static final byte LEAF = 0;
+    private static final byte INTERNAL = 1;
+
+    private static final int ABSORBED = 0;             // resultados da inserção recursiva
+    private static final int SPLIT = 1;
+    private static final int DUPLICATE = -1;
+
+    private final FileChannel channel;
+    private final ArrayList<MappedByteBuffer> chunks = new ArrayList<>();
+    private final int pageSize;
+    private final int pagesPerChunk;
+    private final int maxLeafKeys;
+    private final int maxInternalKeys;
+    private final int minLeafKeys;
+    private final int minInternalKeys;
+    private final int childrenOffset;                  // início do vetor de filhos num nó interno
+
+    private int root;
+    private int height;        // níveis acima das folhas
+    private int pageCount;     // páginas em uso no arquivo, incluindo o cabeçalho e as livres
+    private int freeHead;      // primeira página da lista de livres (0 = vazia)
+    private int firstLeaf;
+    private long size;
+    private boolean dirty;     // espelho de H_DIRTY
+
+    private int splitSeparator; // resultado da última divisão (evita alocar um objeto por split)
+    private int splitPage;
+    private final int[] scratchKeys;     // vetores reaproveitados durante as divisões
+    private final int[] scratchChildren;
+
+    private PagedBPlusTree(FileChannel channel, int pageSize) {
+        this.channel = channel;
+        this.pageSize = pageSize;
+        this.pagesPerChunk = (int) (CHUNK_SIZE / pageSize);
+        this.maxLeafKeys = (pageSize - N_KEYS) / 4;
+        this.maxInternalKeys = (pageSize - N_KEYS - 4) / 8; // k chaves + (k + 1) filhos
+        this.minLeafKeys = maxLeafKeys / 2;
+        this.minInternalKeys = maxInternalKeys / 2;
+        this.childrenOffset = N_KEYS + 4 * maxInternalKeys;
+        this.scratchKeys = new int[Math.max(maxLeafKeys, maxInternalKeys) + 1];
+        this.scratchChildren = new int[maxInternalKeys + 2];
+    }
+
+    // abre o índice do arquivo, criando-o com páginas de 4 KiB se ainda não existir
+    public static PagedBPlusTree open(Path file) throws IOException {
+        return open(file, DEFAULT_PAGE_SIZE);
+    }
+
+    // pageSize só é usado na criação; um arquivo existente mantém o tamanho gravado nele
+    public static PagedBPlusTree open(Path file, int pageSize) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() == 0) {
+                if (!validPageSize(pageSize))
+                    throw new IllegalArgumentException("pageSize deve ser potência de 2 entre 64 e 65536: " + pageSize);
+                PagedBPlusTree tree = new PagedBPlusTree(channel, pageSize);
+                tree.initialize();
+                return tree;
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(12).order(ByteOrder.LITTLE_ENDIAN);
+            channel.read(header, 0);
+            if (header.getInt(H_MAGIC) != MAGIC) throw new IOException("arquivo não é um PagedBPlusTree: " + file);
+            if (header.getInt(H_VERSION) != VERSION) throw new IOException("versão não suportada: " + header.getInt(H_VERSION));
+            int storedPageSize = header.getInt(H_PAGE_SIZE);
+            if (!validPageSize(storedPageSize)) throw new IOException("tamanho de página inválido no cabeçalho: " + storedPageSize);
+            PagedBPlusTree tree = new PagedBPlusTree(channel, storedPageSize);
+            tree.readHeader();
+            return tree;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // potência de 2 para que as páginas não cruzem a fronteira de um chunk; até 65536
+    // para que a quantidade de chaves caiba num short
+    private static boolean validPageSize(int pageSize) {
+        return pageSize >= 64 && pageSize <= 65536 && Integer.bitCount(pageSize) == 1;
+    }
+
+    // arquivo novo: cabeçalho na página 0 e uma folha vazia como raiz na página 1
+    private void initialize() throws IOException {
+        this.pageCount = 1;
+        this.root = this.firstLeaf = allocatePage(LEAF);
+        writeHeader();
+        markDirty(); // só fica válido depois do primeiro sync/close
+    }
+
+    private void readHeader() throws IOException {
+        MappedByteBuffer buffer = chunk(0);
+        this.root = buffer.getInt(H_ROOT);
+        this.height = buffer.getInt(H_HEIGHT);
+        this.pageCount = buffer.getInt(H_PAGE_COUNT);
+        this.freeHead = buffer.getInt(H_FREE_HEAD);
+        this.firstLeaf = buffer.getInt(H_FIRST_LEAF);
+        this.size = buffer.getLong(H_SIZE);
+        if (buffer.getInt(H_DIRTY) != 0)
+            throw new IOException("arquivo alterado sem sync/close depois da última alteração; o cabeçalho pode não bater com as páginas");
+        chunk((this.pageCount - 1) / this.pagesPerChunk); // mapeia todo o arquivo já existente
+    }
+
+    private void writeHeader() throws IOException {
+        MappedByteBuffer buffer = chunk(0);
+        buffer.putInt(H_MAGIC, MAGIC);
+        buffer.putInt(H_VERSION, VERSION);
+        buffer.putInt(H_PAGE_SIZE, this.pageSize);
+        buffer.putInt(H_ROOT, this.root);
+        buffer.putInt(H_HEIGHT, this.height);
+        buffer.putInt(H_PAGE_COUNT, this.pageCount);
+        buffer.putInt(H_FREE_HEAD, this.freeHead);
+        buffer.putInt(H_FIRST_LEAF, this.firstLeaf);
+        buffer.putLong(H_SIZE, this.size);
+    }
+
+    // grava o cabeçalho e força todas as páginas alteradas para o disco; só então o
+    // cabeçalho volta a ser marcado como limpo
+    public void sync() throws IOException {
+        ensureOpen();
+        if (!this.dirty) return;
+        writeHeader();
+        for (MappedByteBuffer chunk : this.chunks) chunk.force();
+        MappedByteBuffer header = chunk(0);
+        header.putInt(H_DIRTY, 0);
+        header.force(0, this.pageSize);
+        this.dirty = false;
+    }
+
+    // chamado antes de cada alteração: a marca de sujo chega ao disco antes das páginas
+    private void markDirty() {
+        if (this.dirty) return;
+        MappedByteBuffer header = this.chunks.get(0);
+        header.putInt(H_DIRTY, 1);
+        header.force(0, this.pageSize);
+        this.dirty = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!this.channel.isOpen()) return;
+        sync();
+        this.chunks.clear(); // os mapeamentos são liberados pelo GC
+        this.channel.close();
+    }
+
+    private void ensureOpen() {
+        if (!this.channel.isOpen()) throw new IllegalStateException("árvore fechada");
+    }
+
+    // -------------------------------------------------------------------------
+    // PÁGINAS
+    // -------------------------------------------------------------------------
+
+    // pedaço mapeado que contém a página; mapear além do fim do arquivo o estende
+    private MappedByteBuffer chunk(int index) throws IOException {
+        while (this.chunks.size() <= index) {
+            MappedByteBuffer mapped = this.channel.map(FileChannel.MapMode.READ_WRITE,
+                    (long) this.chunks.size() * CHUNK_SIZE, CHUNK_SIZE);
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+            this.chunks.add(mapped);
+        }
+        return this.chunks.get(index);
+    }
+
+    private MappedByteBuffer buffer(int page) {
+        return this.chunks.get(page / this.pagesPerChunk);
+    }
+
+    private int base(int page) {
+        return (page % this.pagesPerChunk) * this.pageSize;
+    }
+
+    // reaproveita uma página da lista de livres ou acrescenta uma no fim do arquivo
+    private int allocatePage(byte type) throws IOException {
+        int page;
+        if (this.freeHead != 0) {
+            page = this.freeHead;
+            this.freeHead = next(page);
+        } else {
+            page = this.pageCount++;
+            chunk(page / this.pagesPerChunk);
+        }
+        MappedByteBuffer buffer = buffer(page);
+        int base = base(page);
+        buffer.put(base + N_TYPE, type);
+        buffer.putShort(base + N_COUNT, (short) 0);
+        buffer.putInt(base + N_NEXT, 0);
+        return page;
+    }
+
+    // devolve a página à lista de livres
+    private void freePage(int page) {
+        setNext(page, this.freeHead);
+        this.freeHead = page;
+    }
+
+    private boolean isLeaf(int page) {
+        return buffer(page).get(base(page) + N_TYPE) == LEAF;
+    }
+
+    private int count(int page) {
+        return buffer(page).getShort(base(page) + N_COUNT);
+    }
+
+    private void setCount(int page, int count) {
+        buffer(page).putShort(base(page) + N_COUNT, (short) count);
+    }
+
+    private int next(int page) {
+        return buffer(page).getInt(base(page) + N_NEXT);
+    }
+
+    private void setNext(int page, int next) {
+        buffer(page).putInt(base(page) + N_NEXT, next);
+    }
+
+    private int key(int page, int index) {
+        return buffer(page).getInt(base(page) + N_KEYS + 4 * index);
+    }
+
+    private void setKey(int page, int index, int key) {
+        buffer(page).putInt(base(page) + N_KEYS + 4 * index, key);
+    }
+
+    private int child(int page, int index) {
+        return buffer(page).getInt(base(page) + this.childrenOffset + 4 * index);
+    }
+
+    private void setChild(int page, int index, int child) {
+        buffer(page).putInt(base(page) + this.childrenOffset + 4 * index, child);
+    }
+
+    // desloca "length" chaves de from para to dentro da mesma página (regiões podem se sobrepor)
+    private void moveKeys(int page, int from, int to, int length) {
+        if (to > from) for (int i = length - 1; i >= 0; i--) setKey(page, to + i, key(page, from + i));
+        else for (int i = 0; i < length; i++) setKey(page, to + i, key(page, from + i));
+    }
+
+    private void moveChildren(int page, int from, int to, int length) {
+        if (to > from) for (int i = length - 1; i >= 0; i--) setChild(page, to + i, child(page, from + i));
+        else for (int i = 0; i < length; i++) setChild(page, to + i, child(page, from + i));
+    }
+
+    // busca binária: posição da chave, ou -(ponto de inserção) - 1 se não existir
+    private int indexOf(int page, int element) {
+        MappedByteBuffer buffer = buffer(page);
+        int keys = base(page) + N_KEYS;
+        int low = 0;
+        int high = buffer.getShort(base(page) + N_COUNT) - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int key = buffer.getInt(keys + 4 * mid);
+            if (key < element) low = mid + 1;
+            else if (key > element) high = mid - 1;
+            else return mid;
+        }
+        return -(low + 1);
+    }
+
+    // índice do filho onde o elemento deve estar (chave igual ao separador fica à direita)
+    private int childIndex(int page, int element) {
+        int index = indexOf(page, element);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    // -------------------------------------------------------------------------
+    // BUSCA
+    // -------------------------------------------------------------------------
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public long size() {
+        return this.size;
+    }
+
+    private int findLeaf(int element) {
+        int page = this.root;
+        for (int level = 0; level < this.height; level++) page = child(page, childIndex(page, element));
+        return page;
+    }
+
+    public boolean search(int element) {
+        ensureOpen();
+        return indexOf(findLeaf(element), element) >= 0;
+    }
+
+    public int min() {
+        ensureOpen();
+        if (isEmpty()) throw new NoSuchElementException("árvore vazia");
+        return key(this.firstLeaf, 0);
+    }
+
+    public int max() {
+        ensureOpen();
+        if (isEmpty()) throw new NoSuchElementException("árvore vazia");
+        int page = this.root;
+        for (int level = 0; level < this.height; level++) page = child(page, count(page)); // sempre o último filho
+        return key(page, count(page) - 1);
+    }
+
+    // -------------------------------------------------------------------------
+    // INSERÇÃO
+    // -------------------------------------------------------------------------
+
+    // insere o elemento; retorna false se ele já existia (a árvore é um conjunto)
+    public boolean add(int element) throws IOException {
+        ensureOpen();
+        markDirty();
+        int result = insert(this.root, element, 0);
+        if (result == DUPLICATE) return false;
+        this.size++;
+
+        if (result == SPLIT) { // a raiz se dividiu: nova raiz com os dois pedaços
+            int newRoot = allocatePage(INTERNAL);
+            setKey(newRoot, 0, this.splitSeparator);
+            setChild(newRoot, 0, this.root);
+            setChild(newRoot, 1, this.splitPage);
+            setCount(newRoot, 1);
+            this.root = newRoot;
+            this.height++;
+        }
+        return true;
+    }
+
+    private int insert(int page, int element, int level) throws IOException {
+        if (level == this.height) {
+            int index = indexOf(page, element);
+            if (index >= 0) return DUPLICATE;
+            int position = -index - 1;
+            int count = count(page);
+
+            if (count < this.maxLeafKeys) {
+                moveKeys(page, position, position + 1, count - position);
+                setKey(page, position, element);
+                setCount(page, count + 1);
+                return ABSORBED;
+            }
+            splitLeaf(page, position, element);
+            return SPLIT;
+        }
+
+        int childIndex = childIndex(page, element);
+        int result = insert(child(page, childIndex), element, level + 1);
+        if (result != SPLIT) return result;
+
+        int count = count(page);
+        if (count < this.maxInternalKeys) {
+            moveKeys(page, childIndex, childIndex + 1, count - childIndex);
+            moveChildren(page, childIndex + 1, childIndex + 2, count - childIndex);
+            setKey(page, childIndex, this.splitSeparator);
+            setChild(page, childIndex + 1, this.splitPage);
+            setCount(page, count + 1);
+            return ABSORBED;
+        }
+        splitInternal(page, childIndex);
+        return SPLIT;
+    }
+
+    // divide uma folha cheia ao meio; a primeira chave da nova folha sobe como separador
+    private void splitLeaf(int page, int position, int element) throws IOException {
+        int total = this.maxLeafKeys + 1;
+        int[] keys = this.scratchKeys;
+        for (int i = 0, j = 0; i < total; i++) keys[i] = i == position ? element : key(page, j++);
+
+        int leftCount = total / 2;
+        int right = allocatePage(LEAF);
+        for (int i = 0; i < leftCount; i++) setKey(page, i, keys[i]);
+        for (int i = leftCount; i < total; i++) setKey(right, i - leftCount, keys[i]);
+        setCount(page, leftCount);
+        setCount(right, total - leftCount);
+
+        setNext(right, next(page)); // encaixa a nova folha no encadeamento
+        setNext(page, right);
+        this.splitSeparator = keys[leftCount];
+        this.splitPage = right;
+    }
+
+    // divide um nó interno cheio; a chave do meio sobe para o pai
+    private void splitInternal(int page, int childIndex) throws IOException {
+        int total = this.maxInternalKeys + 1;
+        int[] keys = this.scratchKeys;
+        int[] children = this.scratchChildren;
+        for (int i = 0, j = 0; i < total; i++) keys[i] = i == childIndex ? this.splitSeparator : key(page, j++);
+        for (int i = 0, j = 0; i <= total; i++) children[i] = i == childIndex + 1 ? this.splitPage : child(page, j++);
+
+        int middle = total / 2;
+        int right = allocatePage(INTERNAL);
+        for (int i = 0; i < middle; i++) setKey(page, i, keys[i]);
+        for (int i = 0; i <= middle; i++) setChild(page, i, children[i]);
+        setCount(page, middle);
+
+        int rightCount = total - middle - 1;
+        for (int i = 0; i < rightCount; i++) setKey(right, i, keys[middle + 1 + i]);
+        for (int i = 0; i <= rightCount; i++) setChild(right, i, children[middle + 1 + i]);
+        setCount(right, rightCount);
+
+        this.splitSeparator = keys[middle];
+        this.splitPage = right;
+    }
+
+    // -------------------------------------------------------------------------
+    // REMOÇÃO
+    // -------------------------------------------------------------------------
+
+    // remove o elemento; retorna false se ele não estava na árvore
+    public boolean remove(int element) {
+        ensureOpen();
+        markDirty();
+        if (!remove(this.root, element, 0)) return false;
+        this.size--;
+
+        if (this.height > 0 && count(this.root) == 0) { // raiz interna vazia: o único filho sobe
+            int oldRoot = this.root;
+            this.root = child(oldRoot, 0);
+            this.height--;
+            freePage(oldRoot);
+        }
+        return true;
+    }
+
+    private boolean remove(int page, int element, int level) {
+        if (level == this.height) {
+            int index = indexOf(page, element);
+            if (index < 0) return false;
+            int count = count(page);
+            moveKeys(page, index + 1, index, count - index - 1);
+            setCount(page, count - 1);
+            return true;
+        }
+
+        int childIndex = childIndex(page, element);
+        int child = child(page, childIndex);
+        if (!remove(child, element, level + 1)) return false;
+
+        boolean leaves = level + 1 == this.height;
+        if (count(child) < (leaves ? this.minLeafKeys : this.minInternalKeys)) {
+            fixUnderflow(page, childIndex, leaves);
+        }
+        return true;
+    }
+
+    // empresta uma chave de um irmão vizinho ou funde o filho com ele
+    private void fixUnderflow(int parent, int childIndex, boolean leaves) {
+        int minimum = leaves ? this.minLeafKeys : this.minInternalKeys;
+        if (childIndex > 0 && count(child(parent, childIndex - 1)) > minimum) {
+            borrowFromLeft(parent, childIndex, leaves);
+        } else if (childIndex < count(parent) && count(child(parent, childIndex + 1)) > minimum) {
+            borrowFromRight(parent, childIndex, leaves);
+        } else {
+            merge(parent, childIndex > 0 ? childIndex - 1 : childIndex, leaves);
+        }
+    }
+
+    private void borrowFromLeft(int parent, int childIndex, boolean leaves) {
+        int left = child(parent, childIndex - 1);
+        int child = child(parent, childIndex);
+        int leftCount = count(left);
+        int count = count(child);
+
+        moveKeys(child, 0, 1, count);
+        if (leaves) {
+            setKey(child, 0, key(left, leftCount - 1));       // a maior chave do irmão passa para o filho
+            setKey(parent, childIndex - 1, key(child, 0));
+        } else {
+            moveChildren(child, 0, 1, count + 1);
+            setKey(child, 0, key(parent, childIndex - 1));    // o separador desce...
+            setChild(child, 0, child(left, leftCount));       // ...com o último filho do irmão
+            setKey(parent, childIndex - 1, key(left, leftCount - 1)); // e a maior chave do irmão sobe
+        }
+        setCount(child, count + 1);
+        setCount(left, leftCount - 1);
+    }
+
+    private void borrowFromRight(int parent, int childIndex, boolean leaves) {
+        int child = child(parent, childIndex);
+        int right = child(parent, childIndex + 1);
+        int rightCount = count(right);
+        int count = count(child);
+
+        if (leaves) {
+            setKey(child, count, key(right, 0));              // a menor chave do irmão passa para o filho
+            moveKeys(right, 1, 0, rightCount - 1);
+            setKey(parent, childIndex, key(right, 0));
+        } else {
+            setKey(child, count, key(parent, childIndex));    // o separador desce...
+            setChild(child, count + 1, child(right, 0));      // ...com o primeiro filho do irmão
+            setKey(parent, childIndex, key(right, 0));        // e a menor chave do irmão sobe
+            moveKeys(right, 1, 0, rightCount - 1);
+            moveChildren(right, 1, 0, rightCount);
+        }
+        setCount(child, count + 1);
+        setCount(right, rightCount - 1);
+    }
+
+    // junta o filho leftIndex + 1 no filho leftIndex, tira o separador do pai e libera a página
+    private void merge(int parent, int leftIndex, boolean leaves) {
+        int left = child(parent, leftIndex);
+        int right = child(parent, leftIndex + 1);
+        int leftCount = count(left);
+        int rightCount = count(right);
+
+        if (leaves) {
+            for (int i = 0; i < rightCount; i++) setKey(left, leftCount + i, key(right, i));
+            setCount(left, leftCount + rightCount);
+            setNext(left, next(right)); // tira a folha direita do encadeamento
+        } else {
+            setKey(left, leftCount, key(parent, leftIndex));
+            for (int i = 0; i < rightCount; i++) setKey(left, leftCount + 1 + i, key(right, i));
+            for (int i = 0; i <= rightCount; i++) setChild(left, leftCount + 1 + i, child(right, i));
+            setCount(left, leftCount + rightCount + 1);
+        }
+
+        int parentCount = count(parent);
+        moveKeys(parent, leftIndex + 1, leftIndex, parentCount - leftIndex - 1);
+        moveChildren(parent, leftIndex + 2, leftIndex + 1, parentCount - leftIndex - 1);
+        setCount(parent, parentCount - 1);
+        freePage(right);
+    }
+
+    // -------------------------------------------------------------------------
+    // PERCURSOS
+    // -------------------------------------------------------------------------
+
+    // entrega ao consumidor as chaves em [from, to), em ordem, seguindo o encadeamento das folhas
+    public void forEachInRange(int from, int to, IntConsumer action) {
+        ensureOpen();
+        if (from >= to) return;
+        int page = findLeaf(from);
+        int index = indexOf(page, from);
+        if (index < 0) index = -index - 1;
+
+        while (page != 0) {
+            int count = count(page);
+            for (; index < count; index++) {
+                int key = key(page, index);
+                if (key >= to) return;
+                action.accept(key);
+            }
+            page = next(page);
+            index = 0;
+        }
+    }
+
+    public ArrayList<Integer> range(int from, int to) {
+        ArrayList<Integer> list = new ArrayList<>();
+        forEachInRange(from, to, list::add);
+        return list;
+    }
+
+    public ArrayList<Integer> inOrder() {
+        ensureOpen();
+        ArrayList<Integer> list = new ArrayList<>();
+        for (int page = this.firstLeaf; page != 0; page = next(page)) {
+            int count = count(page);
+            for (int i = 0; i < count; i++) list.add(key(page, i));
+        }
+        return list;
+    }
+
+    // quantidade de níveis da árvore (1 = só a raiz folha)
+    public int levels() {
+        return this.height + 1;
+    }
+
+    public int pageSize() {
+        return this.pageSize;
+    }
+}
+
+// ═══════════════════════════════════════════════════════════════
+// TESTES
+// ═══════════════════════════════════════════════════════════════
+class PagedBPlusTreeTest {
+
+    static int testsPassed = 0;
+    static int testsFailed = 0;
+
+    static void assertTrue(String testName, boolean condition) {
+        if (condition) {
+            System.out.println("✅ PASSOU: " + testName);
+            testsPassed++;
+        } else {
+            System.out.println("❌ FALHOU: " + testName);
+            testsFailed++;
+        }
+    }
+
+    static void testarContraTreeSetEReabertura() throws IOException {
+        System.out.println("\n--- Operações aleatórias e reabertura ---");
+        Path file = java.nio.file.Files.createTempFile("paged-bptree", ".idx");
+        java.nio.file.Files.delete(file);
+        java.util.TreeSet<Integer> expected = new java.util.TreeSet<>();
+        java.util.Random random = new java.util.Random(5);
+        boolean same = true;
+
+        try (PagedBPlusTree tree = PagedBPlusTree.open(file, 64)) { // páginas pequenas forçam vários níveis
+            for (int i = 0; i < 30000; i++) {
+                int key = random.nextInt(5000);
+                if (random.nextInt(3) == 0) same &= tree.remove(key) == expected.remove(key);
+                else same &= tree.add(key) == expected.add(key);
+            }
+            assertTrue("deve se comportar como TreeSet", same && tree.inOrder().equals(new ArrayList<>(expected)));
+            assertTrue("árvore deve ter vários níveis", tree.levels() > 2);
+        }
+
+        try (PagedBPlusTree tree = PagedBPlusTree.open(file)) {
+            assertTrue("reabrir deve manter o tamanho da página", tree.pageSize() == 64);
+            assertTrue("reabrir deve manter as chaves", tree.inOrder().equals(new ArrayList<>(expected))
+                    && tree.size() == expected.size());
+            assertTrue("min e max após reabrir", tree.min() == expected.first() && tree.max() == expected.last());
+            assertTrue("range após reabrir", tree.range(100, 400).equals(new ArrayList<>(expected.subSet(100, 400))));
+            for (int key : new ArrayList<>(expected)) same &= tree.remove(key);
+            assertTrue("remover tudo deve esvaziar a árvore", same && tree.isEmpty() && tree.levels() == 1);
+        } finally {
+            java.nio.file.Files.deleteIfExists(file);
+        }
+    }
+
+    // grava pageSize no cabeçalho de um índice válido e tenta reabri-lo
+    static boolean rejeitaTamanhoDePagina(int pageSize) throws IOException {
+        Path file = java.nio.file.Files.createTempFile("paged-bptree", ".idx");
+        java.nio.file.Files.delete(file);
+        try {
+            try (PagedBPlusTree tree = PagedBPlusTree.open(file, 64)) {
+                tree.add(1);
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                ByteBuffer value = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(0, pageSize);
+                channel.write(value, 8); // H_PAGE_SIZE: magic, versão, tamanho da página
+            }
+            try {
+                PagedBPlusTree.open(file).close();
+                return false;
+            } catch (IOException e) {
+                return true;
+            }
+        } finally {
+            java.nio.file.Files.deleteIfExists(file);
+        }
+    }
+
+    static void testarCabecalhoCorrompido() throws IOException {
+        System.out.println("\n--- Cabeçalho com tamanho de página corrompido ---");
+        assertTrue("pageSize 0 gera IOException", rejeitaTamanhoDePagina(0));
+        assertTrue("pageSize 100 (não é potência de 2) gera IOException", rejeitaTamanhoDePagina(100));
+        assertTrue("pageSize 32 (pequeno demais) gera IOException", rejeitaTamanhoDePagina(32));
+        assertTrue("pageSize 131072 (grande demais) gera IOException", rejeitaTamanhoDePagina(131072));
+        assertTrue("pageSize negativo gera IOException", rejeitaTamanhoDePagina(-4096));
+    }
+
+    // abre uma cópia do arquivo como ele está agora no page cache, que é o que sobra se o
+    // processo morrer neste ponto
+    static boolean copiaAbre(Path file, java.util.Set<Integer> expected) throws IOException {
+        Path copy = java.nio.file.Files.createTempFile("paged-bptree-copia", ".idx");
+        try {
+            java.nio.file.Files.copy(file, copy, java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+            try (PagedBPlusTree tree = PagedBPlusTree.open(copy)) {
+                return tree.inOrder().equals(new ArrayList<>(expected));
+            } catch (IOException e) {
+                return false;
+            }
+        } finally {
+            java.nio.file.Files.deleteIfExists(copy);
+        }
+    }
+
+    static void testarSemSync() throws IOException {
+        System.out.println("\n--- Arquivo alterado sem sync ---");
+        Path file = java.nio.file.Files.createTempFile("paged-bptree", ".idx");
+        java.nio.file.Files.delete(file);
+        java.util.TreeSet<Integer> expected = new java.util.TreeSet<>();
+        try (PagedBPlusTree tree = PagedBPlusTree.open(file, 64)) {
+            assertTrue("arquivo novo sem sync é recusado", !copiaAbre(file, expected));
+            tree.sync();
+            assertTrue("arquivo novo depois do sync abre vazio", copiaAbre(file, expected));
+            for (int i = 0; i < 2000; i++) {
+                tree.add(i);
+                expected.add(i);
+            }
+            tree.sync();
+            assertTrue("depois do sync a cópia abre com as chaves", copiaAbre(file, expected));
+            for (int i = 2000; i < 4000; i++) tree.add(i); // divisões mudam raiz, altura e páginas
+            for (int i = 0; i < 500; i++) tree.remove(i);
+            assertTrue("alterações sem sync: o open recusa o arquivo em vez de ler o cabeçalho velho",
+                    !copiaAbre(file, expected));
+        }
+        for (int i = 2000; i < 4000; i++) expected.add(i);
+        for (int i = 0; i < 500; i++) expected.remove(i);
+        assertTrue("close deixa o arquivo limpo", copiaAbre(file, expected));
+        java.nio.file.Files.delete(file);
+    }
+
+    public static void main(String[] args) throws IOException {
+        testarContraTreeSetEReabertura();
+        testarCabecalhoCorrompido();
+        testarSemSync();
+
+        System.out.println("\n══════════════════════════════");
+        System.out.println("Total: " + (testsPassed + testsFailed) +
+                " | ✅ " + testsPassed + " | ❌ " + testsFailed);
+    }
+}
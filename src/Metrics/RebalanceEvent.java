@@ -0,0 +1,66 @@
+package Metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+// evento do JFR para um rebalanceamento: a rotação escolhida por AVLpadraoJA.callBestRotation
+// ou a correção completa de RedBlackTree.rebalance (subidas do caso 3 e rotações dos casos
+// 4/5). É desligado por padrão, porque acontece em boa parte das inserções; para procurar
+// cascatas, ligue na gravação ("Trees.Rebalance#enabled=true") e filtre por recolorings
+@Name("Trees.Rebalance")
+@Label("Tree Rebalance")
+@Category({"Trees"})
+@Description("Rebalanceamento após uma inserção: rotações e recolorações")
+@Enabled(false)
+@Threshold("0 ms")
+@StackTrace(false)
+public class RebalanceEvent extends Event {
+
+    // mesmo flag de TreeOperationEvent.start
+    private static final EventType TYPE = EventType.getEventType(RebalanceEvent.class);
+
+    // evento já iniciado, ou null quando nenhuma gravação ativa habilita este tipo
+    public static RebalanceEvent start() {
+        if (!TYPE.isEnabled()) return null;
+        RebalanceEvent event = new RebalanceEvent();
+        event.begin();
+        return event;
+    }
+
+    @Label("Tree")
+    String tree;
+
+    @Label("Key")
+    @Description("Valor do nó onde o rebalanceamento começou")
+    int key;
+
+    @Label("Kind")
+    @Description("LL, LR, RR ou RL; na rubro-negra sem rotação, recolor (caso 3) ou none")
+    String kind;
+
+    @Label("Rotations")
+    @Description("Rotações simples feitas (uma dupla conta duas)")
+    int rotations;
+
+    @Label("Recolorings")
+    @Description("Níveis subidos pelo caso 3 da rubro-negra")
+    int recolorings;
+
+    public void finish(String tree, int key, String kind, int rotations, int recolorings) {
+        end();
+        if (!shouldCommit()) return;
+        this.tree = tree;
+        this.key = key;
+        this.kind = kind;
+        this.rotations = rotations;
+        this.recolorings = recolorings;
+        commit();
+    }
+}
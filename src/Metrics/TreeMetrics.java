@@ -0,0 +1,288 @@
+package Metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+// contadores de trabalho de uma árvore: rotações por tipo, casos 3/4/5 do rebalanceamento
+// da rubro-negra, comparações de chave por operação e histograma da profundidade das
+// descidas. As árvores só chamam estes métodos quando têm um TreeMetrics associado
+// (setMetrics); sem ele, o custo é um teste de null por operação.
+// Os contadores são LongAdder: quase sem disputa quando uma thread escreve, e seguros
+// para leitura concorrente por snapshot() ou pelo JMX enquanto a árvore trabalha
+public class TreeMetrics implements TreeMetricsMBean {
+
+    // LL e RR são rotações simples (à direita e à esquerda); LR e RL, duplas
+    public enum Rotation { LL, LR, RR, RL }
+
+    public enum Operation { INSERT, REMOVE, SEARCH }
+
+    // profundidades a partir daqui caem no último balde do histograma
+    public static final int MAX_DEPTH = 64;
+
+    private final LongAdder[] rotations = adders(Rotation.values().length);
+    private final LongAdder[] recolorCases = adders(3); // casos 3, 4 e 5
+    private final LongAdder[] operations = adders(Operation.values().length);
+    private final LongAdder comparisons = new LongAdder();
+    private final LongAdder[] depthHistogram = adders(MAX_DEPTH + 1);
+    private ObjectName registeredName;
+
+    private static LongAdder[] adders(int count) {
+        LongAdder[] adders = new LongAdder[count];
+        for (int i = 0; i < count; i++) adders[i] = new LongAdder();
+        return adders;
+    }
+
+    // -------------------------------------------------------------------------
+    // REGISTRO (chamado pelas árvores)
+    // -------------------------------------------------------------------------
+
+    public void rotation(Rotation kind) {
+        rotations[kind.ordinal()].increment();
+    }
+
+    // casos da inserção na rubro-negra: 3 = tio vermelho (recolore e sobe),
+    // 4 = tio preto com o nó "dobrado" (rotação no pai), 5 = tio preto em linha (rotação no avô)
+    public void recolorCase(int rbCase) {
+        if (rbCase < 3 || rbCase > 5) throw new IllegalArgumentException("caso de rebalanceamento inválido: " + rbCase);
+        recolorCases[rbCase - 3].increment();
+    }
+
+    // depth = nós visitados na descida; cada nó visitado é uma comparação de chave
+    // (três vias), então o mesmo valor alimenta as comparações e o histograma
+    public void operation(Operation operation, int depth) {
+        operations[operation.ordinal()].increment();
+        comparisons.add(depth);
+        depthHistogram[Math.min(depth, MAX_DEPTH)].increment();
+    }
+
+    // -------------------------------------------------------------------------
+    // LEITURA
+    // -------------------------------------------------------------------------
+
+    // cópia dos contadores; cada contador é lido uma vez, então com escritas em andamento
+    // os campos podem ser de instantes ligeiramente diferentes
+    public Snapshot snapshot() {
+        long[] histogram = new long[depthHistogram.length];
+        for (int i = 0; i < histogram.length; i++) histogram[i] = depthHistogram[i].sum();
+        return new Snapshot(
+                rotations[Rotation.LL.ordinal()].sum(), rotations[Rotation.LR.ordinal()].sum(),
+                rotations[Rotation.RR.ordinal()].sum(), rotations[Rotation.RL.ordinal()].sum(),
+                recolorCases[0].sum(), recolorCases[1].sum(), recolorCases[2].sum(),
+                operations[Operation.INSERT.ordinal()].sum(), operations[Operation.REMOVE.ordinal()].sum(),
+                operations[Operation.SEARCH.ordinal()].sum(), comparisons.sum(), histogram);
+    }
+
+    public record Snapshot(long rotationsLL, long rotationsLR, long rotationsRR, long rotationsRL,
+                           long recolorCase3, long recolorCase4, long recolorCase5,
+                           long inserts, long removes, long searches, long comparisons,
+                           long[] depthHistogram) {
+
+        public long rotations() {
+            return rotationsLL + rotationsLR + rotationsRR + rotationsRL;
+        }
+
+        public long operations() {
+            return inserts + removes + searches;
+        }
+
+        public double comparisonsPerOperation() {
+            long operations = operations();
+            return operations == 0 ? 0 : (double) comparisons / operations;
+        }
+
+        // menor profundidade d tal que pelo menos a fração p das operações visitou <= d nós
+        public int depthPercentile(double p) {
+            if (p < 0 || p > 1) throw new IllegalArgumentException("percentil deve estar em [0, 1]: " + p);
+            long total = 0;
+            for (long count : depthHistogram) total += count;
+            long needed = (long) Math.ceil(p * total);
+            long seen = 0;
+            for (int depth = 0; depth < depthHistogram.length; depth++) {
+                seen += depthHistogram[depth];
+                if (seen >= needed && seen > 0) return depth;
+            }
+            return 0;
+        }
+    }
+
+    @Override
+    public void reset() {
+        for (LongAdder adder : rotations) adder.reset();
+        for (LongAdder adder : recolorCases) adder.reset();
+        for (LongAdder adder : operations) adder.reset();
+        comparisons.reset();
+        for (LongAdder adder : depthHistogram) adder.reset();
+    }
+
+    // -------------------------------------------------------------------------
+    // JMX
+    // -------------------------------------------------------------------------
+
+    // exporta os contadores no MBeanServer da plataforma como
+    // "Trees:type=TreeMetrics,name=<name>"
+    public synchronized ObjectName register(String name) throws JMException {
+        if (registeredName != null) throw new IllegalStateException("já registrado como " + registeredName);
+        ObjectName objectName = new ObjectName("Trees:type=TreeMetrics,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        registeredName = objectName;
+        return objectName;
+    }
+
+    public synchronized void unregister() throws JMException {
+        if (registeredName == null) return;
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        if (server.isRegistered(registeredName)) server.unregisterMBean(registeredName);
+        registeredName = null;
+    }
+
+    @Override
+    public long getRotationsLL() {
+        return rotations[Rotation.LL.ordinal()].sum();
+    }
+
+    @Override
+    public long getRotationsLR() {
+        return rotations[Rotation.LR.ordinal()].sum();
+    }
+
+    @Override
+    public long getRotationsRR() {
+        return rotations[Rotation.RR.ordinal()].sum();
+    }
+
+    @Override
+    public long getRotationsRL() {
+        return rotations[Rotation.RL.ordinal()].sum();
+    }
+
+    @Override
+    public long getRecolorCase3() {
+        return recolorCases[0].sum();
+    }
+
+    @Override
+    public long getRecolorCase4() {
+        return recolorCases[1].sum();
+    }
+
+    @Override
+    public long getRecolorCase5() {
+        return recolorCases[2].sum();
+    }
+
+    @Override
+    public long getInserts() {
+        return operations[Operation.INSERT.ordinal()].sum();
+    }
+
+    @Override
+    public long getRemoves() {
+        return operations[Operation.REMOVE.ordinal()].sum();
+    }
+
+    @Override
+    public long getSearches() {
+        return operations[Operation.SEARCH.ordinal()].sum();
+    }
+
+    @Override
+    public long getComparisons() {
+        return comparisons.sum();
+    }
+
+    @Override
+    public double getComparisonsPerOperation() {
+        return snapshot().comparisonsPerOperation();
+    }
+
+    @Override
+    public long[] getDepthHistogram() {
+        return snapshot().depthHistogram();
+    }
+}
+
+// -------------------------------------------------------------------------
+// TESTES DO TREEMETRICS
+// -------------------------------------------------------------------------
+
+class TreeMetricsTest {
+
+    static int testsPassed = 0;
+    static int testsFailed = 0;
+
+    static void assertTrue(String testName, boolean condition) {
+        if (condition) {
+            System.out.println("✅ PASSOU: " + testName);
+            testsPassed++;
+        } else {
+            System.out.println("❌ FALHOU: " + testName);
+            testsFailed++;
+        }
+    }
+
+    static void testarSnapshot() {
+        System.out.println("\n--- snapshot ---");
+        TreeMetrics metrics = new TreeMetrics();
+        metrics.rotation(TreeMetrics.Rotation.LL);
+        metrics.rotation(TreeMetrics.Rotation.RL);
+        metrics.recolorCase(3);
+        for (int depth = 1; depth <= 10; depth++) metrics.operation(TreeMetrics.Operation.SEARCH, depth);
+        metrics.operation(TreeMetrics.Operation.INSERT, 500);
+
+        TreeMetrics.Snapshot snapshot = metrics.snapshot();
+        assertTrue("rotações por tipo", snapshot.rotationsLL() == 1 && snapshot.rotationsRL() == 1 && snapshot.rotations() == 2);
+        assertTrue("caso 3", snapshot.recolorCase3() == 1 && snapshot.recolorCase4() == 0);
+        assertTrue("comparações por operação", snapshot.comparisons() == 555 && snapshot.comparisonsPerOperation() == 555.0 / 11);
+        assertTrue("profundidade grande cai no último balde", snapshot.depthHistogram()[TreeMetrics.MAX_DEPTH] == 1);
+        assertTrue("percentis", snapshot.depthPercentile(0.5) == 6 && snapshot.depthPercentile(1) == TreeMetrics.MAX_DEPTH);
+
+        boolean thrown = false;
+        try {
+            metrics.recolorCase(2);
+        } catch (IllegalArgumentException e) {
+            thrown = true;
+        }
+        assertTrue("caso inválido lança IllegalArgumentException", thrown);
+
+        metrics.reset();
+        assertTrue("reset zera tudo", metrics.snapshot().operations() == 0 && metrics.snapshot().rotations() == 0);
+    }
+
+    static void testarJMX() throws javax.management.JMException {
+        System.out.println("\n--- JMX ---");
+        TreeMetrics metrics = new TreeMetrics();
+        javax.management.ObjectName name = metrics.register("teste");
+        javax.management.MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        metrics.rotation(TreeMetrics.Rotation.RR);
+        metrics.operation(TreeMetrics.Operation.REMOVE, 4);
+        assertTrue("MBean registrado", server.isRegistered(name));
+        assertTrue("atributo lido pelo MBeanServer", (Long) server.getAttribute(name, "RotationsRR") == 1
+                && (Long) server.getAttribute(name, "Comparisons") == 4);
+        assertTrue("histograma exportado", ((long[]) server.getAttribute(name, "DepthHistogram"))[4] == 1);
+
+        boolean thrown = false;
+        try {
+            metrics.register("outro");
+        } catch (IllegalStateException e) {
+            thrown = true;
+        }
+        assertTrue("registrar duas vezes lança IllegalStateException", thrown);
+
+        server.invoke(name, "reset", null, null);
+        assertTrue("reset via JMX", metrics.getComparisons() == 0);
+        metrics.unregister();
+        assertTrue("MBean removido", !server.isRegistered(name));
+    }
+
+    public static void main(String[] args) throws javax.management.JMException {
+        testarSnapshot();
+        testarJMX();
+
+        System.out.println("\n══════════════════════════════");
+        System.out.println("Total: " + (testsPassed + testsFailed) +
+                " | ✅ " + testsPassed + " | ❌ " + testsFailed);
+    }
+}
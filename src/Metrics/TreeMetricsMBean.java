@@ -0,0 +1,36 @@
+package Metrics;
+
+// interface de gerenciamento exportada por TreeMetrics.register: cada getter vira um
+// atributo somente leitura no JConsole/VisualVM e reset vira uma operação
+public interface TreeMetricsMBean {
+
+    long getRotationsLL();
+
+    long getRotationsLR();
+
+    long getRotationsRR();
+
+    long getRotationsRL();
+
+    long getRecolorCase3();
+
+    long getRecolorCase4();
+
+    long getRecolorCase5();
+
+    long getInserts();
+
+    long getRemoves();
+
+    long getSearches();
+
+    long getComparisons();
+
+    double getComparisonsPerOperation();
+
+    // posição i = quantidade de operações que visitaram i nós; a última posição acumula
+    // as descidas com MAX_DEPTH nós ou mais
+    long[] getDepthHistogram();
+
+    void reset();
+}
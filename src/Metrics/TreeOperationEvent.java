@@ -0,0 +1,175 @@
+package Metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+// evento do JFR para uma inserção ou remoção que demorou mais que o limite (1 ms por
+// padrão; ajustável na configuração da gravação, ex.: "Trees.Operation#threshold=100 us").
+// Uso nas árvores:
+//     TreeOperationEvent event = TreeOperationEvent.start();
+//     ... operação ...
+//     if (event != null) event.finish("AVL", "insert", key, depth, rotations);
+// Sem gravação que habilite o evento, o custo é a leitura de um flag; os campos só são
+// preenchidos quando o evento passou do limite e vai mesmo ser gravado
+@Name("Trees.Operation")
+@Label("Tree Operation")
+@Category({"Trees"})
+@Description("Inserção ou remoção em árvore balanceada acima do limite de duração")
+@Threshold("1 ms")
+@StackTrace(false)
+public class TreeOperationEvent extends Event {
+
+    // consultado antes de criar o evento: sem isso cada operação alocava um evento mesmo
+    // sem gravação, porque o JIT não elimina a alocação nos métodos grandes das árvores
+    private static final EventType TYPE = EventType.getEventType(TreeOperationEvent.class);
+
+    // evento já iniciado, ou null quando nenhuma gravação ativa habilita este tipo
+    public static TreeOperationEvent start() {
+        if (!TYPE.isEnabled()) return null;
+        TreeOperationEvent event = new TreeOperationEvent();
+        event.begin();
+        return event;
+    }
+
+    @Label("Tree")
+    String tree;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Key")
+    int key;
+
+    @Label("Depth")
+    @Description("Nós visitados na descida")
+    int depth;
+
+    @Label("Rotations")
+    @Description("Rotações simples feitas pela operação (uma dupla conta duas), como em Trees.Rebalance")
+    int rotations;
+
+    public void finish(String tree, String operation, int key, int depth, int rotations) {
+        end();
+        if (!shouldCommit()) return;
+        this.tree = tree;
+        this.operation = operation;
+        this.key = key;
+        this.depth = depth;
+        this.rotations = rotations;
+        commit();
+    }
+}
+
+// -------------------------------------------------------------------------
+// TESTES DOS EVENTOS DO JFR
+// -------------------------------------------------------------------------
+
+class TreeEventsTest {
+
+    static int testsPassed = 0;
+    static int testsFailed = 0;
+
+    static void assertTrue(String testName, boolean condition) {
+        if (condition) {
+            System.out.println("✅ PASSOU: " + testName);
+            testsPassed++;
+        } else {
+            System.out.println("❌ FALHOU: " + testName);
+            testsFailed++;
+        }
+    }
+
+    static java.util.List<jdk.jfr.consumer.RecordedEvent> gravar(Runnable work) throws java.io.IOException {
+        java.nio.file.Path file = java.nio.file.Files.createTempFile("trees", ".jfr");
+        try (jdk.jfr.Recording recording = new jdk.jfr.Recording()) {
+            recording.enable("Trees.Operation").withThreshold(java.time.Duration.ZERO);
+            recording.enable("Trees.Rebalance");
+            recording.start();
+            work.run();
+            recording.stop();
+            recording.dump(file);
+            return jdk.jfr.consumer.RecordingFile.readAllEvents(file);
+        } finally {
+            java.nio.file.Files.deleteIfExists(file);
+        }
+    }
+
+    static long contar(java.util.List<jdk.jfr.consumer.RecordedEvent> events, String type, String tree) {
+        return events.stream()
+                .filter(e -> e.getEventType().getName().equals(type) && tree.equals(e.getString("tree")))
+                .count();
+    }
+
+    static void testarEventos() throws java.io.IOException {
+        System.out.println("\n--- eventos do JFR ---");
+        java.util.List<jdk.jfr.consumer.RecordedEvent> events = gravar(() -> {
+            AVL.AVL avl = new AVL.AVL();
+            for (int value = 1; value <= 7; value++) avl.insert(value);
+            avl.remove(4);
+            AVL.AVLpadraoJA padrao = new AVL.AVLpadraoJA(true);
+            for (int value : new int[]{30, 10, 20}) padrao.add(value);
+            RBTree.RedBlackTree rb = new RBTree.RedBlackTree();
+            for (int value = 1; value <= 10; value++) rb.add(value);
+            // 30-10-20: uma rotação dupla em cada árvore
+            AVL.AVL dupla = new AVL.AVL();
+            for (int value : new int[]{30, 10, 20}) dupla.insert(value);
+            RBTree.RedBlackTree rbDupla = new RBTree.RedBlackTree();
+            for (int value : new int[]{30, 10, 20}) rbDupla.add(value);
+        });
+
+        assertTrue("AVL: 10 inserções e 1 remoção", contar(events, "Trees.Operation", "AVL") == 11);
+        assertTrue("AVLpadraoJA: 3 adds e 1 rebalanceamento",
+                contar(events, "Trees.Operation", "AVLpadraoJA") == 3 && contar(events, "Trees.Rebalance", "AVLpadraoJA") == 1);
+        assertTrue("RedBlackTree: um add e um rebalance por inserção fora da raiz",
+                contar(events, "Trees.Operation", "RedBlackTree") == 13 && contar(events, "Trees.Rebalance", "RedBlackTree") == 11);
+
+        jdk.jfr.consumer.RecordedEvent lr = events.stream()
+                .filter(e -> e.getEventType().getName().equals("Trees.Rebalance") && "AVLpadraoJA".equals(e.getString("tree")))
+                .findFirst().orElseThrow();
+        assertTrue("rebalanceamento LR com duas rotações no nó 30",
+                lr.getString("kind").equals("LR") && lr.getInt("rotations") == 2 && lr.getInt("key") == 30);
+
+        jdk.jfr.consumer.RecordedEvent third = events.stream()
+                .filter(e -> e.getEventType().getName().equals("Trees.Operation") && "AVL".equals(e.getString("tree"))
+                        && e.getInt("key") == 3 && e.getString("operation").equals("insert"))
+                .findFirst().orElseThrow();
+        assertTrue("inserção de 3 na AVL: profundidade 2, uma rotação", third.getInt("depth") == 2 && third.getInt("rotations") == 1);
+        assertTrue("duração registrada", !third.getDuration().isNegative());
+
+        // as três árvores contam a rotação dupla de 30-10-20 como duas rotações simples
+        boolean sameUnit = true;
+        for (String tree : new String[]{"AVL", "AVLpadraoJA", "RedBlackTree"}) {
+            sameUnit &= events.stream().anyMatch(e -> e.getEventType().getName().equals("Trees.Operation")
+                    && tree.equals(e.getString("tree")) && e.getInt("key") == 20
+                    && e.getString("operation").equals("insert") && e.getInt("rotations") == 2);
+        }
+        assertTrue("rotação dupla conta duas no Trees.Operation de AVL, AVLpadraoJA e RedBlackTree", sameUnit);
+
+        boolean cascade = events.stream().anyMatch(e -> e.getEventType().getName().equals("Trees.Rebalance")
+                && "RedBlackTree".equals(e.getString("tree")) && e.getInt("recolorings") > 0);
+        assertTrue("rubro-negra registra subidas do caso 3", cascade);
+    }
+
+    static void testarSemGravacao() {
+        System.out.println("\n--- sem gravação ---");
+        TreeOperationEvent event = new TreeOperationEvent();
+        event.begin();
+        event.finish("AVL", "insert", 1, 1, 0);
+        assertTrue("evento sem gravação ativa não é gravado", !event.shouldCommit() && event.tree == null);
+    }
+
+    public static void main(String[] args) throws java.io.IOException {
+        testarEventos();
+        testarSemGravacao();
+
+        System.out.println("\n══════════════════════════════");
+        System.out.println("Total: " + (testsPassed + testsFailed) +
+                " | ✅ " + testsPassed + " | ❌ " + testsFailed);
+    }
+}
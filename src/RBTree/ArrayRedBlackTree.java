@@ -0,0 +1,377 @@
+package RBTree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+// árvore Rubro-Negra com os mesmos algoritmos de RedBlackTree, mas sem um objeto por nó:
+// cada nó é um índice nos vetores paralelos keys/left/right/parent, a cor é um bit em
+// "red" e os índices liberados por remoções voltam para uma lista de livres. São ~16 bytes
+// por chave, e o GC só enxerga meia dúzia de vetores, nunca os nós.
+public class ArrayRedBlackTree {
+    private static final int NIL = 0; // índice 0 é reservado e faz o papel de null
+
+    private int[] keys;
+    private int[] left;
+    private int[] right;
+    private int[] parent;      // na lista de livres, guarda o próximo índice livre
+    private long[] red;        // bit i ligado = nó i vermelho
+
+    private int root = NIL;
+    private int size;          // quantidade de elementos na árvore
+    private int used = 1;      // próximo índice nunca usado (0 é NIL)
+    private int freeHead = NIL;
+
+    public ArrayRedBlackTree() {
+        this(16);
+    }
+
+    public ArrayRedBlackTree(int initialCapacity) {
+        int capacity = Math.max(2, initialCapacity + 1);
+        this.keys = new int[capacity];
+        this.left = new int[capacity];
+        this.right = new int[capacity];
+        this.parent = new int[capacity];
+        this.red = new long[(capacity + 63) >>> 6];
+    }
+
+    public boolean isEmpty() {
+        return this.root == NIL;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    // -------------------------------------------------------------------------
+    // NÓS
+    // -------------------------------------------------------------------------
+
+    private boolean isRed(int node) {
+        return (this.red[node >>> 6] & (1L << node)) != 0; // NIL nunca é vermelho
+    }
+
+    private void setRed(int node, boolean isRed) {
+        if (isRed) this.red[node >>> 6] |= 1L << node;
+        else this.red[node >>> 6] &= ~(1L << node);
+    }
+
+    // pega um índice da lista de livres, ou o próximo nunca usado (crescendo os vetores)
+    private int allocate(int key) {
+        int node;
+        if (this.freeHead != NIL) {
+            node = this.freeHead;
+            this.freeHead = this.parent[node];
+        } else {
+            if (this.used == this.keys.length) grow();
+            node = this.used++;
+        }
+        this.keys[node] = key;
+        this.left[node] = NIL;
+        this.right[node] = NIL;
+        this.parent[node] = NIL;
+        setRed(node, true); // nó novo entra vermelho
+        return node;
+    }
+
+    private void release(int node) {
+        setRed(node, false);
+        this.parent[node] = this.freeHead;
+        this.freeHead = node;
+    }
+
+    private void grow() {
+        int capacity = this.keys.length + (this.keys.length >> 1); // cresce 50%
+        this.keys = Arrays.copyOf(this.keys, capacity);
+        this.left = Arrays.copyOf(this.left, capacity);
+        this.right = Arrays.copyOf(this.right, capacity);
+        this.parent = Arrays.copyOf(this.parent, capacity);
+        this.red = Arrays.copyOf(this.red, (capacity + 63) >>> 6);
+    }
+
+    // -------------------------------------------------------------------------
+    // ROTAÇÕES
+    // -------------------------------------------------------------------------
+
+    private void rotacaoEsquerda(int node) {
+        int newRoot = this.right[node];
+        this.right[node] = this.left[newRoot];
+        if (this.left[newRoot] != NIL) this.parent[this.left[newRoot]] = node;
+        int p = this.parent[node];
+        this.parent[newRoot] = p;
+        if (p == NIL) this.root = newRoot;
+        else if (node == this.left[p]) this.left[p] = newRoot;
+        else this.right[p] = newRoot;
+        this.left[newRoot] = node;
+        this.parent[node] = newRoot;
+    }
+
+    private void rotacaoDireita(int node) {
+        int newRoot = this.left[node];
+        this.left[node] = this.right[newRoot];
+        if (this.right[newRoot] != NIL) this.parent[this.right[newRoot]] = node;
+        int p = this.parent[node];
+        this.parent[newRoot] = p;
+        if (p == NIL) this.root = newRoot;
+        else if (node == this.right[p]) this.right[p] = newRoot;
+        else this.left[p] = newRoot;
+        this.right[newRoot] = node;
+        this.parent[node] = newRoot;
+    }
+
+    // -------------------------------------------------------------------------
+    // INSERÇÃO
+    // -------------------------------------------------------------------------
+
+    // insere um novo elemento (repetidos vão para a direita, como em RedBlackTree)
+    public void add(int element) {
+        this.size++;
+        int newNode = allocate(element);
+
+        if (isEmpty()) {
+            this.root = newNode;
+            setRed(newNode, false); // raiz sempre preta
+            return;
+        }
+
+        int aux = this.root;
+        while (true) {
+            if (element < this.keys[aux]) {
+                if (this.left[aux] == NIL) {
+                    this.left[aux] = newNode;
+                    break;
+                }
+                aux = this.left[aux];
+            } else {
+                if (this.right[aux] == NIL) {
+                    this.right[aux] = newNode;
+                    break;
+                }
+                aux = this.right[aux];
+            }
+        }
+        this.parent[newNode] = aux;
+        rebalance(newNode);
+    }
+
+    // mesmos casos de RedBlackTree.rebalance; o caso 3 sobe em laço em vez de recursão
+    private void rebalance(int node) {
+        while (true) {
+            int p = this.parent[node];
+            if (p == NIL) {                 // caso 1: chegou à raiz
+                setRed(node, false);
+                return;
+            }
+            if (!isRed(p)) return;          // caso 2: pai preto
+
+            int gp = this.parent[p];
+            int uncle = p == this.left[gp] ? this.right[gp] : this.left[gp];
+
+            if (isRed(uncle)) {             // caso 3: pai e tio vermelhos → recolorir e subir
+                setRed(p, false);
+                setRed(uncle, false);
+                setRed(gp, true);
+                node = gp;
+                continue;
+            }
+
+            if (node == this.right[p] && p == this.left[gp]) {         // caso 4: triângulo
+                rotacaoEsquerda(p);
+                node = p;
+            } else if (node == this.left[p] && p == this.right[gp]) {
+                rotacaoDireita(p);
+                node = p;
+            }
+
+            p = this.parent[node];          // caso 5: linha → rotacionar o avô
+            setRed(p, false);
+            setRed(gp, true);
+            if (node == this.left[p]) rotacaoDireita(gp);
+            else rotacaoEsquerda(gp);
+            return;
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // BUSCA
+    // -------------------------------------------------------------------------
+
+    private int find(int element) {
+        int aux = this.root;
+        while (aux != NIL) {
+            int key = this.keys[aux];
+            if (key == element) return aux;
+            aux = element < key ? this.left[aux] : this.right[aux];
+        }
+        return NIL;
+    }
+
+    public boolean search(int element) {
+        return find(element) != NIL;
+    }
+
+    private int minNode(int node) {
+        while (this.left[node] != NIL) node = this.left[node];
+        return node;
+    }
+
+    public int min() {
+        if (isEmpty()) throw new NoSuchElementException("árvore vazia");
+        return this.keys[minNode(this.root)];
+    }
+
+    public int max() {
+        if (isEmpty()) throw new NoSuchElementException("árvore vazia");
+        int node = this.root;
+        while (this.right[node] != NIL) node = this.right[node];
+        return this.keys[node];
+    }
+
+    // -------------------------------------------------------------------------
+    // REMOÇÃO
+    // -------------------------------------------------------------------------
+
+    // remove uma ocorrência do elemento; o índice do nó volta para a lista de livres
+    public boolean remove(int element) {
+        int node = find(element);
+        if (node == NIL) return false;
+        delete(node);
+        return true;
+    }
+
+    // mesmo algoritmo de RedBlackTree.delete
+    private void delete(int node) {
+        this.size--;
+        int child;
+        int childParent;
+        boolean removedRed;
+
+        if (this.left[node] == NIL) {
+            child = this.right[node];
+            childParent = this.parent[node];
+            removedRed = isRed(node);
+            transplant(node, child);
+        } else if (this.right[node] == NIL) {
+            child = this.left[node];
+            childParent = this.parent[node];
+            removedRed = isRed(node);
+            transplant(node, child);
+        } else {
+            int successor = minNode(this.right[node]);
+            removedRed = isRed(successor);
+            child = this.right[successor];
+            if (this.parent[successor] == node) {
+                childParent = successor;
+            } else {
+                childParent = this.parent[successor];
+                transplant(successor, child);
+                this.right[successor] = this.right[node];
+                this.parent[this.right[successor]] = successor;
+            }
+            transplant(node, successor);
+            this.left[successor] = this.left[node];
+            this.parent[this.left[successor]] = successor;
+            setRed(successor, isRed(node));
+        }
+
+        release(node);
+        if (!removedRed) deleteFixup(child, childParent);
+    }
+
+    private void transplant(int node, int replacement) {
+        int p = this.parent[node];
+        if (p == NIL) this.root = replacement;
+        else if (node == this.left[p]) this.left[p] = replacement;
+        else this.right[p] = replacement;
+        if (replacement != NIL) this.parent[replacement] = p;
+    }
+
+    private void deleteFixup(int node, int p) {
+        while (node != this.root && !isRed(node)) {
+            if (node == this.left[p]) {
+                int sibling = this.right[p];
+                if (isRed(sibling)) {
+                    setRed(sibling, false);
+                    setRed(p, true);
+                    rotacaoEsquerda(p);
+                    sibling = this.right[p];
+                }
+                if (!isRed(this.left[sibling]) && !isRed(this.right[sibling])) {
+                    setRed(sibling, true);
+                    node = p;
+                    p = this.parent[node];
+                } else {
+                    if (!isRed(this.right[sibling])) {
+                        setRed(this.left[sibling], false);
+                        setRed(sibling, true);
+                        rotacaoDireita(sibling);
+                        sibling = this.right[p];
+                    }
+                    setRed(sibling, isRed(p));
+                    setRed(p, false);
+                    setRed(this.right[sibling], false);
+                    rotacaoEsquerda(p);
+                    node = this.root;
+                }
+            } else {
+                int sibling = this.left[p];
+                if (isRed(sibling)) {
+                    setRed(sibling, false);
+                    setRed(p, true);
+                    rotacaoDireita(p);
+                    sibling = this.left[p];
+                }
+                if (!isRed(this.left[sibling]) && !isRed(this.right[sibling])) {
+                    setRed(sibling, true);
+                    node = p;
+                    p = this.parent[node];
+                } else {
+                    if (!isRed(this.left[sibling])) {
+                        setRed(this.right[sibling], false);
+                        setRed(sibling, true);
+                        rotacaoEsquerda(sibling);
+                        sibling = this.left[p];
+                    }
+                    setRed(sibling, isRed(p));
+                    setRed(p, false);
+                    setRed(this.left[sibling], false);
+                    rotacaoDireita(p);
+                    node = this.root;
+                }
+            }
+        }
+        if (node != NIL) setRed(node, false);
+    }
+
+    // -------------------------------------------------------------------------
+    // PERCURSOS
+    // -------------------------------------------------------------------------
+
+    public ArrayList<Integer> inOrder() {
+        ArrayList<Integer> list = new ArrayList<>(this.size);
+        inOrder(this.root, list);
+        return list;
+    }
+
+    private void inOrder(int node, ArrayList<Integer> list) {
+        if (node == NIL) return;
+        inOrder(this.left[node], list);
+        list.add(this.keys[node]);
+        inOrder(this.right[node], list);
+    }
+
+    // verifica as propriedades RB (usada pelos testes)
+    boolean checkInvariants() {
+        return !isRed(this.root) && blackHeightIfValid(this.root) != -1;
+    }
+
+    // retorna a altura negra da subárvore ou -1 se alguma propriedade for violada
+    private int blackHeightIfValid(int node) {
+        if (node == NIL) return 1;
+        if (isRed(node) && (isRed(this.left[node]) || isRed(this.right[node]))) return -1;
+        int l = blackHeightIfValid(this.left[node]);
+        int r = blackHeightIfValid(this.right[node]);
+        if (l == -1 || l != r) return -1;
+        return l + (isRed(node) ? 0 : 1);
+    }
+}
@@ -0,0 +1,312 @@
+package RBTree;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.StampedLock;
+
+// fachada thread-safe sobre RedBlackTree com um StampedLock:
+//  - leituras (contains, min, max, range) tentam primeiro o modo otimista: percorrem a
+//    árvore sem travar e depois validam o carimbo; se nenhuma escrita aconteceu no meio,
+//    o resultado vale. Senão repetem uma vez e, por fim, usam a trava de leitura;
+//  - escritas (add, remove, lotes) usam a trava exclusiva e delegam para a árvore.
+// No modo otimista os campos podem estar inconsistentes (rotação pela metade), então os
+// percursos leem cada ponteiro uma única vez para uma variável local, checam nulos e têm
+// limite de passos; qualquer anomalia só invalida a tentativa.
+public class ConcurrentRedBlackTree {
+
+    // mais passos que a altura máxima de uma RB numa descida significa que a leitura
+    // otimista pegou a árvore no meio de uma mudança
+    static final int MAX_DEPTH = RedBlackTree.MAX_DEPTH;
+    static final int OPTIMISTIC_ATTEMPTS = 2;
+
+    private final RedBlackTree tree;
+    private final StampedLock lock = new StampedLock();
+
+    public ConcurrentRedBlackTree() {
+        this(new RedBlackTree());
+    }
+
+    // envolve uma árvore existente (por exemplo, vinda de fromSorted); ela não deve mais
+    // ser usada diretamente
+    public ConcurrentRedBlackTree(RedBlackTree tree) {
+        this.tree = tree;
+    }
+
+    // -------------------------------------------------------------------------
+    // ESCRITA
+    // -------------------------------------------------------------------------
+
+    public void add(int element) {
+        long stamp = lock.writeLock();
+        try {
+            tree.add(element);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public boolean remove(int element) {
+        long stamp = lock.writeLock();
+        try {
+            return tree.remove(element);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void insertAll(int[] elements) {
+        long stamp = lock.writeLock();
+        try {
+            tree.insertAll(elements);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public int removeAll(int[] elements) {
+        long stamp = lock.writeLock();
+        try {
+            return tree.removeAll(elements);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // LEITURA
+    // -------------------------------------------------------------------------
+
+    public boolean contains(int element) {
+        for (int attempt = 0; attempt < OPTIMISTIC_ATTEMPTS; attempt++) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp == 0) break; // há um escritor com a trava: não adianta tentar
+            int steps = 0;
+            Node node = tree.root;
+            while (node != null && steps++ < MAX_DEPTH && node.value != element) {
+                node = element < node.value ? node.left : node.right;
+            }
+            boolean found = node != null && steps <= MAX_DEPTH;
+            if (lock.validate(stamp)) return found;
+        }
+        long stamp = lock.readLock();
+        try {
+            return tree.search(element) != null;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public int min() {
+        for (int attempt = 0; attempt < OPTIMISTIC_ATTEMPTS; attempt++) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp == 0) break;
+            Node node = tree.root;
+            int steps = 0;
+            for (Node left; node != null && (left = node.left) != null && steps++ < MAX_DEPTH; ) node = left;
+            int value = node == null ? 0 : node.value; // lê o valor antes de validar
+            if (lock.validate(stamp) && steps <= MAX_DEPTH) {
+                if (node == null) throw new NoSuchElementException("árvore vazia");
+                return value;
+            }
+        }
+        long stamp = lock.readLock();
+        try {
+            Node node = tree.min();
+            if (node == null) throw new NoSuchElementException("árvore vazia");
+            return node.value;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public int max() {
+        for (int attempt = 0; attempt < OPTIMISTIC_ATTEMPTS; attempt++) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp == 0) break;
+            Node node = tree.root;
+            int steps = 0;
+            for (Node right; node != null && (right = node.right) != null && steps++ < MAX_DEPTH; ) node = right;
+            int value = node == null ? 0 : node.value;
+            if (lock.validate(stamp) && steps <= MAX_DEPTH) {
+                if (node == null) throw new NoSuchElementException("árvore vazia");
+                return value;
+            }
+        }
+        long stamp = lock.readLock();
+        try {
+            Node node = tree.max();
+            if (node == null) throw new NoSuchElementException("árvore vazia");
+            return node.value;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // cópia dos valores em [from, to), em ordem crescente; o chamador recebe um vetor
+    // próprio, então pode percorrê-lo sem segurar trava nenhuma
+    public int[] range(int from, int to) {
+        if (from >= to) return new int[0];
+        for (int attempt = 0; attempt < OPTIMISTIC_ATTEMPTS; attempt++) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp == 0) break;
+            int[] values = optimisticRange(from, to);
+            if (values != null && lock.validate(stamp)) return values;
+        }
+        long stamp = lock.readLock();
+        try {
+            int[] values = new int[16];
+            int count = 0;
+            for (var iterator = tree.iterator(from, to); iterator.hasNext(); ) {
+                if (count == values.length) values = Arrays.copyOf(values, count * 2);
+                values[count++] = iterator.nextInt();
+            }
+            return Arrays.copyOf(values, count);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // mesmo percurso do iterador, mas com orçamento de passos; retorna null se estourar
+    private int[] optimisticRange(int from, int to) {
+        long budget = 2L * (Math.max(tree.size, 0) + MAX_DEPTH); // percurso em ordem visita cada aresta no máximo 2 vezes
+        Node node = tree.root, start = null;
+        while (node != null && budget-- > 0) { // ceiling(from)
+            if (node.value >= from) {
+                start = node;
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        int[] values = new int[16];
+        int count = 0;
+        node = start;
+        while (node != null && node.value < to) {
+            if (count == values.length) {
+                if (count >= tree.size) return null; // mais valores do que a árvore tem: leitura inconsistente
+                values = Arrays.copyOf(values, count * 2);
+            }
+            values[count++] = node.value;
+            // sucessor, como em NodeIterator.successor, contando os passos
+            Node right = node.right;
+            if (right != null) {
+                node = right;
+                for (Node left; (left = node.left) != null && budget-- > 0; ) node = left;
+            } else {
+                Node parent = node.parent;
+                while (parent != null && node == parent.right && budget-- > 0) {
+                    node = parent;
+                    parent = node.parent;
+                }
+                node = parent;
+            }
+            if (budget-- <= 0) return null;
+        }
+        return Arrays.copyOf(values, count);
+    }
+
+    public int size() {
+        long stamp = lock.tryOptimisticRead();
+        int size = tree.size;
+        if (lock.validate(stamp)) return size;
+        stamp = lock.readLock();
+        try {
+            return tree.size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+}
+
+// -------------------------------------------------------------------------
+// TESTES DO CONCURRENTREDBLACKTREE
+// -------------------------------------------------------------------------
+
+class ConcurrentRedBlackTreeTest {
+
+    static int testsPassed = 0;
+    static int testsFailed = 0;
+
+    static void assertTrue(String testName, boolean condition) {
+        if (condition) {
+            System.out.println("✅ PASSOU: " + testName);
+            testsPassed++;
+        } else {
+            System.out.println("❌ FALHOU: " + testName);
+            testsFailed++;
+        }
+    }
+
+    static void testarSequencial() {
+        System.out.println("\n--- operações sequenciais ---");
+        ConcurrentRedBlackTree tree = new ConcurrentRedBlackTree();
+        assertTrue("árvore nova é vazia", tree.isEmpty());
+        boolean thrown = false;
+        try {
+            tree.min();
+        } catch (NoSuchElementException e) {
+            thrown = true;
+        }
+        assertTrue("min de árvore vazia lança NoSuchElementException", thrown);
+
+        for (int value : new int[]{50, 20, 80, 10, 30, 70, 90}) tree.add(value);
+        assertTrue("contains(30)", tree.contains(30));
+        assertTrue("!contains(31)", !tree.contains(31));
+        assertTrue("min = 10 e max = 90", tree.min() == 10 && tree.max() == 90);
+        assertTrue("range [20, 80) = 20 30 50 70", Arrays.equals(tree.range(20, 80), new int[]{20, 30, 50, 70}));
+        assertTrue("remove(50)", tree.remove(50) && !tree.contains(50) && tree.size() == 6);
+    }
+
+    // escritores mexem só nas chaves ímpares; as pares ficam fixas, então toda leitura
+    // delas tem resposta conhecida mesmo no meio das escritas
+    static void testarLeitoresEEscritores() throws InterruptedException {
+        System.out.println("\n--- 4 leitores e 2 escritores ---");
+        int keys = 20000;
+        int[] evens = new int[keys / 2];
+        for (int i = 0; i < evens.length; i++) evens[i] = 2 * i;
+        ConcurrentRedBlackTree tree = new ConcurrentRedBlackTree(RedBlackTree.fromSorted(evens));
+
+        boolean[] wrong = new boolean[1];
+        Thread[] threads = new Thread[6];
+        for (int t = 0; t < threads.length; t++) {
+            final boolean writer = t < 2;
+            final int id = t;
+            threads[t] = new Thread(() -> {
+                java.util.SplittableRandom random = new java.util.SplittableRandom(id);
+                for (int i = 0; i < 200000; i++) {
+                    int odd = 2 * random.nextInt(keys / 2) + 1;
+                    if (writer) {
+                        if ((i & 1) == 0) tree.add(odd);
+                        else tree.remove(odd);
+                    } else {
+                        int even = 2 * random.nextInt(keys / 2);
+                        if (!tree.contains(even) || tree.min() != 0 || tree.max() < keys - 2) wrong[0] = true;
+                        int[] window = tree.range(even, even + 10);
+                        int evensSeen = 0;
+                        for (int value : window) if (value % 2 == 0) evensSeen++;
+                        if (evensSeen != Math.min(5, (keys - even) / 2)) wrong[0] = true;
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) thread.join();
+
+        assertTrue("leitores sempre veem as chaves pares fixas", !wrong[0]);
+        RedBlackTree inner = RedBlackTree.fromSorted(tree.range(Integer.MIN_VALUE, Integer.MAX_VALUE));
+        assertTrue("conteúdo final ordenado e com tamanho coerente", inner.size == tree.size());
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        testarSequencial();
+        testarLeitoresEEscritores();
+
+        System.out.println("\n══════════════════════════════");
+        System.out.println("Total: " + (testsPassed + testsFailed) +
+                " | ✅ " + testsPassed + " | ❌ " + testsFailed);
+    }
+}
@@ -0,0 +1,634 @@
+package RBTree;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+// RedBlackTree durável: cada mutação é aplicada na árvore em memória e anexada a um
+// write-ahead log no diretório da árvore. O log é gravado em commits de grupo: as
+// mutações se acumulam num buffer e um único write + force() leva para o disco tudo
+// que chegou até ali, então o custo do fsync é dividido entre todas as escritas do grupo.
+//  - add/remove/insertAll/removeAll retornam assim que a mutação está no buffer;
+//  - sync() espera até que tudo que foi escrito antes dele esteja no disco. Várias
+//    threads chamando sync() ao mesmo tempo compartilham o mesmo force();
+//  - uma thread de fundo faz o commit de grupo a cada commitIntervalMillis, o que limita
+//    a janela de perda numa queda, e um checkpoint quando o log passa de checkpointBytes.
+//    O checkpoint só segura as escritas enquanto copia as chaves; o save é feito fora do monitor.
+//
+// Arquivos (g = geração):
+//  - checkpoint-g.bin: snapshot (formato de RedBlackTree.save) com o estado até o fim de wal-(g-1);
+//  - wal-g.log: mutações posteriores, em quadros [tamanho][CRC32][registros].
+// No open, o checkpoint mais recente é carregado e os logs de geração >= g são
+// reaplicados em ordem. Um quadro incompleto no fim do último log (queda no meio do
+// write) é descartado e o arquivo é truncado ali.
+public class DurableRedBlackTree implements Closeable {
+
+    static final long DEFAULT_COMMIT_INTERVAL_MILLIS = 5;
+    static final long DEFAULT_CHECKPOINT_BYTES = 64L << 20;
+    // com mais que isso pendente, o próprio escritor faz o commit (contrapressão)
+    static final int GROUP_COMMIT_BYTES = 1 << 20;
+
+    private static final byte ADD = 1;
+    private static final byte REMOVE = 2;
+    private static final byte ADD_ALL = 3;
+    private static final byte REMOVE_ALL = 4;
+    private static final int FRAME_HEADER = 2 * Integer.BYTES;
+
+    private static final Pattern CHECKPOINT = Pattern.compile("checkpoint-(\\d+)\\.bin");
+    private static final Pattern LOG = Pattern.compile("wal-(\\d+)\\.log");
+
+    private final Path directory;
+    private final long checkpointBytes;
+    private final RedBlackTree tree;
+    private final ScheduledExecutorService flusher;
+    private final Object checkpointLock = new Object(); // um checkpoint por vez; não bloqueia as escritas
+
+    // protegidos pelo monitor deste objeto
+    private ByteBuffer pending = ByteBuffer.allocate(4096); // registros ainda não gravados
+    private ByteBuffer spare = ByteBuffer.allocate(4096);   // buffer trocado com pending no commit
+    private long appendedSeq;  // quantidade de mutações anexadas ao buffer
+    private long durableSeq;   // quantidade de mutações já forçadas para o disco
+    private boolean flushing;  // há um líder gravando um grupo fora do monitor
+    private IOException failure; // depois de uma falha de escrita, a árvore para de aceitar mutações
+    private long generation;
+    private FileChannel log;
+    private long logBytes;
+    private long forces;       // quantidade de force() feitos, para os testes
+
+    private DurableRedBlackTree(Path directory, long commitIntervalMillis, long checkpointBytes) throws IOException {
+        this.directory = directory;
+        this.checkpointBytes = checkpointBytes;
+        Files.createDirectories(directory);
+        this.tree = recover();
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "wal-flusher-" + directory.getFileName());
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::background, commitIntervalMillis, commitIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public static DurableRedBlackTree open(Path directory) throws IOException {
+        return open(directory, DEFAULT_COMMIT_INTERVAL_MILLIS, DEFAULT_CHECKPOINT_BYTES);
+    }
+
+    public static DurableRedBlackTree open(Path directory, long commitIntervalMillis, long checkpointBytes) throws IOException {
+        if (commitIntervalMillis <= 0) throw new IllegalArgumentException("intervalo de commit deve ser positivo");
+        if (checkpointBytes <= 0 || checkpointBytes > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("checkpointBytes deve estar entre 1 e 2^31 - 1");
+        return new DurableRedBlackTree(directory, commitIntervalMillis, checkpointBytes);
+    }
+
+    // -------------------------------------------------------------------------
+    // ESCRITA
+    // -------------------------------------------------------------------------
+
+    public void add(int element) throws IOException {
+        boolean full;
+        synchronized (this) {
+            checkOpen();
+            tree.add(element);
+            full = append(ADD, element);
+        }
+        if (full) sync();
+    }
+
+    public boolean remove(int element) throws IOException {
+        boolean full;
+        synchronized (this) {
+            checkOpen();
+            if (!tree.remove(element)) return false; // nada mudou, nada a registrar
+            full = append(REMOVE, element);
+        }
+        if (full) sync();
+        return true;
+    }
+
+    public void insertAll(int[] elements) throws IOException {
+        boolean full;
+        synchronized (this) {
+            checkOpen();
+            checkBatch(elements);
+            tree.insertAll(elements);
+            full = append(ADD_ALL, elements);
+        }
+        if (full) sync();
+    }
+
+    public int removeAll(int[] elements) throws IOException {
+        boolean full;
+        int removed;
+        synchronized (this) {
+            checkOpen();
+            checkBatch(elements);
+            removed = tree.removeAll(elements);
+            if (removed == 0) return 0;
+            full = append(REMOVE_ALL, elements);
+        }
+        if (full) sync();
+        return removed;
+    }
+
+    // rejeita o lote antes de mexer na árvore, para ela nunca ficar com algo fora do log
+    private static void checkBatch(int[] elements) {
+        if (elements.length > (Integer.MAX_VALUE - 2L * GROUP_COMMIT_BYTES) / Integer.BYTES)
+            throw new IllegalArgumentException("lote grande demais para o log: " + elements.length);
+    }
+
+    private boolean append(byte operation, int element) {
+        ensureCapacity(1 + Integer.BYTES);
+        pending.put(operation).putInt(element);
+        appendedSeq++;
+        return pending.position() >= GROUP_COMMIT_BYTES;
+    }
+
+    private boolean append(byte operation, int[] elements) {
+        ensureCapacity(1 + Integer.BYTES * (1L + elements.length));
+        pending.put(operation).putInt(elements.length);
+        for (int element : elements) pending.putInt(element);
+        appendedSeq++;
+        return pending.position() >= GROUP_COMMIT_BYTES;
+    }
+
+    private void ensureCapacity(long bytes) {
+        if (pending.remaining() >= bytes) return;
+        long needed = pending.position() + bytes;
+        ByteBuffer larger = ByteBuffer.allocate((int) Math.min(Integer.MAX_VALUE - FRAME_HEADER,
+                Math.max(needed, 2L * pending.capacity())));
+        pending.flip();
+        larger.put(pending);
+        pending = larger;
+    }
+
+    // -------------------------------------------------------------------------
+    // COMMIT DE GRUPO
+    // -------------------------------------------------------------------------
+
+    // retorna quando todas as mutações feitas antes da chamada estão no disco. A primeira
+    // thread que encontra o log livre vira líder: troca o buffer, grava e força fora do
+    // monitor; as outras esperam e saem juntas quando o grupo delas foi gravado. Mutações
+    // que chegam durante o force entram no próximo grupo
+    public void sync() throws IOException {
+        long target;
+        ByteBuffer batch;
+        long batchSeq;
+        FileChannel channel;
+        synchronized (this) {
+            target = appendedSeq;
+            while (true) {
+                if (failure != null) throw failure;
+                if (durableSeq >= target) return;
+                if (!flushing) break;
+                waitForFlush();
+            }
+            flushing = true;
+            batch = pending;
+            batchSeq = appendedSeq;
+            pending = spare;
+            spare = null;
+            channel = log;
+        }
+        IOException error = null;
+        try {
+            writeFrame(channel, batch);
+        } catch (IOException e) {
+            error = e;
+        }
+        synchronized (this) {
+            flushing = false;
+            batch.clear();
+            spare = batch;
+            if (error != null) failure = error;
+            else durableSeq = batchSeq;
+            notifyAll();
+        }
+        if (error != null) throw error;
+    }
+
+    private void waitForFlush() throws IOException {
+        try {
+            wait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrompido esperando o commit do log", e);
+        }
+    }
+
+    // um quadro por grupo: [tamanho][CRC32 dos registros][registros]. O CRC permite
+    // reconhecer, na recuperação, um quadro gravado pela metade
+    private void writeFrame(FileChannel channel, ByteBuffer batch) throws IOException {
+        batch.flip();
+        if (!batch.hasRemaining()) return;
+        CRC32 crc = new CRC32();
+        crc.update(batch.duplicate());
+        ByteBuffer header = ByteBuffer.allocate(FRAME_HEADER).putInt(batch.remaining()).putInt((int) crc.getValue()).flip();
+        long bytes = header.remaining() + batch.remaining();
+        ByteBuffer[] frame = {header, batch};
+        while (batch.hasRemaining()) channel.write(frame);
+        channel.force(false); // os dados bastam; metadados (mtime) não precisam ir junto
+        synchronized (this) {
+            logBytes += bytes;
+            forces++;
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // CHECKPOINT
+    // -------------------------------------------------------------------------
+
+    // grava o estado atual como checkpoint-(g+1).bin e passa a escrever em wal-(g+1).log;
+    // depois disso os arquivos da geração g não são mais necessários. No monitor ficam só
+    // a troca de log e a cópia das chaves em ordem (toArray, O(n) em memória, 4 bytes por
+    // chave); o save dessa cópia é feito fora dele, então as escritas seguem para wal-(g+1)
+    // enquanto o checkpoint vai para o disco. A ordem dos passos garante que, numa queda em
+    // qualquer ponto, o open ainda encontra um checkpoint e todos os logs posteriores a ele
+    public void checkpoint() throws IOException {
+        synchronized (checkpointLock) {
+            int[] values;
+            long next;
+            synchronized (this) {
+                while (flushing) waitForFlush();
+                checkOpen();
+                if (pending.position() > 0) {
+                    IOException error = null;
+                    try {
+                        writeFrame(log, pending);
+                    } catch (IOException e) {
+                        error = e;
+                    }
+                    pending.clear(); // como no sync: depois de uma falha o que estava no buffer não volta a ser gravado
+                    if (error != null) {
+                        failure = error;
+                        notifyAll();
+                        throw error;
+                    }
+                }
+                durableSeq = appendedSeq;
+                next = generation + 1;
+                FileChannel nextLog = openLog(next);       // 1. novas escritas vão para wal-(g+1)
+                log.close();
+                log = nextLog;
+                logBytes = 0;
+                generation = next;
+                values = tree.toArray();                   //    estado até o fim de wal-g
+            }
+            RedBlackTree.saveSorted(values, checkpointPath(next)); // 2. checkpoint-(g+1)
+            deleteOlderThan(next);                         // 3. checkpoint-g e wal-g ficam obsoletos
+        }
+    }
+
+    private void background() {
+        try {
+            sync();
+            boolean due;
+            synchronized (this) {
+                due = log != null && logBytes >= checkpointBytes;
+            }
+            if (due) checkpoint();
+        } catch (IOException e) {
+            synchronized (this) {
+                if (failure == null && log != null) failure = e;
+            }
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // RECUPERAÇÃO
+    // -------------------------------------------------------------------------
+
+    // carrega o checkpoint mais recente e reaplica os logs de geração >= a dele; o último
+    // log continua aberto para escrita, truncado no último quadro completo
+    private RedBlackTree recover() throws IOException {
+        long checkpointGeneration = -1;
+        ArrayList<Long> logs = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                Matcher matcher = CHECKPOINT.matcher(name);
+                if (matcher.matches()) checkpointGeneration = Math.max(checkpointGeneration, Long.parseLong(matcher.group(1)));
+                matcher = LOG.matcher(name);
+                if (matcher.matches()) logs.add(Long.parseLong(matcher.group(1)));
+            }
+        }
+        long first = Math.max(checkpointGeneration, 0);
+        RedBlackTree recovered = checkpointGeneration >= 0 ? RedBlackTree.load(checkpointPath(checkpointGeneration)) : new RedBlackTree();
+        logs.removeIf(g -> g < first);
+        logs.sort(null);
+        for (int i = 0; i < logs.size(); i++) {
+            if (logs.get(i) != first + i) throw new IOException("log da geração " + (first + i) + " está faltando");
+        }
+
+        generation = logs.isEmpty() ? first : logs.get(logs.size() - 1);
+        for (long g : logs) {
+            long valid = replay(recovered, logPath(g), g == generation);
+            if (g == generation) logBytes = valid;
+        }
+        log = openLog(generation);
+        log.truncate(logBytes); // descarta a cauda rasgada, se houver
+        log.position(logBytes);
+        deleteOlderThan(first);
+        return recovered;
+    }
+
+    // reaplica os quadros de um log; retorna o tamanho da parte válida. Só o último log
+    // pode terminar num quadro incompleto: nos anteriores isso é corrupção
+    private static long replay(RedBlackTree tree, Path path, boolean last) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) throw new IOException("log grande demais: " + path);
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            CRC32 crc = new CRC32();
+            while (data.remaining() >= FRAME_HEADER) {
+                int start = data.position();
+                int length = data.getInt();
+                int checksum = data.getInt();
+                boolean complete = length > 0 && length <= data.remaining();
+                if (complete) {
+                    crc.reset();
+                    crc.update(data.slice(data.position(), length));
+                }
+                if (!complete || (int) crc.getValue() != checksum) {
+                    data.position(start); // volta para o fim do último quadro válido
+                    break;
+                }
+                apply(tree, data.slice(data.position(), length));
+                data.position(data.position() + length);
+            }
+            long valid = data.position();
+            if (valid != size && !last) throw new IOException("log corrompido no meio: " + path);
+            return valid;
+        }
+    }
+
+    private static void apply(RedBlackTree tree, ByteBuffer records) throws IOException {
+        while (records.hasRemaining()) {
+            byte operation = records.get();
+            switch (operation) {
+                case ADD -> tree.add(records.getInt());
+                case REMOVE -> tree.remove(records.getInt());
+                case ADD_ALL, REMOVE_ALL -> {
+                    int[] elements = new int[records.getInt()];
+                    for (int i = 0; i < elements.length; i++) elements[i] = records.getInt();
+                    if (operation == ADD_ALL) tree.insertAll(elements);
+                    else tree.removeAll(elements);
+                }
+                default -> throw new IOException("registro desconhecido no log: " + operation);
+            }
+        }
+    }
+
+    private FileChannel openLog(long g) throws IOException {
+        FileChannel channel = FileChannel.open(logPath(g), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        return channel;
+    }
+
+    private void deleteOlderThan(long g) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                Matcher checkpoint = CHECKPOINT.matcher(name);
+                Matcher wal = LOG.matcher(name);
+                if ((checkpoint.matches() && Long.parseLong(checkpoint.group(1)) < g)
+                        || (wal.matches() && Long.parseLong(wal.group(1)) < g)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private Path checkpointPath(long g) {
+        return directory.resolve("checkpoint-" + g + ".bin");
+    }
+
+    private Path logPath(long g) {
+        return directory.resolve("wal-" + g + ".log");
+    }
+
+    // -------------------------------------------------------------------------
+    // LEITURA
+    // -------------------------------------------------------------------------
+
+    public synchronized boolean contains(int element) {
+        return tree.search(element) != null;
+    }
+
+    public synchronized int size() {
+        return tree.size;
+    }
+
+    public synchronized int[] toArray() {
+        return tree.toArray();
+    }
+
+    synchronized long generation() {
+        return generation;
+    }
+
+    synchronized long forces() {
+        return forces;
+    }
+
+    private void checkOpen() throws IOException {
+        if (failure != null) throw failure;
+        if (log == null) throw new IOException("árvore fechada");
+    }
+
+    // -------------------------------------------------------------------------
+    // ENCERRAMENTO
+    // -------------------------------------------------------------------------
+
+    // grava o que estiver pendente e fecha o log
+    @Override
+    public void close() throws IOException {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            if (log == null) return;
+        }
+        try {
+            sync();
+        } finally {
+            synchronized (this) {
+                log.close();
+                log = null;
+            }
+        }
+    }
+
+    // simula uma queda: fecha o log sem gravar o que ainda está no buffer
+    synchronized void crash() throws IOException {
+        flusher.shutdownNow();
+        while (flushing) waitForFlush();
+        log.close();
+        log = null;
+        pending.clear();
+    }
+}
+
+// -------------------------------------------------------------------------
+// TESTES DO DURABLEREDBLACKTREE
+// -------------------------------------------------------------------------
+
+class DurableRedBlackTreeTest {
+
+    static int testsPassed = 0;
+    static int testsFailed = 0;
+
+    static void assertTrue(String testName, boolean condition) {
+        if (condition) {
+            System.out.println("✅ PASSOU: " + testName);
+            testsPassed++;
+        } else {
+            System.out.println("❌ FALHOU: " + testName);
+            testsFailed++;
+        }
+    }
+
+    static Path diretorio(String name) throws IOException {
+        return Files.createTempDirectory(name);
+    }
+
+    static void apagar(Path directory) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) Files.delete(file);
+        }
+        Files.delete(directory);
+    }
+
+    static void testarReaberturaERecuperacao() throws IOException {
+        System.out.println("\n--- reabertura e queda ---");
+        Path directory = diretorio("durable-rb");
+        java.util.TreeMap<Integer, Integer> expected = new java.util.TreeMap<>();
+        java.util.Random random = new java.util.Random(22);
+        try (DurableRedBlackTree tree = DurableRedBlackTree.open(directory)) {
+            for (int i = 0; i < 20000; i++) {
+                int value = random.nextInt(5000);
+                if (random.nextInt(3) == 0) {
+                    if (tree.remove(value)) expected.merge(value, -1, (a, b) -> a + b == 0 ? null : a + b);
+                } else {
+                    tree.add(value);
+                    expected.merge(value, 1, Integer::sum);
+                }
+            }
+            int[] batch = {1, 2, 3, 4999, 4999};
+            tree.insertAll(batch);
+            for (int value : batch) expected.merge(value, 1, Integer::sum);
+        }
+        int[] expectedArray = expected.entrySet().stream()
+                .flatMapToInt(e -> java.util.stream.IntStream.range(0, e.getValue()).map(i -> e.getKey())).toArray();
+
+        DurableRedBlackTree reopened = DurableRedBlackTree.open(directory);
+        assertTrue("reabrir reconstrói o mesmo conteúdo", Arrays.equals(reopened.toArray(), expectedArray));
+
+        reopened.add(-1);
+        reopened.sync();
+        reopened.add(-2); // não sincronizado: pode se perder na queda
+        reopened.crash();
+
+        // cauda rasgada: quadro começado e não terminado
+        Path log = directory.resolve("wal-" + reopened.generation() + ".log");
+        long before = Files.size(log);
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.allocate(7).putInt(1000).put((byte) 9).flip());
+        }
+        try (DurableRedBlackTree recovered = DurableRedBlackTree.open(directory)) {
+            assertTrue("mutação sincronizada sobrevive à queda", recovered.contains(-1));
+            assertTrue("mutação não sincronizada se perde", !recovered.contains(-2));
+            assertTrue("cauda rasgada é descartada", Files.size(log) == before && recovered.size() == expectedArray.length + 1);
+            recovered.add(-3);
+        }
+        try (DurableRedBlackTree again = DurableRedBlackTree.open(directory)) {
+            assertTrue("log continua utilizável depois do truncamento", again.contains(-3) && again.contains(-1));
+        }
+        apagar(directory);
+    }
+
+    static void testarCheckpoint() throws IOException {
+        System.out.println("\n--- checkpoint ---");
+        Path directory = diretorio("durable-rb-checkpoint");
+        try (DurableRedBlackTree tree = DurableRedBlackTree.open(directory)) {
+            for (int i = 0; i < 1000; i++) tree.add(i);
+            tree.checkpoint();
+            assertTrue("checkpoint troca de geração", tree.generation() == 1
+                    && Files.exists(directory.resolve("checkpoint-1.bin")) && !Files.exists(directory.resolve("wal-0.log")));
+            for (int i = 1000; i < 1500; i++) tree.add(i);
+            tree.removeAll(new int[]{0, 1, 2});
+        }
+        try (DurableRedBlackTree tree = DurableRedBlackTree.open(directory)) {
+            assertTrue("checkpoint + log reaplicado", tree.size() == 1497 && !tree.contains(0) && tree.contains(1499));
+        }
+
+        // checkpoint automático quando o log passa do limite
+        try (DurableRedBlackTree tree = DurableRedBlackTree.open(directory, 1, 4096)) {
+            for (int i = 0; i < 5000; i++) tree.add(10000 + i);
+            tree.sync();
+            long deadline = System.currentTimeMillis() + 5000;
+            while (tree.generation() == 1 && System.currentTimeMillis() < deadline) Thread.onSpinWait();
+            assertTrue("thread de fundo faz checkpoint automático", tree.generation() > 1);
+        }
+        try (DurableRedBlackTree tree = DurableRedBlackTree.open(directory)) {
+            assertTrue("conteúdo preservado depois do checkpoint automático", tree.size() == 6497 && tree.contains(14999));
+        }
+        apagar(directory);
+    }
+
+    static void testarCommitDeGrupo() throws IOException, InterruptedException {
+        System.out.println("\n--- commit de grupo ---");
+        Path directory = diretorio("durable-rb-group");
+        int perThread = 2000;
+        try (DurableRedBlackTree tree = DurableRedBlackTree.open(directory)) {
+            Thread[] threads = new Thread[4];
+            boolean[] failed = new boolean[1];
+            for (int t = 0; t < threads.length; t++) {
+                final int id = t;
+                threads[t] = new Thread(() -> {
+                    try {
+                        for (int i = 0; i < perThread; i++) {
+                            tree.add(id * perThread + i);
+                            tree.sync(); // cada escrita espera estar no disco
+                        }
+                    } catch (IOException e) {
+                        failed[0] = true;
+                    }
+                });
+                threads[t].start();
+            }
+            for (Thread thread : threads) thread.join();
+            assertTrue("todas as escritas concluídas", !failed[0] && tree.size() == 4 * perThread);
+            assertTrue("forces < escritas (grupos compartilham o fsync)", tree.forces() < 4L * perThread);
+        }
+        try (DurableRedBlackTree tree = DurableRedBlackTree.open(directory)) {
+            assertTrue("todas as escritas sincronizadas sobrevivem", tree.size() == 4 * perThread);
+        }
+        apagar(directory);
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        testarReaberturaERecuperacao();
+        testarCheckpoint();
+        testarCommitDeGrupo();
+
+        System.out.println("\n══════════════════════════════");
+        System.out.println("Total: " + (testsPassed + testsFailed) +
+                " | ✅ " + testsPassed + " | ❌ " + testsFailed);
+    }
+}
@@ -0,0 +1,259 @@
+package RBTree;
+
+import java.util.ConcurrentModificationException;
+
+// estrutura Rubro-Negra compartilhada pelos mapas de chave int (IntLongRBMap,
+// IntObjectRBMap): mesmas rotações, inserção e remoção da RedBlackTree, mas as
+// chaves são únicas e cada subclasse guarda o valor como campo primitivo da entrada
+abstract class IntKeyedRBTree<E extends IntKeyedRBTree.Entry<E>> {
+    E root;       // entrada raiz
+    int size;     // quantidade de chaves
+    int modCount; // alterações estruturais (detecta modificação durante computeIfAbsent)
+
+    private E insertParent;      // posição onde a última chave não encontrada deveria entrar
+    private boolean insertLeft;
+
+    // nó base: a subclasse acrescenta o campo de valor
+    abstract static class Entry<E extends Entry<E>> {
+        final int key;
+        E left;
+        E right;
+        E parent;
+        boolean isRed = true; // entradas novas entram vermelhas
+
+        Entry(int key) {
+            this.key = key;
+        }
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.root == null;
+    }
+
+    public boolean containsKey(int key) {
+        return find(key) != null;
+    }
+
+    // busca iterativa pela entrada da chave
+    E find(int key) {
+        E aux = this.root;
+        while (aux != null) {
+            if (key < aux.key) aux = aux.left;
+            else if (key > aux.key) aux = aux.right;
+            else return aux;
+        }
+        return null;
+    }
+
+    // como find, mas guarda onde a chave deveria entrar para que attach não desça de novo
+    E locate(int key) {
+        E parent = null;
+        E aux = this.root;
+        boolean left = false;
+        while (aux != null) {
+            parent = aux;
+            if (key < aux.key) {
+                aux = aux.left;
+                left = true;
+            } else if (key > aux.key) {
+                aux = aux.right;
+                left = false;
+            } else {
+                return aux;
+            }
+        }
+        this.insertParent = parent;
+        this.insertLeft = left;
+        return null;
+    }
+
+    // liga a entrada na posição encontrada pelo último locate e rebalanceia;
+    // expectedModCount é o modCount lido antes do locate
+    void attach(E entry, int expectedModCount) {
+        if (this.modCount != expectedModCount) throw new ConcurrentModificationException();
+        this.modCount++;
+        this.size++;
+
+        E parent = this.insertParent;
+        this.insertParent = null;
+        entry.parent = parent;
+        if (parent == null) this.root = entry;
+        else if (this.insertLeft) parent.left = entry;
+        else parent.right = entry;
+        rebalance(entry);
+    }
+
+    private void rotateLeft(E node) {
+        E newRoot = node.right;
+        node.right = newRoot.left;
+        if (newRoot.left != null) newRoot.left.parent = node;
+        newRoot.parent = node.parent;
+        if (node.parent == null) this.root = newRoot;
+        else if (node == node.parent.left) node.parent.left = newRoot;
+        else node.parent.right = newRoot;
+        newRoot.left = node;
+        node.parent = newRoot;
+    }
+
+    private void rotateRight(E node) {
+        E newRoot = node.left;
+        node.left = newRoot.right;
+        if (newRoot.right != null) newRoot.right.parent = node;
+        newRoot.parent = node.parent;
+        if (node.parent == null) this.root = newRoot;
+        else if (node == node.parent.right) node.parent.right = newRoot;
+        else node.parent.left = newRoot;
+        newRoot.right = node;
+        node.parent = newRoot;
+    }
+
+    // mesmos casos 1-5 de RedBlackTree.rebalance, de forma iterativa
+    private void rebalance(E node) {
+        while (node.parent != null && node.parent.isRed) {
+            E parent = node.parent;
+            E gp = parent.parent; // pai vermelho nunca é raiz, então o avô existe
+            E uncle = parent == gp.left ? gp.right : gp.left;
+
+            if (uncle != null && uncle.isRed) { // caso 3: recolore e sobe
+                parent.isRed = false;
+                uncle.isRed = false;
+                gp.isRed = true;
+                node = gp;
+                continue;
+            }
+            if (node == parent.right && parent == gp.left) {        // caso 4: triângulo
+                rotateLeft(parent);
+                node = parent;
+            } else if (node == parent.left && parent == gp.right) {
+                rotateRight(parent);
+                node = parent;
+            }
+            node.parent.isRed = false;                               // caso 5: linha
+            gp.isRed = true;
+            if (node == node.parent.left) rotateRight(gp);
+            else rotateLeft(gp);
+        }
+        this.root.isRed = false; // caso 1: raiz sempre preta
+    }
+
+    // retira a entrada da árvore (mesmo algoritmo de RedBlackTree.delete)
+    void delete(E node) {
+        this.modCount++;
+        this.size--;
+        E child;
+        E childParent;
+        boolean removedRed;
+
+        if (node.left == null) {
+            child = node.right;
+            childParent = node.parent;
+            removedRed = node.isRed;
+            transplant(node, node.right);
+        } else if (node.right == null) {
+            child = node.left;
+            childParent = node.parent;
+            removedRed = node.isRed;
+            transplant(node, node.left);
+        } else {
+            E successor = node.right;
+            while (successor.left != null) successor = successor.left;
+            removedRed = successor.isRed;
+            child = successor.right;
+            if (successor.parent == node) {
+                childParent = successor;
+            } else {
+                childParent = successor.parent;
+                transplant(successor, successor.right);
+                successor.right = node.right;
+                successor.right.parent = successor;
+            }
+            transplant(node, successor);
+            successor.left = node.left;
+            successor.left.parent = successor;
+            successor.isRed = node.isRed;
+        }
+        node.left = null;
+        node.right = null;
+        node.parent = null;
+        if (!removedRed) deleteFixup(child, childParent);
+    }
+
+    private void transplant(E node, E replacement) {
+        if (node.parent == null) this.root = replacement;
+        else if (node == node.parent.left) node.parent.left = replacement;
+        else node.parent.right = replacement;
+        if (replacement != null) replacement.parent = node.parent;
+    }
+
+    private static boolean isRed(Entry<?> node) {
+        return node != null && node.isRed;
+    }
+
+    private void deleteFixup(E node, E parent) {
+        while (node != this.root && !isRed(node)) {
+            if (node == parent.left) {
+                E sibling = parent.right;
+                if (isRed(sibling)) {
+                    sibling.isRed = false;
+                    parent.isRed = true;
+                    rotateLeft(parent);
+                    sibling = parent.right;
+                }
+                if (!isRed(sibling.left) && !isRed(sibling.right)) {
+                    sibling.isRed = true;
+                    node = parent;
+                    parent = node.parent;
+                } else {
+                    if (!isRed(sibling.right)) {
+                        sibling.left.isRed = false;
+                        sibling.isRed = true;
+                        rotateRight(sibling);
+                        sibling = parent.right;
+                    }
+                    sibling.isRed = parent.isRed;
+                    parent.isRed = false;
+                    sibling.right.isRed = false;
+                    rotateLeft(parent);
+                    node = this.root;
+                }
+            } else {
+                E sibling = parent.left;
+                if (isRed(sibling)) {
+                    sibling.isRed = false;
+                    parent.isRed = true;
+                    rotateRight(parent);
+                    sibling = parent.left;
+                }
+                if (!isRed(sibling.left) && !isRed(sibling.right)) {
+                    sibling.isRed = true;
+                    node = parent;
+                    parent = node.parent;
+                } else {
+                    if (!isRed(sibling.left)) {
+                        sibling.right.isRed = false;
+                        sibling.isRed = true;
+                        rotateLeft(sibling);
+                        sibling = parent.left;
+                    }
+                    sibling.isRed = parent.isRed;
+                    parent.isRed = false;
+                    sibling.left.isRed = false;
+                    rotateRight(parent);
+                    node = this.root;
+                }
+            }
+        }
+        if (node != null) node.isRed = false;
+    }
+
+    // remove todas as chaves
+    public void clear() {
+        this.modCount++;
+        this.root = null;
+        this.size = 0;
+    }
+}
@@ -0,0 +1,73 @@
+package RBTree;
+
+import java.util.function.IntToLongFunction;
+
+// mapa int -> long sobre árvore Rubro-Negra; chave e valor ficam em campos primitivos
+// da entrada, então nenhuma operação faz boxing. Chaves ausentes retornam noEntryValue.
+public class IntLongRBMap extends IntKeyedRBTree<IntLongRBMap.LongEntry> {
+    private final long noEntryValue;
+
+    static final class LongEntry extends IntKeyedRBTree.Entry<LongEntry> {
+        long value;
+
+        LongEntry(int key, long value) {
+            super(key);
+            this.value = value;
+        }
+    }
+
+    public IntLongRBMap() {
+        this(0L);
+    }
+
+    // noEntryValue é o valor devolvido por get/put/remove quando a chave não existe
+    public IntLongRBMap(long noEntryValue) {
+        this.noEntryValue = noEntryValue;
+    }
+
+    public long noEntryValue() {
+        return this.noEntryValue;
+    }
+
+    public long get(int key) {
+        LongEntry entry = find(key);
+        return entry == null ? this.noEntryValue : entry.value;
+    }
+
+    public long getOrDefault(int key, long defaultValue) {
+        LongEntry entry = find(key);
+        return entry == null ? defaultValue : entry.value;
+    }
+
+    // associa o valor à chave; retorna o valor anterior ou noEntryValue
+    public long put(int key, long value) {
+        int expected = this.modCount;
+        LongEntry entry = locate(key);
+        if (entry != null) {
+            long previous = entry.value;
+            entry.value = value;
+            return previous;
+        }
+        attach(new LongEntry(key, value), expected);
+        return this.noEntryValue;
+    }
+
+    // retorna o valor da chave; se ausente, calcula, insere e retorna o novo valor
+    // (uma única descida; a função não pode alterar este mapa)
+    public long computeIfAbsent(int key, IntToLongFunction mappingFunction) {
+        int expected = this.modCount;
+        LongEntry entry = locate(key);
+        if (entry != null) return entry.value;
+        long value = mappingFunction.applyAsLong(key);
+        attach(new LongEntry(key, value), expected);
+        return value;
+    }
+
+    // remove a chave; retorna o valor removido ou noEntryValue
+    public long remove(int key) {
+        LongEntry entry = find(key);
+        if (entry == null) return this.noEntryValue;
+        delete(entry);
+        return entry.value;
+    }
+}
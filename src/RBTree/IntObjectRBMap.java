@@ -0,0 +1,60 @@
+package RBTree;
+
+import java.util.function.IntFunction;
+
+// mapa int -> V sobre árvore Rubro-Negra; a chave fica num campo int da entrada,
+// então nenhuma operação faz boxing da chave. Chaves ausentes retornam null.
+public class IntObjectRBMap<V> extends IntKeyedRBTree<IntObjectRBMap.ObjectEntry<V>> {
+
+    static final class ObjectEntry<V> extends IntKeyedRBTree.Entry<ObjectEntry<V>> {
+        V value;
+
+        ObjectEntry(int key, V value) {
+            super(key);
+            this.value = value;
+        }
+    }
+
+    public V get(int key) {
+        ObjectEntry<V> entry = find(key);
+        return entry == null ? null : entry.value;
+    }
+
+    public V getOrDefault(int key, V defaultValue) {
+        ObjectEntry<V> entry = find(key);
+        return entry == null ? defaultValue : entry.value;
+    }
+
+    // associa o valor à chave; retorna o valor anterior ou null
+    public V put(int key, V value) {
+        int expected = this.modCount;
+        ObjectEntry<V> entry = locate(key);
+        if (entry != null) {
+            V previous = entry.value;
+            entry.value = value;
+            return previous;
+        }
+        attach(new ObjectEntry<>(key, value), expected);
+        return null;
+    }
+
+    // retorna o valor da chave; se ausente, calcula e insere (resultado null não é inserido)
+    public V computeIfAbsent(int key, IntFunction<? extends V> mappingFunction) {
+        int expected = this.modCount;
+        ObjectEntry<V> entry = locate(key);
+        if (entry != null && entry.value != null) return entry.value;
+        V value = mappingFunction.apply(key);
+        if (value == null) return null;
+        if (entry != null) entry.value = value; // chave presente associada a null
+        else attach(new ObjectEntry<>(key, value), expected);
+        return value;
+    }
+
+    // remove a chave; retorna o valor removido ou null
+    public V remove(int key) {
+        ObjectEntry<V> entry = find(key);
+        if (entry == null) return null;
+        delete(entry);
+        return entry.value;
+    }
+}
@@ -0,0 +1,43 @@
+package RBTree;
+
+// nó da RedBlackTree, também percorrido pelos iteradores, pelo spliterator e pela
+// fachada concorrente do pacote
+class Node {
+    int value;
+    Node left;
+    Node right;
+    Node parent;
+    boolean isRed;
+    // estatísticas da subárvore, mantidas pela RedBlackTree; os três bytes cabem no
+    // preenchimento que o objeto já tinha (32 bytes com ponteiros comprimidos)
+    byte height = 1;  // nós no caminho mais longo até uma folha, contando este
+    byte blackHeight; // nós pretos num caminho até uma folha (igual em todos), contando este
+    byte redHeight;   // maior quantidade de vermelhos num caminho até uma folha
+
+    public Node(int value, boolean isRed) {
+        this.value = value;
+        this.isRed = isRed;
+        this.blackHeight = (byte) (isRed ? 0 : 1);
+        this.redHeight = (byte) (isRed ? 1 : 0);
+    }
+
+    public boolean isRed() {
+        return this.isRed;
+    }
+
+    public boolean isLeaf() {
+        return this.left == null && this.right == null;
+    }
+
+    public boolean hasOnlyLeftChild() {
+        return this.left != null && this.right == null;
+    }
+
+    public boolean hasOnlyRightChild() {
+        return this.left == null && this.right != null;
+    }
+
+    public String toString() {
+        return this.value + "";
+    }
+}
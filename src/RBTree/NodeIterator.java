@@ -0,0 +1,59 @@
+package RBTree;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+// iterador preguiçoso sobre os valores da árvore, nos limites [from, to): guarda só o
+// próximo nó e anda até o sucessor (ou antecessor) pelos ponteiros de pai, O(1)
+// amortizado por passo. Alterar a árvore durante a iteração invalida o iterador.
+final class NodeIterator implements PrimitiveIterator.OfInt {
+
+    private Node next;
+    private final long from;          // limite inferior inclusivo (long para representar "sem limite")
+    private final long to;            // limite superior exclusivo
+    private final boolean descending;
+
+    // start é o primeiro nó no sentido da iteração (ou null se não houver nenhum)
+    NodeIterator(Node start, long from, long to, boolean descending) {
+        this.next = start;
+        this.from = from;
+        this.to = to;
+        this.descending = descending;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) return false;
+        return descending ? next.value >= from : next.value < to; // a ordem é monotônica: basta checar o outro limite
+    }
+
+    @Override
+    public int nextInt() {
+        if (!hasNext()) throw new NoSuchElementException();
+        Node node = next;
+        next = descending ? predecessor(node) : successor(node);
+        return node.value;
+    }
+
+    // menor nó da subárvore direita ou, se não houver, o primeiro ancestral alcançado pela esquerda
+    static Node successor(Node node) {
+        if (node.right != null) {
+            node = node.right;
+            while (node.left != null) node = node.left;
+            return node;
+        }
+        while (node.parent != null && node == node.parent.right) node = node.parent;
+        return node.parent;
+    }
+
+    // espelho de successor
+    static Node predecessor(Node node) {
+        if (node.left != null) {
+            node = node.left;
+            while (node.right != null) node = node.right;
+            return node;
+        }
+        while (node.parent != null && node == node.parent.left) node = node.parent;
+        return node.parent;
+    }
+}
@@ -0,0 +1,106 @@
+package RBTree;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+
+// Spliterator sobre os valores em ordem, que divide pela estrutura da própria árvore.
+// O estado (head, sub) representa o intervalo em ordem que vai de head até o último nó da
+// subárvore sub, sendo head o menor nó de sub ou o nó imediatamente antes dela. Dividir
+// entrega o prefixo (head, sub.left) e fica com (sub, sub.right): nenhuma cópia, O(1).
+// A árvore não pode ser alterada enquanto o stream estiver em uso.
+final class NodeSpliterator implements Spliterator.OfInt {
+
+    private Node head;        // próximo nó a entregar (null = acabou)
+    private Node sub;         // subárvore cujo último nó fecha o intervalo
+    private Node last;        // último nó do intervalo, calculado na primeira travessia
+    private long estimate;    // exato enquanto SIZED, senão metade do pai
+    private int characteristics;
+    private boolean started;  // depois da primeira travessia head sai da borda e não dá mais para dividir
+
+    NodeSpliterator(Node root, int size) {
+        this(root == null ? null : leftmost(root), root, size,
+                Spliterator.ORDERED | Spliterator.SORTED | Spliterator.NONNULL | Spliterator.SIZED);
+    }
+
+    private NodeSpliterator(Node head, Node sub, long estimate, int characteristics) {
+        this.head = head;
+        this.sub = sub;
+        this.estimate = estimate;
+        this.characteristics = characteristics;
+    }
+
+    @Override
+    public OfInt trySplit() {
+        if (started || sub == null) return null;
+        // sem filho esquerdo, o intervalo é {head} mais a subárvore direita: se head é o
+        // próprio sub, descer para a direita não muda o intervalo
+        while (sub.left == null) {
+            if (head != sub || sub.right == null) return null;
+            sub = sub.right;
+        }
+        // a RB não guarda tamanhos de subárvore: só a raiz é SIZED (por isso não há
+        // SUBSIZED) e as partes passam a ser estimativas
+        long half = estimate >>> 1;
+        int split = characteristics & ~Spliterator.SIZED;
+        NodeSpliterator prefix = new NodeSpliterator(head, sub.left, half, split);
+        head = sub;
+        sub = sub.right;
+        estimate -= half;
+        characteristics = split;
+        return prefix;
+    }
+
+    @Override
+    public boolean tryAdvance(IntConsumer action) {
+        if (head == null) return false;
+        start();
+        Node node = head;
+        head = node == last ? null : NodeIterator.successor(node);
+        action.accept(node.value);
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(IntConsumer action) {
+        if (head == null) return;
+        start();
+        Node node = head, end = last;
+        head = null;
+        while (true) {
+            action.accept(node.value);
+            if (node == end) return;
+            node = NodeIterator.successor(node);
+        }
+    }
+
+    private void start() {
+        if (started) return;
+        started = true;
+        last = head;               // intervalo {head} quando sub é null
+        if (sub != null) {
+            last = sub;
+            while (last.right != null) last = last.right;
+        }
+    }
+
+    private static Node leftmost(Node node) {
+        while (node.left != null) node = node.left;
+        return node;
+    }
+
+    @Override
+    public long estimateSize() {
+        return head == null ? 0 : estimate;
+    }
+
+    @Override
+    public int characteristics() {
+        return characteristics;
+    }
+
+    @Override
+    public Comparator<? super Integer> getComparator() {
+        return null; // ordem natural dos int
+    }
+}
@@ -0,0 +1,551 @@
+package RBTree;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.ArrayList;
+import java.util.NoSuchElementException;
+
+// árvore Rubro-Negra cujos nós vivem fora do heap, num MemorySegment alocado por um
+// Arena (API de memória externa, JDK 22+): o coletor nunca percorre os nós, então um
+// índice de vários GB não aumenta as pausas. Mesmo layout e algoritmos de
+// ArrayRedBlackTree, com índices de nó multiplicados pelo tamanho do registro.
+// A memória é liberada de forma determinística em close(); depois disso qualquer
+// método público lança IllegalStateException. Não é thread-safe, mas o segmento é de
+// um arena compartilhado, então a árvore pode ser passada entre threads.
+// Compilação: java.lang.foreign é final a partir do JDK 22; no JDK 21 ainda é preview,
+// então lá este arquivo só compila e roda com --release 21 --enable-preview (javac e java).
+public class OffHeapRedBlackTree implements AutoCloseable {
+    private static final int NIL = 0;             // registro 0 é reservado e faz o papel de null
+
+    // registro de um nó: [key][left][right][parent][red], 5 ints
+    private static final long KEY = 0;
+    private static final long LEFT = 4;
+    private static final long RIGHT = 8;
+    private static final long PARENT = 12;        // na lista de livres, guarda o próximo registro livre
+    private static final long RED = 16;
+    private static final long NODE_BYTES = 20;
+
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT;
+
+    private Arena arena;
+    private MemorySegment nodes;
+    private long capacity;     // quantidade de registros que cabem no segmento
+    private int root = NIL;
+    private int size;
+    private int used = 1;      // próximo registro nunca usado (0 é NIL)
+    private int freeHead = NIL;
+
+    public OffHeapRedBlackTree() {
+        this(1024);
+    }
+
+    public OffHeapRedBlackTree(int initialCapacity) {
+        this.capacity = Math.max(2, initialCapacity + 1L);
+        this.arena = Arena.ofShared();
+        this.nodes = this.arena.allocate(this.capacity * NODE_BYTES, Integer.BYTES);
+    }
+
+    // libera toda a memória externa da árvore
+    @Override
+    public void close() {
+        if (this.arena == null) return;
+        this.arena.close();
+        this.arena = null;
+        this.nodes = null;
+        this.root = NIL;
+        this.size = 0;
+    }
+
+    public boolean isEmpty() {
+        ensureOpen();
+        return this.root == NIL;
+    }
+
+    public int size() {
+        ensureOpen();
+        return this.size;
+    }
+
+    // bytes de memória externa reservados pela árvore
+    public long reservedBytes() {
+        ensureOpen();
+        return this.capacity * NODE_BYTES;
+    }
+
+    // sem esta checagem, depois de close() add lançaria NullPointerException e as buscas
+    // responderiam como se a árvore estivesse vazia
+    private void ensureOpen() {
+        if (this.arena == null) throw new IllegalStateException("árvore já foi fechada");
+    }
+
+    // -------------------------------------------------------------------------
+    // REGISTROS
+    // -------------------------------------------------------------------------
+
+    private int get(int node, long field) {
+        return this.nodes.get(INT, node * NODE_BYTES + field);
+    }
+
+    private void set(int node, long field, int value) {
+        this.nodes.set(INT, node * NODE_BYTES + field, value);
+    }
+
+    private int key(int node) { return get(node, KEY); }
+    private int left(int node) { return get(node, LEFT); }
+    private int right(int node) { return get(node, RIGHT); }
+    private int parent(int node) { return get(node, PARENT); }
+    private boolean isRed(int node) { return node != NIL && get(node, RED) != 0; }
+
+    private void setLeft(int node, int value) { set(node, LEFT, value); }
+    private void setRight(int node, int value) { set(node, RIGHT, value); }
+    private void setParent(int node, int value) { set(node, PARENT, value); }
+    private void setRed(int node, boolean red) { set(node, RED, red ? 1 : 0); }
+
+    private int allocate(int key) {
+        int node;
+        if (this.freeHead != NIL) {
+            node = this.freeHead;
+            this.freeHead = parent(node);
+        } else {
+            if (this.used == this.capacity) grow();
+            node = this.used++;
+        }
+        set(node, KEY, key);
+        setLeft(node, NIL);
+        setRight(node, NIL);
+        setParent(node, NIL);
+        setRed(node, true); // nó novo entra vermelho
+        return node;
+    }
+
+    private void release(int node) {
+        setParent(node, this.freeHead);
+        this.freeHead = node;
+    }
+
+    // dobra o segmento: aloca um novo arena, copia os registros e fecha o antigo
+    private void grow() {
+        long newCapacity = Math.min(this.capacity * 2, Integer.MAX_VALUE);
+        if (newCapacity == this.capacity) throw new IllegalStateException("capacidade máxima atingida");
+        Arena newArena = Arena.ofShared();
+        MemorySegment newNodes = newArena.allocate(newCapacity * NODE_BYTES, Integer.BYTES);
+        MemorySegment.copy(this.nodes, 0, newNodes, 0, this.used * NODE_BYTES);
+        this.arena.close();
+        this.arena = newArena;
+        this.nodes = newNodes;
+        this.capacity = newCapacity;
+    }
+
+    // -------------------------------------------------------------------------
+    // ROTAÇÕES
+    // -------------------------------------------------------------------------
+
+    private void rotacaoEsquerda(int node) {
+        int newRoot = right(node);
+        int moved = left(newRoot);
+        setRight(node, moved);
+        if (moved != NIL) setParent(moved, node);
+        int p = parent(node);
+        setParent(newRoot, p);
+        if (p == NIL) this.root = newRoot;
+        else if (node == left(p)) setLeft(p, newRoot);
+        else setRight(p, newRoot);
+        setLeft(newRoot, node);
+        setParent(node, newRoot);
+    }
+
+    private void rotacaoDireita(int node) {
+        int newRoot = left(node);
+        int moved = right(newRoot);
+        setLeft(node, moved);
+        if (moved != NIL) setParent(moved, node);
+        int p = parent(node);
+        setParent(newRoot, p);
+        if (p == NIL) this.root = newRoot;
+        else if (node == right(p)) setRight(p, newRoot);
+        else setLeft(p, newRoot);
+        setRight(newRoot, node);
+        setParent(node, newRoot);
+    }
+
+    // -------------------------------------------------------------------------
+    // INSERÇÃO
+    // -------------------------------------------------------------------------
+
+    public void add(int element) {
+        ensureOpen();
+        this.size++;
+        int newNode = allocate(element);
+
+        if (this.root == NIL) {
+            this.root = newNode;
+            setRed(newNode, false);
+            return;
+        }
+
+        int aux = this.root;
+        while (true) {
+            if (element < key(aux)) {
+                if (left(aux) == NIL) {
+                    setLeft(aux, newNode);
+                    break;
+                }
+                aux = left(aux);
+            } else {
+                if (right(aux) == NIL) {
+                    setRight(aux, newNode);
+                    break;
+                }
+                aux = right(aux);
+            }
+        }
+        setParent(newNode, aux);
+        rebalance(newNode);
+    }
+
+    private void rebalance(int node) {
+        while (true) {
+            int p = parent(node);
+            if (p == NIL) {                 // caso 1
+                setRed(node, false);
+                return;
+            }
+            if (!isRed(p)) return;          // caso 2
+
+            int gp = parent(p);
+            int uncle = p == left(gp) ? right(gp) : left(gp);
+
+            if (isRed(uncle)) {             // caso 3
+                setRed(p, false);
+                setRed(uncle, false);
+                setRed(gp, true);
+                node = gp;
+                continue;
+            }
+
+            if (node == right(p) && p == left(gp)) {         // caso 4
+                rotacaoEsquerda(p);
+                node = p;
+            } else if (node == left(p) && p == right(gp)) {
+                rotacaoDireita(p);
+                node = p;
+            }
+
+            p = parent(node);               // caso 5
+            setRed(p, false);
+            setRed(gp, true);
+            if (node == left(p)) rotacaoDireita(gp);
+            else rotacaoEsquerda(gp);
+            return;
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // BUSCA
+    // -------------------------------------------------------------------------
+
+    private int find(int element) {
+        int aux = this.root;
+        while (aux != NIL) {
+            int key = key(aux);
+            if (key == element) return aux;
+            aux = element < key ? left(aux) : right(aux);
+        }
+        return NIL;
+    }
+
+    public boolean search(int element) {
+        ensureOpen();
+        return find(element) != NIL;
+    }
+
+    private int minNode(int node) {
+        while (left(node) != NIL) node = left(node);
+        return node;
+    }
+
+    public int min() {
+        ensureOpen();
+        if (this.root == NIL) throw new NoSuchElementException("árvore vazia");
+        return key(minNode(this.root));
+    }
+
+    public int max() {
+        ensureOpen();
+        if (this.root == NIL) throw new NoSuchElementException("árvore vazia");
+        int node = this.root;
+        while (right(node) != NIL) node = right(node);
+        return key(node);
+    }
+
+    // -------------------------------------------------------------------------
+    // REMOÇÃO
+    // -------------------------------------------------------------------------
+
+    // remove uma ocorrência do elemento; o registro volta para a lista de livres
+    public boolean remove(int element) {
+        ensureOpen();
+        int node = find(element);
+        if (node == NIL) return false;
+        delete(node);
+        return true;
+    }
+
+    private void delete(int node) {
+        this.size--;
+        int child;
+        int childParent;
+        boolean removedRed;
+
+        if (left(node) == NIL) {
+            child = right(node);
+            childParent = parent(node);
+            removedRed = isRed(node);
+            transplant(node, child);
+        } else if (right(node) == NIL) {
+            child = left(node);
+            childParent = parent(node);
+            removedRed = isRed(node);
+            transplant(node, child);
+        } else {
+            int successor = minNode(right(node));
+            removedRed = isRed(successor);
+            child = right(successor);
+            if (parent(successor) == node) {
+                childParent = successor;
+            } else {
+                childParent = parent(successor);
+                transplant(successor, child);
+                setRight(successor, right(node));
+                setParent(right(successor), successor);
+            }
+            transplant(node, successor);
+            setLeft(successor, left(node));
+            setParent(left(successor), successor);
+            setRed(successor, isRed(node));
+        }
+
+        release(node);
+        if (!removedRed) deleteFixup(child, childParent);
+    }
+
+    private void transplant(int node, int replacement) {
+        int p = parent(node);
+        if (p == NIL) this.root = replacement;
+        else if (node == left(p)) setLeft(p, replacement);
+        else setRight(p, replacement);
+        if (replacement != NIL) setParent(replacement, p);
+    }
+
+    private void deleteFixup(int node, int p) {
+        while (node != this.root && !isRed(node)) {
+            if (node == left(p)) {
+                int sibling = right(p);
+                if (isRed(sibling)) {
+                    setRed(sibling, false);
+                    setRed(p, true);
+                    rotacaoEsquerda(p);
+                    sibling = right(p);
+                }
+                if (!isRed(left(sibling)) && !isRed(right(sibling))) {
+                    setRed(sibling, true);
+                    node = p;
+                    p = parent(node);
+                } else {
+                    if (!isRed(right(sibling))) {
+                        setRed(left(sibling), false);
+                        setRed(sibling, true);
+                        rotacaoDireita(sibling);
+                        sibling = right(p);
+                    }
+                    setRed(sibling, isRed(p));
+                    setRed(p, false);
+                    setRed(right(sibling), false);
+                    rotacaoEsquerda(p);
+                    node = this.root;
+                }
+            } else {
+                int sibling = left(p);
+                if (isRed(sibling)) {
+                    setRed(sibling, false);
+                    setRed(p, true);
+                    rotacaoDireita(p);
+                    sibling = left(p);
+                }
+                if (!isRed(left(sibling)) && !isRed(right(sibling))) {
+                    setRed(sibling, true);
+                    node = p;
+                    p = parent(node);
+                } else {
+                    if (!isRed(left(sibling))) {
+                        setRed(right(sibling), false);
+                        setRed(sibling, true);
+                        rotacaoEsquerda(sibling);
+                        sibling = left(p);
+                    }
+                    setRed(sibling, isRed(p));
+                    setRed(p, false);
+                    setRed(left(sibling), false);
+                    rotacaoDireita(p);
+                    node = this.root;
+                }
+            }
+        }
+        if (node != NIL) setRed(node, false);
+    }
+
+    // -------------------------------------------------------------------------
+    // PERCURSOS
+    // -------------------------------------------------------------------------
+
+    public ArrayList<Integer> inOrder() {
+        ensureOpen();
+        ArrayList<Integer> list = new ArrayList<>(this.size);
+        inOrder(this.root, list);
+        return list;
+    }
+
+    private void inOrder(int node, ArrayList<Integer> list) {
+        if (node == NIL) return;
+        inOrder(left(node), list);
+        list.add(key(node));
+        inOrder(right(node), list);
+    }
+
+    // verifica as propriedades RB e os ponteiros de pai (usada pelos testes)
+    boolean checkInvariants() {
+        ensureOpen();
+        return !isRed(this.root) && (this.root == NIL || parent(this.root) == NIL)
+                && blackHeightIfValid(this.root) != -1;
+    }
+
+    // retorna a altura negra da subárvore ou -1 se alguma propriedade for violada
+    private int blackHeightIfValid(int node) {
+        if (node == NIL) return 1;
+        int l = left(node), r = right(node);
+        if (isRed(node) && (isRed(l) || isRed(r))) return -1;
+        if ((l != NIL && parent(l) != node) || (r != NIL && parent(r) != node)) return -1;
+        int lh = blackHeightIfValid(l);
+        int rh = blackHeightIfValid(r);
+        if (lh == -1 || lh != rh) return -1;
+        return lh + (isRed(node) ? 0 : 1);
+    }
+}
+
+// -------------------------------------------------------------------------
+// TESTES DO OFFHEAPREDBLACKTREE
+// -------------------------------------------------------------------------
+
+class OffHeapRedBlackTreeTest {
+
+    static int testsPassed = 0;
+    static int testsFailed = 0;
+
+    static void assertEquals(String testName, Object expected, Object actual) {
+        if (expected.equals(actual)) {
+            System.out.println("✅ PASSOU: " + testName);
+            testsPassed++;
+        } else {
+            System.out.println("❌ FALHOU: " + testName +
+                    " | esperado: " + expected + " | obtido: " + actual);
+            testsFailed++;
+        }
+    }
+
+    static void assertTrue(String testName, boolean condition) {
+        if (condition) {
+            System.out.println("✅ PASSOU: " + testName);
+            testsPassed++;
+        } else {
+            System.out.println("❌ FALHOU: " + testName);
+            testsFailed++;
+        }
+    }
+
+    // mesma carga de testarArrayRedBlackTree, conferida contra uma lista de referência
+    static void testarContraLista() {
+        System.out.println("\n--- operações aleatórias contra lista de referência ---");
+        try (OffHeapRedBlackTree tree = new OffHeapRedBlackTree(4)) { // capacidade pequena força crescimento
+            long initial = tree.reservedBytes();
+            java.util.ArrayList<Integer> expected = new java.util.ArrayList<>();
+            java.util.Random random = new java.util.Random(9);
+            boolean same = true, valid = true;
+            for (int i = 0; i < 20000; i++) {
+                int key = random.nextInt(500);
+                if (random.nextInt(3) == 0) {
+                    same &= tree.remove(key) == expected.remove((Integer) key);
+                } else {
+                    tree.add(key);
+                    expected.add(key);
+                }
+                same &= tree.search(key) == expected.contains(key);
+                if (i % 500 == 0) valid &= tree.checkInvariants();
+            }
+            java.util.Collections.sort(expected);
+            assertTrue("add/remove/search batem com a lista", same);
+            assertTrue("propriedades RB e pais valem durante a carga", valid && tree.checkInvariants());
+            assertTrue("inOrder igual à lista ordenada", tree.inOrder().equals(expected));
+            assertEquals("size deve bater", expected.size(), tree.size());
+            assertEquals("min deve bater", expected.get(0), tree.min());
+            assertEquals("max deve bater", expected.get(expected.size() - 1), tree.max());
+            assertTrue("segmento cresceu a partir da capacidade 4", initial == 5 * 20 && tree.reservedBytes() > initial);
+
+            long reserved = tree.reservedBytes();
+            for (int key : expected) same &= tree.remove(key);
+            assertTrue("remover tudo esvazia a árvore", same && tree.isEmpty() && tree.size() == 0 && tree.checkInvariants());
+            for (int key : expected) tree.add(key);
+            assertTrue("registros liberados são reaproveitados sem crescer", tree.reservedBytes() == reserved
+                    && tree.inOrder().equals(expected) && tree.checkInvariants());
+        }
+    }
+
+    static void testarArvoreVazia() {
+        System.out.println("\n--- árvore vazia ---");
+        try (OffHeapRedBlackTree tree = new OffHeapRedBlackTree()) {
+            boolean thrown = false;
+            try {
+                tree.min();
+            } catch (java.util.NoSuchElementException e) {
+                thrown = true;
+            }
+            assertTrue("min de árvore vazia lança NoSuchElementException", thrown);
+            assertTrue("search e remove em árvore vazia", !tree.search(1) && !tree.remove(1) && tree.inOrder().isEmpty());
+        }
+    }
+
+    // executa a operação e diz se ela lançou IllegalStateException
+    static boolean lancaFechada(Runnable operation) {
+        try {
+            operation.run();
+            return false;
+        } catch (IllegalStateException e) {
+            return true;
+        }
+    }
+
+    static void testarClose() {
+        System.out.println("\n--- close ---");
+        OffHeapRedBlackTree tree = new OffHeapRedBlackTree(4);
+        for (int i = 0; i < 100; i++) tree.add(i);
+        tree.close();
+        assertTrue("add depois de close", lancaFechada(() -> tree.add(1)));
+        assertTrue("search depois de close", lancaFechada(() -> tree.search(1)));
+        assertTrue("remove depois de close", lancaFechada(() -> tree.remove(1)));
+        assertTrue("min e max depois de close", lancaFechada(tree::min) && lancaFechada(tree::max));
+        assertTrue("inOrder depois de close", lancaFechada(tree::inOrder));
+        assertTrue("size, isEmpty e reservedBytes depois de close",
+                lancaFechada(tree::size) && lancaFechada(tree::isEmpty) && lancaFechada(tree::reservedBytes));
+        assertTrue("close de novo não faz nada", !lancaFechada(tree::close));
+    }
+
+    public static void main(String[] args) {
+        testarContraLista();
+        testarArvoreVazia();
+        testarClose();
+
+        System.out.println("\n══════════════════════════════");
+        System.out.println("Total: " + (testsPassed + testsFailed) +
+                " | ✅ " + testsPassed + " | ❌ " + testsFailed);
+    }
+}
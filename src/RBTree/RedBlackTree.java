@@ -1,8 +1,45 @@
 package RBTree;
+import Metrics.RebalanceEvent;
+import Metrics.TreeMetrics;
+import Metrics.TreeOperationEvent;
+import Snapshot.SnapshotReader;
+import Snapshot.SnapshotWriter;
+
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
 public class RedBlackTree {
+
+    // uma RB com n <= 2^31 nós tem altura <= 2 log2(n + 1) <= 64: nenhuma descida válida
+    // passa disso (limite do snapshot e das leituras otimistas de ConcurrentRedBlackTree)
+    static final int MAX_DEPTH = 64;
+
     Node root; // nó raiz da árvore
     int size;  // quantidade de elementos na árvore
+    int redCount; // quantidade de nós vermelhos, mantida a cada troca de cor
+    private TreeMetrics metrics; // null = métricas desligadas
+
+    // passa a registrar os casos 3/4/5 da inserção, as rotações da inserção e da remoção
+    // (LL/LR/RR/RL, como na AVL) e as comparações de add, remove e search; null desliga
+    public void setMetrics(TreeMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public TreeMetrics getMetrics() {
+        return metrics;
+    }
+
+    // quantidade de elementos, O(1)
+    public int size() {
+        return size;
+    }
 
     // verifica se a árvore está vazia checando se a raiz é nula
     public boolean isEmpty() {
@@ -66,17 +103,23 @@ public class RedBlackTree {
 
     // insere um novo elemento na árvore
     public void add(int element) {
+        TreeOperationEvent event = TreeOperationEvent.start(); // null quando o JFR não está gravando este evento
         this.size++;                                // incrementa o contador de elementos
         Node newNode = new Node(element, true);     // cria o nó novo já marcado como vermelho
 
         if (isEmpty()) {                // caso especial: árvore vazia
             this.root = newNode;        // o novo nó vira a raiz
             this.root.isRed = false;    // raiz deve ser sempre preta (regra RB)
+            recompute(this.root);
+            if (metrics != null) metrics.operation(TreeMetrics.Operation.INSERT, 0);
+            if (event != null) event.finish("RedBlackTree", "insert", element, 0, 0);
             return;
         }
 
         Node aux = this.root;           // começa a busca pela posição correta a partir da raiz
+        int depth = 0;                  // nós visitados (só usado pelas métricas)
         while (aux != null) {
+            depth++;
             if (element < aux.value) {      // se o valor é menor, vai para a esquerda
                 if (aux.left == null) {         // encontrou a posição vazia
                     aux.left = newNode;             // insere à esquerda
@@ -93,61 +136,659 @@ public class RedBlackTree {
                 aux = aux.right;            // continua descendo à direita
             }
         }
-        rebalance(newNode); // após a inserção, corrige possíveis violações das regras RB
+        if (metrics != null) metrics.operation(TreeMetrics.Operation.INSERT, depth);
+        redCount++;
+        int rotations = rebalance(newNode); // após a inserção, corrige possíveis violações das regras RB
+        if (event != null) event.finish("RedBlackTree", "insert", element, depth, rotations);
     }
 
-    // corrige as violações das propriedades da árvore Rubro-Negra após uma inserção
-    private void rebalance(Node node) {
-        if (node.parent == null) {  // caso 1: o nó chegou à raiz
-            node.isRed = false;     // raiz deve ser preta
-            return;
-        }
-        if (!node.parent.isRed()) return; // caso 2: pai é preto, nenhuma violação, pode parar
+    // corrige as violações das propriedades da árvore Rubro-Negra após uma inserção;
+    // retorna quantas rotações simples foram feitas (0, 1 ou 2).
+    // Estatísticas dos nós: a subárvore de "node" está sempre com os valores certos e só os
+    // ancestrais estão desatualizados; cada caso recalcula os nós que mexeu, de baixo para
+    // cima, e no fim fixUpward sobe até o primeiro ancestral que não mudou
+    private int rebalance(Node node) {
+        RebalanceEvent event = RebalanceEvent.start(); // desligado por padrão no JFR
+        int key = node.value;
+        int recolorings = 0; // subidas do caso 3 (uma cascata longa aparece aqui)
 
-        Node uncle = uncle(node);   // busca o tio para decidir qual caso aplicar
-        Node gp = grandparent(node);// busca o avô
+        // o caso 3 sobe para o avô e recomeça a verificação; o laço faz o papel da chamada
+        // recursiva sobre o avô
+        while (true) {
+            if (node.parent == null) {  // caso 1: o nó chegou à raiz
+                setRed(node, false);    // raiz deve ser preta
+                recompute(node);
+                if (event != null) event.finish("RedBlackTree", key, recolorings > 0 ? "recolor" : "none", 0, recolorings);
+                return 0;
+            }
+            if (!node.parent.isRed()) { // caso 2: pai é preto, nenhuma violação, pode parar
+                fixUpward(node.parent);
+                if (event != null) event.finish("RedBlackTree", key, recolorings > 0 ? "recolor" : "none", 0, recolorings);
+                return 0;
+            }
 
-        // caso 3: pai e tio são vermelhos → recolorir
-        if (uncle != null && uncle.isRed()) {
-            node.parent.isRed = false;  // pai vira preto
-            uncle.isRed = false;        // tio vira preto
-            gp.isRed = true;            // avô vira vermelho
-            rebalance(gp);              // verifica recursivamente se o avô gerou nova violação
-            return;
+            Node uncle = uncle(node);   // busca o tio para decidir qual caso aplicar
+            Node gp = grandparent(node);// busca o avô
+
+            // caso 3: pai e tio são vermelhos → recolorir
+            if (uncle != null && uncle.isRed()) {
+                setRed(node.parent, false); // pai vira preto
+                setRed(uncle, false);       // tio vira preto
+                setRed(gp, true);           // avô vira vermelho
+                recompute(uncle);
+                recompute(node.parent);
+                recompute(gp);
+                if (metrics != null) metrics.recolorCase(3);
+                recolorings++;
+                node = gp;                  // verifica se o avô gerou nova violação
+                continue;
+            }
+            break;
         }
+        Node gp = grandparent(node);
 
         // caso 4: tio é preto e o nó está "dobrado" (triângulo) → rotacionar o pai para alinhar
+        boolean bent = (node == node.parent.right) == (node.parent == gp.left);
+        if (metrics != null && bent) metrics.recolorCase(4);
         if (node == node.parent.right && node.parent == gp.left) {
             // nó está à direita e pai está à esquerda: rotaciona o pai para a esquerda
             rotacaoEsquerda(node.parent);
             node = node.left; // após a rotação, desce para referenciar o nó correto
+            recompute(node);  // o antigo pai desceu; o nó que subiu é recalculado no caso 5
         } else if (node == node.parent.left && node.parent == gp.right) {
             // nó está à esquerda e pai está à direita: rotaciona o pai para a direita
             rotacaoDireita(node.parent);
             node = node.right; // após a rotação, desce para referenciar o nó correto
+            recompute(node);
         }
 
         // caso 5: tio é preto e o nó está alinhado (linha) → rotacionar o avô
         gp = grandparent(node);         // recalcula o avô (pode ter mudado após rotação do caso 4)
-        node.parent.isRed = false;      // pai vira preto
-        gp.isRed = true;                // avô vira vermelho
+        Node parent = node.parent;
+        setRed(parent, false);          // pai vira preto
+        setRed(gp, true);               // avô vira vermelho
+        boolean left = node == parent.left; // lado do avô em que o pai ficou
+        TreeMetrics.Rotation kind = bent ? (left ? TreeMetrics.Rotation.LR : TreeMetrics.Rotation.RL)
+                                         : (left ? TreeMetrics.Rotation.LL : TreeMetrics.Rotation.RR);
+        if (metrics != null) {
+            metrics.recolorCase(5);
+            metrics.rotation(kind);
+        }
 
-        if (node == node.parent.left) { // se o nó está à esquerda, rotaciona o avô para a direita
+        if (left) {                     // se o nó está à esquerda, rotaciona o avô para a direita
             rotacaoDireita(gp);
         } else {                        // se o nó está à direita, rotaciona o avô para a esquerda
             rotacaoEsquerda(gp);
         }
+        recompute(gp);                  // o avô desceu e virou filho do pai
+        recompute(parent);
+        fixUpward(parent.parent);
+        int rotations = bent ? 2 : 1;
+        if (event != null) event.finish("RedBlackTree", key, kind.name(), rotations, recolorings);
+        return rotations;
+    }
+
+    // remove uma ocorrência do elemento; retorna false se ele não estava na árvore
+    public boolean remove(int element) {
+        Node node = find(element, TreeMetrics.Operation.REMOVE); // localiza o nó a ser removido
+        if (node == null) return false;
+        delete(node);
+        return true;
+    }
+
+    // remove e retorna o nó com o menor valor (null se a árvore estiver vazia)
+    public Node pollFirst() {
+        if (isEmpty()) return null;
+        Node node = min(this.root);
+        delete(node);
+        return node;
+    }
+
+    // remove e retorna o nó com o maior valor (null se a árvore estiver vazia)
+    public Node pollLast() {
+        if (isEmpty()) return null;
+        Node node = max(this.root);
+        delete(node);
+        return node;
+    }
+
+    // retira o nó da árvore religando os ponteiros (o próprio nó sai, sem cópia de valores)
+    // e corrige as cores; no máximo três rotações por remoção
+    private void delete(Node node) {
+        this.size--;                // decrementa o contador de elementos
+        Node child;                 // nó que ocupa a posição que ficou vaga (pode ser null)
+        Node childParent;           // pai dessa posição, necessário quando child é null
+        boolean removedRed;         // cor do nó que efetivamente saiu da sua posição
+
+        if (node.left == null) {            // sem filho esquerdo: o filho direito sobe
+            child = node.right;
+            childParent = node.parent;
+            removedRed = node.isRed;
+            transplant(node, node.right);
+        } else if (node.right == null) {    // sem filho direito: o filho esquerdo sobe
+            child = node.left;
+            childParent = node.parent;
+            removedRed = node.isRed;
+            transplant(node, node.left);
+        } else {                            // dois filhos: o sucessor in-order ocupa o lugar do nó
+            Node successor = min(node.right);
+            removedRed = successor.isRed;   // quem sai da posição original é o sucessor
+            child = successor.right;        // o sucessor não tem filho esquerdo
+            if (successor.parent == node) {
+                childParent = successor;
+            } else {
+                childParent = successor.parent;
+                transplant(successor, successor.right);  // o filho direito do sucessor sobe
+                successor.right = node.right;
+                successor.right.parent = successor;
+            }
+            transplant(node, successor);
+            successor.left = node.left;
+            successor.left.parent = successor;
+            setRed(successor, node.isRed);  // o sucessor herda a cor do nó removido
+        }
+        if (node.isRed) redCount--;
+
+        node.left = null;   // desliga o nó removido da árvore
+        node.right = null;
+        node.parent = null;
+
+        // a subárvore de child não mudou; de childParent até a raiz (passando pelo
+        // sucessor, se ele subiu) as estatísticas estão desatualizadas
+        if (!removedRed) deleteFixup(child, childParent); // sair um preto quebra a altura negra
+        else fixToRoot(childParent);
+    }
+
+    // coloca a subárvore "replacement" no lugar de "node" junto ao pai de "node"
+    private void transplant(Node node, Node replacement) {
+        if (node.parent == null) {
+            this.root = replacement;
+        } else if (node == node.parent.left) {
+            node.parent.left = replacement;
+        } else {
+            node.parent.right = replacement;
+        }
+        if (replacement != null) replacement.parent = node.parent;
+    }
+
+    // cor de um nó considerando null como folha preta
+    private static boolean isRed(Node node) {
+        return node != null && node.isRed;
+    }
+
+    // corrige as violações após remover um nó preto: "node" carrega um preto extra
+    // que sobe pela árvore até ser absorvido por um nó vermelho ou pela raiz.
+    // Como na inserção, a subárvore de "node" fica sempre com as estatísticas certas: os
+    // nós que saem do caminho (irmão, sobrinhos) são recalculados na hora, e os que estão
+    // no caminho são refeitos por fixToRoot no fim. Nas métricas as rotações seguem a
+    // convenção da inserção: caso 1 e caso 4 sozinho são simples (RR à esquerda, LL à
+    // direita); caso 3 seguido do caso 4 conta como uma rotação dupla (RL, LR no espelho)
+    private void deleteFixup(Node node, Node parent) {
+        Node top = null; // a partir de onde refazer as estatísticas no fim (null = node ou parent)
+        while (node != this.root && !isRed(node)) {
+            if (node == parent.left) {
+                Node sibling = parent.right;
+                if (isRed(sibling)) {                           // caso 1: irmão vermelho → vira preto e rotaciona o pai
+                    setRed(sibling, false);
+                    setRed(parent, true);
+                    rotacaoEsquerda(parent);
+                    if (metrics != null) metrics.rotation(TreeMetrics.Rotation.RR);
+                    sibling = parent.right;
+                }
+                if (!isRed(sibling.left) && !isRed(sibling.right)) {
+                    setRed(sibling, true);                      // caso 2: sobrinhos pretos → irmão vira vermelho e o preto extra sobe
+                    recompute(sibling);
+                    recompute(parent);
+                    node = parent;
+                    parent = node.parent;
+                } else {
+                    boolean bent = !isRed(sibling.right);
+                    if (bent) {                                 // caso 3: sobrinho distante preto → rotaciona o irmão
+                        Node old = sibling;
+                        setRed(sibling.left, false);
+                        setRed(sibling, true);
+                        rotacaoDireita(sibling);
+                        sibling = parent.right;
+                        recompute(old);
+                        recompute(sibling);
+                    }
+                    setRed(sibling, parent.isRed);              // caso 4: sobrinho distante vermelho → rotaciona o pai e termina
+                    setRed(parent, false);
+                    setRed(sibling.right, false);
+                    rotacaoEsquerda(parent);
+                    if (metrics != null) metrics.rotation(bent ? TreeMetrics.Rotation.RL : TreeMetrics.Rotation.RR);
+                    recompute(sibling.right);
+                    recompute(parent);
+                    recompute(sibling);
+                    top = sibling;
+                    node = this.root;
+                }
+            } else {                                            // espelho dos casos acima
+                Node sibling = parent.left;
+                if (isRed(sibling)) {
+                    setRed(sibling, false);
+                    setRed(parent, true);
+                    rotacaoDireita(parent);
+                    if (metrics != null) metrics.rotation(TreeMetrics.Rotation.LL);
+                    sibling = parent.left;
+                }
+                if (!isRed(sibling.left) && !isRed(sibling.right)) {
+                    setRed(sibling, true);
+                    recompute(sibling);
+                    recompute(parent);
+                    node = parent;
+                    parent = node.parent;
+                } else {
+                    boolean bent = !isRed(sibling.left);
+                    if (bent) {
+                        Node old = sibling;
+                        setRed(sibling.right, false);
+                        setRed(sibling, true);
+                        rotacaoEsquerda(sibling);
+                        sibling = parent.left;
+                        recompute(old);
+                        recompute(sibling);
+                    }
+                    setRed(sibling, parent.isRed);
+                    setRed(parent, false);
+                    setRed(sibling.left, false);
+                    rotacaoDireita(parent);
+                    if (metrics != null) metrics.rotation(bent ? TreeMetrics.Rotation.LR : TreeMetrics.Rotation.LL);
+                    recompute(sibling.left);
+                    recompute(parent);
+                    recompute(sibling);
+                    top = sibling;
+                    node = this.root;
+                }
+            }
+        }
+        if (node != null) setRed(node, false); // absorve o preto extra
+        fixToRoot(top != null ? top : node != null ? node : parent);
+    }
+
+    // troca a cor mantendo redCount; quem chama recalcula as estatísticas do nó
+    private void setRed(Node node, boolean red) {
+        if (node.isRed == red) return;
+        node.isRed = red;
+        redCount += red ? 1 : -1;
+    }
+
+    // recalcula as estatísticas de node a partir dos filhos (que já devem estar certas);
+    // retorna true se alguma mudou
+    static boolean recompute(Node node) {
+        Node left = node.left, right = node.right;
+        int height = 1 + Math.max(left == null ? 0 : left.height, right == null ? 0 : right.height);
+        int black = (node.isRed ? 0 : 1) + Math.max(left == null ? 0 : left.blackHeight, right == null ? 0 : right.blackHeight);
+        int red = (node.isRed ? 1 : 0) + Math.max(left == null ? 0 : left.redHeight, right == null ? 0 : right.redHeight);
+        if (height == node.height && black == node.blackHeight && red == node.redHeight) return false;
+        node.height = (byte) height;
+        node.blackHeight = (byte) black;
+        node.redHeight = (byte) red;
+        return true;
+    }
+
+    // sobe recalculando até o primeiro nó que não mudou: acima dele os valores continuam
+    // certos. Só vale quando node ainda guarda os valores da mesma posição antes da mudança
+    private static void fixUpward(Node node) {
+        while (node != null && recompute(node)) node = node.parent;
+    }
+
+    // sobe recalculando até a raiz, sem parar antes: usado na remoção, em que nós mudaram
+    // de posição e os valores guardados não servem de comparação
+    private static void fixToRoot(Node node) {
+        for (; node != null; node = node.parent) recompute(node);
+    }
+
+    // -------------------------------------------------------------------------
+    // CONSTRUÇÃO A PARTIR DE VETOR ORDENADO
+    // -------------------------------------------------------------------------
+
+    // abaixo deste tamanho a construção paralela continua na mesma thread
+    static final int PARALLEL_BUILD_THRESHOLD = 1 << 13;
+
+    // monta em O(n) uma árvore a partir de chaves em ordem não decrescente: o elemento do
+    // meio vira a raiz e cada metade vira uma subárvore. Todos os níveis ficam completos
+    // menos o último; os nós desse último nível são vermelhos e o resto é preto, então
+    // todo caminho tem a mesma quantidade de pretos e nenhum vermelho tem filho vermelho
+    public static RedBlackTree fromSorted(int[] sorted) {
+        checkAscending(sorted);
+        RedBlackTree tree = new RedBlackTree();
+        tree.root = build(sorted, 0, sorted.length - 1, 0, redDepth(sorted.length));
+        tree.size = sorted.length;
+        tree.redCount = redNodes(sorted.length);
+        return tree;
+    }
+
+    // mesma construção, com as duas metades montadas em paralelo no ForkJoinPool comum
+    public static RedBlackTree fromSortedParallel(int[] sorted) {
+        checkAscending(sorted);
+        RedBlackTree tree = new RedBlackTree();
+        tree.root = ForkJoinPool.commonPool().invoke(
+                new BuildTask(sorted, 0, sorted.length - 1, 0, redDepth(sorted.length)));
+        tree.size = sorted.length;
+        tree.redCount = redNodes(sorted.length);
+        return tree;
+    }
+
+    private static void checkAscending(int[] sorted) {
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i - 1] > sorted[i])
+                throw new IllegalArgumentException("chaves devem estar em ordem crescente (posição " + i + ")");
+        }
+    }
+
+    // profundidade do último nível incompleto: floor(log2(n + 1)); se n + 1 for potência
+    // de 2 a árvore é perfeita e nenhum nó chega a essa profundidade
+    private static int redDepth(int n) {
+        return 31 - Integer.numberOfLeadingZeros(n + 1);
+    }
+
+    // vermelhos de build: os nós que sobram abaixo dos redDepth níveis completos
+    private static int redNodes(int n) {
+        return n - ((1 << redDepth(n)) - 1);
+    }
+
+    // monta a subárvore com as chaves sorted[low..high], cuja raiz fica na profundidade depth
+    private static Node build(int[] sorted, int low, int high, int depth, int redDepth) {
+        if (low > high) return null;
+        int mid = (low + high) >>> 1;
+        Node node = new Node(sorted[mid], depth == redDepth);
+        node.left = build(sorted, low, mid - 1, depth + 1, redDepth);
+        node.right = build(sorted, mid + 1, high, depth + 1, redDepth);
+        if (node.left != null) node.left.parent = node;
+        if (node.right != null) node.right.parent = node;
+        recompute(node); // os filhos já estão prontos: as estatísticas saem na mesma passada
+        return node;
+    }
+
+    // divide o intervalo até PARALLEL_BUILD_THRESHOLD; a raiz de cada intervalo é criada
+    // depois que as duas metades terminam
+    private static final class BuildTask extends RecursiveTask<Node> {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] sorted;
+        private final int low;
+        private final int high;
+        private final int depth;
+        private final int redDepth;
+
+        BuildTask(int[] sorted, int low, int high, int depth, int redDepth) {
+            this.sorted = sorted;
+            this.low = low;
+            this.high = high;
+            this.depth = depth;
+            this.redDepth = redDepth;
+        }
+
+        @Override
+        protected Node compute() {
+            if (high - low < PARALLEL_BUILD_THRESHOLD) return build(sorted, low, high, depth, redDepth);
+            int mid = (low + high) >>> 1;
+            BuildTask left = new BuildTask(sorted, low, mid - 1, depth + 1, redDepth);
+            left.fork();
+            Node right = new BuildTask(sorted, mid + 1, high, depth + 1, redDepth).compute();
+            Node node = new Node(sorted[mid], depth == redDepth);
+            node.left = left.join();
+            node.right = right;
+            if (node.left != null) node.left.parent = node;
+            if (node.right != null) node.right.parent = node;
+            recompute(node);
+            return node;
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // SNAPSHOT BINÁRIO
+    // -------------------------------------------------------------------------
+
+    // formato: magic "RBT1", versão, quantidade de nós e os nós em pré-ordem, cada um com
+    // o valor (int) e um byte de flags: bit 0 = tem filho esquerdo, bit 1 = tem filho
+    // direito, bit 2 = vermelho. O CRC32 fecha o arquivo
+    static final int SNAPSHOT_MAGIC = 0x52425431;
+    private static final int HAS_LEFT = 1;
+    private static final int HAS_RIGHT = 2;
+    private static final int RED = 4;
+
+    // grava a árvore em path; o arquivo anterior só é substituído se a gravação terminar
+    public void save(Path path) throws IOException {
+        try (SnapshotWriter out = new SnapshotWriter(path, SNAPSHOT_MAGIC)) {
+            out.writeInt(size);
+            save(root, out);
+            out.commit();
+        }
+    }
+
+    private static void save(Node node, SnapshotWriter out) throws IOException {
+        if (node == null) return;
+        out.writeInt(node.value);
+        out.writeByte((node.left != null ? HAS_LEFT : 0) | (node.right != null ? HAS_RIGHT : 0)
+                | (node.isRed ? RED : 0));
+        save(node.left, out);
+        save(node.right, out);
+    }
+
+    // grava o mesmo snapshot que fromSorted(sorted).save(path), sem alocar os nós: a forma
+    // e as cores de build saem só dos índices
+    static void saveSorted(int[] sorted, Path path) throws IOException {
+        checkAscending(sorted);
+        try (SnapshotWriter out = new SnapshotWriter(path, SNAPSHOT_MAGIC)) {
+            out.writeInt(sorted.length);
+            saveSorted(sorted, 0, sorted.length - 1, 0, redDepth(sorted.length), out);
+            out.commit();
+        }
+    }
+
+    private static void saveSorted(int[] sorted, int low, int high, int depth, int redDepth,
+                                   SnapshotWriter out) throws IOException {
+        if (low > high) return;
+        int mid = (low + high) >>> 1;
+        out.writeInt(sorted[mid]);
+        out.writeByte((low < mid ? HAS_LEFT : 0) | (mid < high ? HAS_RIGHT : 0) | (depth == redDepth ? RED : 0));
+        saveSorted(sorted, low, mid - 1, depth + 1, redDepth, out);
+        saveSorted(sorted, mid + 1, high, depth + 1, redDepth, out);
+    }
+
+    // remonta exatamente a árvore gravada (mesma forma e mesmas cores) numa única passada,
+    // sem comparações nem rebalanceamento; só os ponteiros de pai são religados
+    public static RedBlackTree load(Path path) throws IOException {
+        try (SnapshotReader in = new SnapshotReader(path, SNAPSHOT_MAGIC)) {
+            int size = in.readInt();
+            if (size < 0) throw new IOException("quantidade de nós inválida: " + size);
+            RedBlackTree tree = new RedBlackTree();
+            int[] count = new int[2]; // nós lidos e, destes, vermelhos
+            if (size > 0) tree.root = load(in, null, 0, count);
+            if (count[0] != size) throw new IOException("snapshot com " + count[0] + " nós, esperado " + size);
+            if (tree.root != null && tree.root.isRed) throw new IOException("snapshot corrompido: raiz vermelha");
+            in.verifyChecksum();
+            tree.size = size;
+            tree.redCount = count[1];
+            return tree;
+        }
+    }
+
+    private static Node load(SnapshotReader in, Node parent, int depth, int[] count) throws IOException {
+        if (depth >= MAX_DEPTH) throw new IOException("snapshot corrompido: profundidade maior que " + MAX_DEPTH);
+        int value = in.readInt();
+        int flags = in.readByte();
+        Node node = new Node(value, (flags & RED) != 0);
+        node.parent = parent;
+        count[0]++;
+        if (node.isRed) count[1]++;
+        if ((flags & HAS_LEFT) != 0) node.left = load(in, node, depth + 1, count);
+        if ((flags & HAS_RIGHT) != 0) node.right = load(in, node, depth + 1, count);
+        recompute(node);
+        return node;
+    }
+
+    // -------------------------------------------------------------------------
+    // OPERAÇÕES EM LOTE
+    // -------------------------------------------------------------------------
+
+    // lotes com pelo menos 1/REBUILD_RATIO do tamanho da árvore são intercalados com o
+    // percurso em ordem e a árvore é remontada com build em O(n + m)
+    static final int REBUILD_RATIO = 4;
+
+    // lotes menores são ordenados e inseridos a partir do último nó inserido: como as chaves
+    // chegam em ordem, basta subir até o ancestral que ainda cobre a próxima chave e descer
+    // dali, em vez de partir da raiz a cada chave
+    public void insertAll(int[] elements) {
+        if (elements.length == 0) return;
+        int[] batch = elements.clone();
+        Arrays.sort(batch);
+        if ((long) batch.length * REBUILD_RATIO >= size) {
+            rebuild(merge(toArray(), batch));
+            return;
+        }
+        Node finger = this.root;
+        for (int element : batch) finger = insertBelow(ancestorCovering(finger, element), element);
+    }
+
+    // remove uma ocorrência de cada elemento do lote; retorna quantos foram removidos.
+    // Lotes pequenos usam o mesmo dedo de insertAll: o antecessor do último nó removido
+    // continua na árvore (as rotações não trocam nós de lugar na ordem) e não é maior que
+    // a próxima chave, então cada busca sobe só até o ancestral que a cobre
+    public int removeAll(int[] elements) {
+        if (elements.length == 0 || isEmpty()) return 0;
+        int[] batch = elements.clone();
+        Arrays.sort(batch);
+        if ((long) batch.length * REBUILD_RATIO >= size) {
+            int[] kept = subtract(toArray(), batch);
+            int removed = size - kept.length;
+            rebuild(kept);
+            return removed;
+        }
+        int removed = 0;
+        Node finger = this.root;
+        for (int element : batch) {
+            Node node = findBelow(ancestorCovering(finger, element), element);
+            if (node == null) continue; // ausente: o dedo continua válido para as próximas
+            Node predecessor = NodeIterator.predecessor(node);
+            delete(node);
+            removed++;
+            finger = predecessor != null ? predecessor : this.root;
+        }
+        return removed;
+    }
+
+    // cada nó visitado separa o lote ordenado em "menores" e "maiores" e só as partes
+    // não vazias continuam descendo
+    public boolean containsAll(int[] elements) {
+        int[] batch = elements.clone();
+        Arrays.sort(batch);
+        return containsAll(this.root, batch, 0, batch.length);
+    }
+
+    private boolean containsAll(Node node, int[] batch, int low, int high) {
+        if (low >= high) return true;
+        if (node == null) return false;
+        int split = lowerBound(batch, low, high, node.value);
+        int end = split;
+        while (end < high && batch[end] == node.value) end++; // repetições do próprio nó
+        return containsAll(node.left, batch, low, split) && containsAll(node.right, batch, end, high);
+    }
+
+    // primeira posição em batch[low..high) com valor >= element
+    private static int lowerBound(int[] batch, int low, int high, int element) {
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (batch[mid] < element) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    // sobe a partir do dedo até um nó cuja subárvore ainda comporta element; como o lote
+    // está em ordem, element nunca é menor que as chaves já inseridas à esquerda do dedo
+    private Node ancestorCovering(Node finger, int element) {
+        if (finger == null) return null;
+        while (finger.parent != null
+                && !(finger == finger.parent.left && element < finger.parent.value)) {
+            finger = finger.parent;
+        }
+        return finger;
+    }
+
+    // igual a search, mas descendo a partir de start
+    private static Node findBelow(Node start, int element) {
+        Node aux = start;
+        while (aux != null && aux.value != element) aux = element < aux.value ? aux.left : aux.right;
+        return aux;
+    }
+
+    // igual a add, mas descendo a partir de start; retorna o nó inserido
+    private Node insertBelow(Node start, int element) {
+        this.size++;
+        Node newNode = new Node(element, true);
+        if (start == null) {
+            this.root = newNode;
+            this.root.isRed = false;
+            recompute(this.root);
+            return newNode;
+        }
+        Node aux = start;
+        while (true) {
+            if (element < aux.value) {
+                if (aux.left == null) { aux.left = newNode; break; }
+                aux = aux.left;
+            } else {
+                if (aux.right == null) { aux.right = newNode; break; }
+                aux = aux.right;
+            }
+        }
+        newNode.parent = aux;
+        redCount++;
+        rebalance(newNode);
+        return newNode;
+    }
+
+    private static int[] merge(int[] a, int[] b) {
+        int[] merged = new int[a.length + b.length];
+        int i = 0, j = 0, k = 0;
+        while (i < a.length && j < b.length) merged[k++] = a[i] <= b[j] ? a[i++] : b[j++];
+        while (i < a.length) merged[k++] = a[i++];
+        while (j < b.length) merged[k++] = b[j++];
+        return merged;
+    }
+
+    // a menos b como multiconjunto: cada ocorrência em b consome uma ocorrência em a
+    private static int[] subtract(int[] a, int[] b) {
+        int[] kept = new int[a.length];
+        int i = 0, j = 0, k = 0;
+        while (i < a.length) {
+            while (j < b.length && b[j] < a[i]) j++;
+            if (j < b.length && b[j] == a[i]) {
+                i++;
+                j++;
+            } else {
+                kept[k++] = a[i++];
+            }
+        }
+        return Arrays.copyOf(kept, k);
+    }
+
+    private void rebuild(int[] sorted) {
+        this.root = build(sorted, 0, sorted.length - 1, 0, redDepth(sorted.length));
+        this.size = sorted.length;
+        this.redCount = redNodes(sorted.length);
     }
 
     // busca iterativa: percorre a árvore comparando valores até encontrar ou chegar em null
     public Node search(int element) {
+        return find(element, TreeMetrics.Operation.SEARCH);
+    }
+
+    // busca iterativa; operation diz em que contador as métricas registram a descida
+    private Node find(int element, TreeMetrics.Operation operation) {
         Node aux = this.root;
+        int depth = 0;
         while (aux != null) {
-            if (aux.value == element) return aux;   // encontrou
+            depth++;
+            if (aux.value == element) break;        // encontrou
             if (element < aux.value) aux = aux.left;// menor: vai para a esquerda
             else aux = aux.right;                   // maior: vai para a direita
         }
-        return null; // não encontrado
+        if (metrics != null) metrics.operation(operation, depth);
+        return aux; // null se não encontrado
     }
 
     // ponto de entrada da busca recursiva (encapsula a chamada pública)
@@ -183,66 +824,252 @@ public class RedBlackTree {
         return node;
     }
 
-    // versão recursiva do max (auxiliar, não usada diretamente no código público)
+    // versão recursiva do max (auxiliar, usada por pollLast)
     private Node max(Node node) {
         if (node.right == null) return node; // não tem filho direito: é o máximo
         return max(node.right);              // continua descendo à direita
     }
 
-    public int countRedNodes(){
-        return countRedNodes(this.root);
+    // -------------------------------------------------------------------------
+    // NAVEGAÇÃO E ITERADORES
+    // -------------------------------------------------------------------------
+
+    // maior valor <= element (null se não houver); com repetições, a última ocorrência
+    public Node floor(int element) {
+        Node node = this.root, best = null;
+        while (node != null) {
+            if (node.value <= element) {
+                best = node;        // candidato; algo maior ainda pode estar à direita
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return best;
     }
-    private int  countRedNodes(Node node) {
-        if (node == null) return 0;
-        int current;
-        if (node.isRed) {
-            current = 1;
-        }else{
-            current = 0;
+
+    // menor valor >= element (null se não houver); com repetições, a primeira ocorrência
+    public Node ceiling(int element) {
+        Node node = this.root, best = null;
+        while (node != null) {
+            if (node.value >= element) {
+                best = node;        // candidato; algo menor ainda pode estar à esquerda
+                node = node.left;
+            } else {
+                node = node.right;
+            }
         }
-        return current + countRedNodes(node.left) + countRedNodes(node.right);
+        return best;
     }
 
-    public int countBlackNodes(){
-        return countBlackNodes(this.root);
+    // menor valor > element
+    public Node higher(int element) {
+        Node node = this.root, best = null;
+        while (node != null) {
+            if (node.value > element) {
+                best = node;
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return best;
     }
-    private int  countBlackNodes(Node node) {
-        if (node == null) return 0;
-        int current;
-        if (!node.isRed) {
-            current = 1;
-        }else{
-            current = 0;
+
+    // maior valor < element
+    public Node lower(int element) {
+        Node node = this.root, best = null;
+        while (node != null) {
+            if (node.value < element) {
+                best = node;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
         }
-        return current + countBlackNodes(node.left) + countBlackNodes(node.right);
+        return best;
+    }
+
+    // os iteradores não copiam a árvore: uma consulta de intervalo custa O(log n + k)
+
+    public PrimitiveIterator.OfInt iterator() {
+        return new NodeIterator(min(), Long.MIN_VALUE, Long.MAX_VALUE, false);
+    }
+
+    // valores em [from, to), em ordem crescente
+    public PrimitiveIterator.OfInt iterator(int from, int to) {
+        return new NodeIterator(ceiling(from), from, to, false);
     }
 
-    public int blackHeight(){
-        return blackHeight(this.root);
+    public PrimitiveIterator.OfInt descendingIterator() {
+        return new NodeIterator(max(), Long.MIN_VALUE, Long.MAX_VALUE, true);
     }
-    private int blackHeight(Node node) {
-        if (node == null) return 0;
-        int current;
-        if(!node.isRed()){
-            current = 1;
-        }else{
-            current = 0;
+
+    // valores em [from, to), em ordem decrescente
+    public PrimitiveIterator.OfInt descendingIterator(int from, int to) {
+        return new NodeIterator(lower(to), from, to, true);
+    }
+
+    // IntStream dos valores em ordem, sem copiar a árvore; a versão paralela divide o
+    // trabalho pelas subárvores (ver NodeSpliterator)
+    public IntStream stream() {
+        return StreamSupport.intStream(new NodeSpliterator(this.root, this.size), false);
+    }
+
+    public IntStream parallelStream() {
+        return StreamSupport.intStream(new NodeSpliterator(this.root, this.size), true);
+    }
+
+    // -------------------------------------------------------------------------
+    // ESTATÍSTICAS
+    // -------------------------------------------------------------------------
+
+    // todas O(1): redCount e os campos de altura de cada nó são mantidos pelas inserções,
+    // remoções, rotações e construções em lote
+
+    public int countRedNodes() {
+        return redCount;
+    }
+
+    public int countBlackNodes() {
+        return size - redCount;
+    }
+
+    // quantidade de nós no caminho mais longo da raiz até uma folha (árvore vazia = 0)
+    public int height() {
+        return root == null ? 0 : root.height;
+    }
+
+    public int blackHeight() {
+        return root == null ? 0 : root.blackHeight;
+    }
+
+    public int redHeight() {
+        return root == null ? 0 : root.redHeight;
+    }
+
+    // confere numa única passada em O(n) todas as invariantes: ordem, ponteiros de pai,
+    // raiz preta, nenhum vermelho com filho vermelho, mesma altura negra em todo caminho,
+    // e as estatísticas mantidas (campos de cada nó, size e redCount).
+    // Lança IllegalStateException na primeira violação encontrada
+    public void validate() {
+        if (root != null && root.isRed) throw new IllegalStateException("raiz vermelha");
+        if (root != null && root.parent != null) throw new IllegalStateException("raiz com pai");
+        int[] count = new int[3]; // nós, vermelhos, último valor visto
+        validate(root, count);
+        if (count[0] != size) throw new IllegalStateException("size = " + size + ", mas a árvore tem " + count[0] + " nós");
+        if (count[1] != redCount)
+            throw new IllegalStateException("redCount = " + redCount + ", mas a árvore tem " + count[1] + " vermelhos");
+    }
+
+    private static void validate(Node node, int[] count) {
+        if (node == null) return;
+        Node left = node.left, right = node.right;
+        if (left != null && left.parent != node) throw new IllegalStateException("pai errado no filho esquerdo de " + node.value);
+        if (right != null && right.parent != node) throw new IllegalStateException("pai errado no filho direito de " + node.value);
+        if (node.isRed && (isRed(left) || isRed(right))) throw new IllegalStateException("vermelho com filho vermelho em " + node.value);
+        validate(left, count);
+        if (count[0] > 0 && node.value < count[2]) throw new IllegalStateException("fora de ordem em " + node.value);
+        count[2] = node.value;
+        count[0]++;
+        if (node.isRed) count[1]++;
+        validate(right, count);
+        int leftBlack = left == null ? 0 : left.blackHeight, rightBlack = right == null ? 0 : right.blackHeight;
+        if (leftBlack != rightBlack) throw new IllegalStateException("alturas negras diferentes abaixo de " + node.value);
+        // os filhos já foram conferidos: se recompute mudar algo, o nó estava desatualizado
+        byte height = node.height, black = node.blackHeight, red = node.redHeight;
+        if (recompute(node)) {
+            node.height = height; // devolve os valores encontrados: validate não corrige nada
+            node.blackHeight = black;
+            node.redHeight = red;
+            throw new IllegalStateException("estatísticas desatualizadas em " + node.value);
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // PERCURSOS SEM ALOCAÇÃO POR NÓ
+    // -------------------------------------------------------------------------
+
+    // os percursos em profundidade andam pelos ponteiros de pai, sem pilha nem recursão;
+    // o percurso em largura usa uma única fila circular de nós, reaproveitada até o fim
+
+    public void forEachInOrder(IntConsumer action) {
+        Node node = min();
+        while (node != null) {
+            action.accept(node.value);
+            node = NodeIterator.successor(node);
+        }
+    }
+
+    public void forEachPreOrder(IntConsumer action) {
+        Node node = this.root;
+        while (node != null) {
+            action.accept(node.value);                  // visita o nó PRIMEIRO
+            if (node.left != null) node = node.left;
+            else if (node.right != null) node = node.right;
+            else {
+                // sobe até um ancestral alcançado pela esquerda que ainda tenha filho direito
+                Node child = node;
+                node = node.parent;
+                while (node != null && (child == node.right || node.right == null)) {
+                    child = node;
+                    node = node.parent;
+                }
+                if (node != null) node = node.right;
+            }
+        }
+    }
+
+    public void forEachPostOrder(IntConsumer action) {
+        if (isEmpty()) return;
+        Node node = firstInPostOrder(this.root);
+        while (node != null) {
+            action.accept(node.value);                  // visita o nó POR ÚLTIMO
+            Node parent = node.parent;
+            // vindo da esquerda, o próximo é o primeiro da subárvore direita do pai; senão é o pai
+            if (parent != null && node == parent.left && parent.right != null) node = firstInPostOrder(parent.right);
+            else node = parent;
         }
-        return current + Math.max(blackHeight(node.left), blackHeight(node.right));
     }
-    public int redHeight(){
-        return redHeight(this.root);
+
+    // primeiro nó do pós-ordem: desce preferindo a esquerda até uma folha
+    private static Node firstInPostOrder(Node node) {
+        while (true) {
+            if (node.left != null) node = node.left;
+            else if (node.right != null) node = node.right;
+            else return node;
+        }
     }
-    private int redHeight(Node node) {
-        if (node == null) return 0;
-        int current;
-        if (node.isRed()) {
-            current = 1;
-        }else{
-            current = 0;
+
+    public void forEachLevelOrder(IntConsumer action) {
+        if (isEmpty()) return;
+        Node[] queue = new Node[64]; // fila circular; o tamanho é sempre potência de 2
+        int head = 0, count = 0;
+        queue[count++] = this.root;
+        while (count > 0) {
+            Node node = queue[head];
+            head = (head + 1) & (queue.length - 1);
+            count--;
+            action.accept(node.value);
+            if (count + 2 > queue.length) {             // garante espaço para os dois filhos
+                Node[] larger = new Node[queue.length * 2];
+                for (int i = 0; i < count; i++) larger[i] = queue[(head + i) & (queue.length - 1)];
+                queue = larger;
+                head = 0;
+            }
+            if (node.left != null) queue[(head + count++) & (queue.length - 1)] = node.left;
+            if (node.right != null) queue[(head + count++) & (queue.length - 1)] = node.right;
         }
-        return current + Math.max(redHeight(node.left), redHeight(node.right));
     }
+
+    // valores em ordem num int[] do tamanho exato da árvore
+    public int[] toArray() {
+        int[] values = new int[size];
+        int count = 0;
+        for (Node node = min(); node != null; node = NodeIterator.successor(node)) values[count++] = node.value;
+        return values;
+    }
+
     public ArrayList<String> preOrder() {
         ArrayList<String> list = new ArrayList<>();
         preOrder(this.root, list);
@@ -286,39 +1113,6 @@ public class RedBlackTree {
 
 }
 
-class Node {
-    int value;
-    Node left;
-    Node right;
-    Node parent;
-    boolean isRed;
-
-    public Node(int value, boolean isRed) {
-        this.value = value;
-        this.isRed = isRed;
-    }
-
-    public boolean isRed() {
-        return this.isRed;
-    }
-
-    public boolean isLeaf() {
-        return this.left == null && this.right == null;
-    }
-
-    public boolean hasOnlyLeftChild() {
-        return this.left != null && this.right == null;
-    }
-
-    public boolean hasOnlyRightChild() {
-        return this.left == null && this.right != null;
-    }
-
-    public String toString() {
-        return this.value + "";
-    }
-}
-
 class RedBlackTreeTest {
     static int testsPassed = 0;
     static int testsFailed = 0;
@@ -446,6 +1240,541 @@ class RedBlackTreeTest {
         assertEquals("max deve ser 20", 20, tree.max().value);
     }
 
+    // verifica as propriedades RB da subárvore e retorna sua altura negra (-1 se inválida)
+    static int alturaNegraValida(Node node) {
+        if (node == null) return 1;
+        if (node.isRed() && ((node.left != null && node.left.isRed()) || (node.right != null && node.right.isRed())))
+            return -1; // vermelho com filho vermelho
+        if (node.left != null && (node.left.parent != node || node.left.value > node.value)) return -1;
+        if (node.right != null && (node.right.parent != node || node.right.value < node.value)) return -1;
+        int left = alturaNegraValida(node.left);
+        int right = alturaNegraValida(node.right);
+        if (left == -1 || left != right) return -1; // caminhos com quantidades diferentes de pretos
+        return left + (node.isRed() ? 0 : 1);
+    }
+
+    static void testarRemocao() {
+        System.out.println("\n--- Remoção ---");
+        RedBlackTree tree = new RedBlackTree();
+        for (int i = 1; i <= 20; i++) tree.add(i);
+        assertTrue("remover 8 deve retornar true", tree.remove(8));
+        assertTrue("remover 99 deve retornar false", !tree.remove(99));
+        assertNull("nó 8 não deve mais existir", tree.search(8));
+        for (int i = 1; i <= 20; i += 3) tree.remove(i);
+        assertEquals("size deve refletir as remoções", 12, tree.size);
+        assertTrue("propriedades RB devem valer após remoções", alturaNegraValida(tree.root) != -1);
+        assertTrue("raiz deve ser preta", !tree.root.isRed());
+    }
+
+    static void testarRemocaoAteEsvaziar() {
+        System.out.println("\n--- Remoção até esvaziar ---");
+        RedBlackTree tree = new RedBlackTree();
+        java.util.Random random = new java.util.Random(7);
+        int[] keys = new int[500];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextInt(200); // com repetições
+            tree.add(keys[i]);
+        }
+        boolean valid = true;
+        for (int key : keys) {
+            valid &= tree.remove(key);
+            valid &= alturaNegraValida(tree.root) != -1;
+        }
+        assertTrue("todas as remoções devem manter as propriedades RB", valid);
+        assertTrue("árvore deve ficar vazia", tree.isEmpty());
+        assertEquals("size deve voltar a 0", 0, tree.size);
+    }
+
+    static void testarPollFirstLast() {
+        System.out.println("\n--- pollFirst e pollLast ---");
+        RedBlackTree tree = new RedBlackTree();
+        tree.add(10);
+        tree.add(5);
+        tree.add(15);
+        tree.add(3);
+        tree.add(20);
+        assertEquals("pollFirst deve retornar 3", 3, tree.pollFirst().value);
+        assertEquals("pollLast deve retornar 20", 20, tree.pollLast().value);
+        assertEquals("novo min deve ser 5", 5, tree.min().value);
+        assertEquals("novo max deve ser 15", 15, tree.max().value);
+        assertEquals("size deve ser 3", 3, tree.size);
+        assertNull("pollFirst em árvore vazia deve retornar null", new RedBlackTree().pollFirst());
+    }
+
+    static void testarMapas() {
+        System.out.println("\n--- IntLongRBMap e IntObjectRBMap ---");
+        IntLongRBMap longs = new IntLongRBMap(-1L);
+        IntObjectRBMap<String> objects = new IntObjectRBMap<>();
+        java.util.TreeMap<Integer, Long> expected = new java.util.TreeMap<>();
+        java.util.Random random = new java.util.Random(13);
+        boolean same = true;
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(1000);
+            long value = random.nextInt(1 << 20);
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    same &= longs.put(key, value) == expected.getOrDefault(key, -1L);
+                    objects.put(key, Long.toString(value));
+                    expected.put(key, value);
+                }
+                case 1 -> {
+                    Long removed = expected.remove(key);
+                    same &= longs.remove(key) == (removed == null ? -1L : removed);
+                    same &= java.util.Objects.equals(objects.remove(key), removed == null ? null : removed.toString());
+                }
+                default -> {
+                    same &= longs.computeIfAbsent(key, k -> value) == expected.computeIfAbsent(key, k -> value);
+                    objects.computeIfAbsent(key, k -> Long.toString(value));
+                }
+            }
+        }
+        for (int key = 0; key < 1000; key++) {
+            same &= longs.get(key) == expected.getOrDefault(key, -1L);
+            Long value = expected.get(key);
+            same &= java.util.Objects.equals(objects.get(key), value == null ? null : value.toString());
+        }
+        assertTrue("mapas devem se comportar como TreeMap", same);
+        assertEquals("size do IntLongRBMap", expected.size(), longs.size());
+        assertEquals("size do IntObjectRBMap", expected.size(), objects.size());
+        assertEquals("getOrDefault de chave ausente", 7, (int) longs.getOrDefault(5000, 7L));
+    }
+
+    static void testarArrayRedBlackTree() {
+        System.out.println("\n--- ArrayRedBlackTree ---");
+        ArrayRedBlackTree tree = new ArrayRedBlackTree(4); // capacidade pequena força crescimento
+        java.util.ArrayList<Integer> expected = new java.util.ArrayList<>();
+        java.util.Random random = new java.util.Random(17);
+        boolean same = true;
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(500);
+            if (random.nextInt(3) == 0) {
+                same &= tree.remove(key) == expected.remove((Integer) key);
+            } else {
+                tree.add(key);
+                expected.add(key);
+            }
+        }
+        java.util.Collections.sort(expected);
+        assertTrue("deve conter as mesmas chaves que a lista de referência", same && tree.inOrder().equals(expected));
+        assertTrue("propriedades RB devem valer", tree.checkInvariants());
+        assertEquals("size deve bater", expected.size(), tree.size());
+        assertEquals("min deve bater", expected.get(0), tree.min());
+        assertEquals("max deve bater", expected.get(expected.size() - 1), tree.max());
+    }
+
+    static void testarFromSorted() {
+        System.out.println("\n--- fromSorted ---");
+        boolean valid = true;
+        for (int n = 0; n <= 300; n++) { // cobre árvores perfeitas e com o último nível incompleto
+            int[] sorted = new int[n];
+            for (int i = 0; i < n; i++) sorted[i] = i / 2; // com repetições
+            RedBlackTree tree = RedBlackTree.fromSorted(sorted);
+            valid &= tree.isEmpty() || (!tree.root.isRed() && alturaNegraValida(tree.root) != -1);
+            valid &= tree.size == n;
+        }
+        assertTrue("fromSorted deve gerar árvores RB válidas para todo n", valid);
+
+        int[] big = new int[100000];
+        for (int i = 0; i < big.length; i++) big[i] = i;
+        RedBlackTree parallel = RedBlackTree.fromSortedParallel(big);
+        assertTrue("fromSortedParallel deve gerar árvore RB válida", alturaNegraValida(parallel.root) != -1);
+        assertNotNull("busca por 77777 deve encontrar", parallel.search(77777));
+        parallel.add(-1);
+        parallel.remove(50000);
+        assertTrue("árvore construída deve aceitar inserções e remoções", alturaNegraValida(parallel.root) != -1);
+    }
+
+    static void testarOperacoesEmLote() {
+        System.out.println("\n--- insertAll / removeAll / containsAll ---");
+        java.util.Random random = new java.util.Random(11);
+        java.util.TreeMap<Integer, Integer> expected = new java.util.TreeMap<>(); // valor -> ocorrências
+        RedBlackTree tree = new RedBlackTree();
+        boolean valid = true;
+        int removedTotal = 0, expectedRemoved = 0;
+        for (int round = 0; round < 60; round++) {
+            // alterna lotes pequenos (inserção a partir do dedo) e grandes (reconstrução)
+            int[] batch = new int[round % 5 == 0 ? 3000 : random.nextInt(200)];
+            for (int i = 0; i < batch.length; i++) batch[i] = random.nextInt(4000);
+            if (round % 3 == 2) {
+                removedTotal += tree.removeAll(batch);
+                for (int element : batch) {
+                    Integer count = expected.get(element);
+                    if (count == null) continue;
+                    expectedRemoved++;
+                    if (count == 1) expected.remove(element);
+                    else expected.put(element, count - 1);
+                }
+            } else {
+                tree.insertAll(batch);
+                for (int element : batch) expected.merge(element, 1, Integer::sum);
+            }
+            valid &= tree.isEmpty() || (!tree.root.isRed() && alturaNegraValida(tree.root) != -1);
+        }
+        assertTrue("árvore deve continuar RB após lotes", valid);
+        assertEquals("removeAll deve contar as remoções", expectedRemoved, removedTotal);
+
+        int expectedSize = 0;
+        for (int count : expected.values()) expectedSize += count;
+        assertEquals("tamanho deve bater com o multiconjunto esperado", expectedSize, tree.size);
+        ArrayList<String> inOrder = tree.inOrder();
+        boolean ordered = true;
+        for (int i = 1; i < inOrder.size(); i++) {
+            ordered &= Integer.parseInt(inOrder.get(i - 1).split(",")[0]) <= Integer.parseInt(inOrder.get(i).split(",")[0]);
+        }
+        assertTrue("percurso em ordem deve continuar ordenado", ordered);
+
+        int[] keys = expected.keySet().stream().mapToInt(Integer::intValue).toArray();
+        assertTrue("containsAll deve achar todas as chaves", tree.containsAll(keys));
+        assertTrue("containsAll com chave ausente deve ser falso", !tree.containsAll(new int[]{keys[0], -5}));
+
+        // lotes bem menores que a árvore, com repetições e chaves ausentes: remoção pelo dedo
+        RedBlackTree grande = new RedBlackTree();
+        java.util.TreeMap<Integer, Integer> multiset = new java.util.TreeMap<>();
+        for (int i = 0; i < 20000; i++) {
+            int value = random.nextInt(3000);
+            grande.add(value);
+            multiset.merge(value, 1, Integer::sum);
+        }
+        boolean counted = true, validated = true;
+        for (int round = 0; round < 50; round++) {
+            int[] batch = new int[1 + random.nextInt(500)];
+            for (int i = 0; i < batch.length; i++) batch[i] = random.nextInt(3500);
+            int expectedCount = 0;
+            for (int element : batch) {
+                Integer count = multiset.get(element);
+                if (count == null) continue;
+                expectedCount++;
+                if (count == 1) multiset.remove(element);
+                else multiset.put(element, count - 1);
+            }
+            counted &= grande.removeAll(batch) == expectedCount;
+            try {
+                grande.validate();
+            } catch (IllegalStateException e) {
+                validated = false;
+            }
+        }
+        int[] remaining = multiset.entrySet().stream()
+                .flatMapToInt(e -> java.util.stream.IntStream.range(0, e.getValue()).map(i -> e.getKey())).toArray();
+        assertTrue("removeAll pelo dedo conta cada remoção", counted);
+        assertTrue("removeAll pelo dedo mantém as invariantes", validated);
+        assertTrue("removeAll pelo dedo remove uma ocorrência por chave do lote", Arrays.equals(remaining, grande.toArray()));
+    }
+
+    static void testarNavegacao() {
+        System.out.println("\n--- floor / ceiling / higher / lower e iteradores ---");
+        RedBlackTree tree = new RedBlackTree();
+        for (int value : new int[]{40, 10, 30, 20, 50, 30}) tree.add(value);
+
+        assertEquals("floor(35) deve ser 30", 30, tree.floor(35).value);
+        assertEquals("ceiling(31) deve ser 40", 40, tree.ceiling(31).value);
+        assertEquals("higher(30) deve pular as repetições", 40, tree.higher(30).value);
+        assertEquals("lower(30) deve ser 20", 20, tree.lower(30).value);
+        assertNull("floor(5) deve ser null", tree.floor(5));
+        assertNull("higher(50) deve ser null", tree.higher(50));
+
+        StringBuilder ascending = new StringBuilder();
+        tree.iterator().forEachRemaining((int value) -> ascending.append(value).append(' '));
+        assertTrue("iterador crescente", ascending.toString().equals("10 20 30 30 40 50 "));
+
+        StringBuilder range = new StringBuilder();
+        tree.iterator(20, 40).forEachRemaining((int value) -> range.append(value).append(' '));
+        assertTrue("iterador em [20, 40)", range.toString().equals("20 30 30 "));
+
+        StringBuilder descending = new StringBuilder();
+        tree.descendingIterator(15, 45).forEachRemaining((int value) -> descending.append(value).append(' '));
+        assertTrue("iterador decrescente em [15, 45)", descending.toString().equals("40 30 30 20 "));
+
+        assertTrue("árvore vazia não tem próximo", !new RedBlackTree().descendingIterator().hasNext());
+    }
+
+    static void testarStreams() {
+        System.out.println("\n--- stream / parallelStream ---");
+        RedBlackTree tree = new RedBlackTree();
+        long expectedSum = 0;
+        java.util.Random random = new java.util.Random(18);
+        for (int i = 0; i < 100000; i++) {
+            int value = random.nextInt(50000); // com repetições
+            tree.add(value);
+            expectedSum += value;
+        }
+        assertEquals("count do stream = size", tree.size, (int) tree.stream().count());
+        assertTrue("soma sequencial", tree.stream().asLongStream().sum() == expectedSum);
+        assertTrue("soma paralela", tree.parallelStream().asLongStream().sum() == expectedSum);
+        int[] parallelSorted = tree.parallelStream().toArray();
+        boolean ordered = true;
+        for (int i = 1; i < parallelSorted.length; i++) ordered &= parallelSorted[i - 1] <= parallelSorted[i];
+        assertTrue("toArray paralelo mantém a ordem", ordered && parallelSorted.length == tree.size);
+        assertTrue("filtro paralelo", tree.parallelStream().filter(v -> v < 100).count() == tree.stream().filter(v -> v < 100).count());
+
+        java.util.Spliterator.OfInt whole = tree.stream().spliterator();
+        java.util.Spliterator.OfInt prefix = whole.trySplit();
+        long[] counts = new long[2];
+        prefix.forEachRemaining((int v) -> counts[0]++);
+        whole.forEachRemaining((int v) -> counts[1]++);
+        assertTrue("as duas metades cobrem a árvore", counts[0] > 0 && counts[1] > 0 && counts[0] + counts[1] == tree.size);
+        assertEquals("árvore vazia gera stream vazio", 0, (int) new RedBlackTree().parallelStream().count());
+    }
+
+    static String valores(ArrayList<String> list) {
+        StringBuilder values = new StringBuilder();
+        for (String item : list) values.append(item.split(",")[0]).append(' ');
+        return values.toString();
+    }
+
+    static void testarPercursosSemAlocacao() {
+        System.out.println("\n--- forEach*Order / toArray ---");
+        RedBlackTree tree = new RedBlackTree();
+        java.util.Random random = new java.util.Random(20);
+        for (int i = 0; i < 500; i++) tree.add(random.nextInt(300));
+
+        StringBuilder in = new StringBuilder(), pre = new StringBuilder(), post = new StringBuilder();
+        tree.forEachInOrder((int v) -> in.append(v).append(' '));
+        tree.forEachPreOrder((int v) -> pre.append(v).append(' '));
+        tree.forEachPostOrder((int v) -> post.append(v).append(' '));
+        assertTrue("forEachInOrder igual a inOrder()", in.toString().equals(valores(tree.inOrder())));
+        assertTrue("forEachPreOrder igual a preOrder()", pre.toString().equals(valores(tree.preOrder())));
+        assertTrue("forEachPostOrder igual a postOrder()", post.toString().equals(valores(tree.postOrder())));
+
+        int[] levels = new int[tree.size];
+        int[] count = new int[1];
+        tree.forEachLevelOrder((int v) -> levels[count[0]++] = v);
+        assertTrue("forEachLevelOrder visita todos, começando pela raiz", count[0] == tree.size && levels[0] == tree.root.value);
+
+        int[] values = tree.toArray();
+        boolean ordered = values.length == tree.size;
+        for (int i = 1; i < values.length; i++) ordered &= values[i - 1] <= values[i];
+        assertTrue("toArray ordenado e do tamanho da árvore", ordered);
+        assertEquals("toArray de árvore vazia", 0, new RedBlackTree().toArray().length);
+    }
+
+    static boolean paisCorretos(Node node, Node parent) {
+        if (node == null) return true;
+        return node.parent == parent && paisCorretos(node.left, node) && paisCorretos(node.right, node);
+    }
+
+    static void testarSnapshot() {
+        System.out.println("\n--- save / load ---");
+        try {
+            java.nio.file.Path dir = java.nio.file.Files.createTempDirectory("rb-snapshot");
+            java.nio.file.Path file = dir.resolve("tree.bin");
+            RedBlackTree tree = new RedBlackTree();
+            java.util.Random random = new java.util.Random(21);
+            for (int i = 0; i < 200000; i++) tree.add(random.nextInt(150000)); // com duplicatas
+            for (int i = 0; i < 50000; i++) tree.remove(random.nextInt(150000));
+            tree.save(file);
+            assertTrue("arquivo temporário não fica para trás", !java.nio.file.Files.exists(dir.resolve("tree.bin.tmp")));
+
+            RedBlackTree loaded = RedBlackTree.load(file);
+            assertEquals("mesmo tamanho", tree.size, loaded.size);
+            assertTrue("mesma forma e mesmas cores", tree.preOrder().equals(loaded.preOrder()) && tree.inOrder().equals(loaded.inOrder()));
+            assertTrue("ponteiros de pai religados", paisCorretos(loaded.root, null));
+            loaded.add(-1);
+            loaded.remove(loaded.root.value);
+            assertTrue("árvore carregada continua operando", loaded.search(-1) != null && loaded.size == tree.size);
+
+            new RedBlackTree().save(file);
+            assertTrue("snapshot de árvore vazia", RedBlackTree.load(file).isEmpty());
+
+            tree.save(file);
+            byte[] bytes = java.nio.file.Files.readAllBytes(file);
+            bytes[bytes.length / 2] ^= 0x10;
+            java.nio.file.Files.write(file, bytes);
+            boolean rejected = false;
+            try {
+                RedBlackTree.load(file);
+            } catch (java.io.IOException e) {
+                rejected = true;
+            }
+            assertTrue("arquivo corrompido é rejeitado", rejected);
+
+            java.nio.file.Files.write(file, java.util.Arrays.copyOf(bytes, 100));
+            rejected = false;
+            try {
+                RedBlackTree.load(file);
+            } catch (java.io.IOException e) {
+                rejected = true;
+            }
+            assertTrue("arquivo truncado é rejeitado", rejected);
+
+            int[] sorted = tree.toArray();
+            RedBlackTree.fromSorted(sorted).save(file);
+            byte[] built = java.nio.file.Files.readAllBytes(file);
+            RedBlackTree.saveSorted(sorted, file);
+            assertTrue("saveSorted grava o mesmo arquivo que fromSorted + save",
+                    java.util.Arrays.equals(built, java.nio.file.Files.readAllBytes(file)));
+            RedBlackTree.saveSorted(new int[0], file);
+            assertTrue("saveSorted de vetor vazio", RedBlackTree.load(file).isEmpty());
+            java.nio.file.Files.delete(file);
+            java.nio.file.Files.delete(dir);
+        } catch (java.io.IOException e) {
+            assertTrue("save/load sem IOException: " + e.getMessage(), false);
+        }
+    }
+
+    static void testarMetricas() {
+        System.out.println("\n--- métricas ---");
+        TreeMetrics metrics = new TreeMetrics();
+        RedBlackTree tree = new RedBlackTree();
+        tree.setMetrics(metrics);
+        for (int value : new int[]{1, 2, 3}) tree.add(value); // caso 5 em linha
+        TreeMetrics.Snapshot snapshot = metrics.snapshot();
+        assertEquals("1-2-3: um caso 5", 1, (int) snapshot.recolorCase5());
+        assertEquals("1-2-3: rotação RR", 1, (int) snapshot.rotationsRR());
+        tree.add(4); // pai 3 e tio 1 vermelhos
+        assertEquals("4: caso 3 (recoloração)", 1, (int) metrics.snapshot().recolorCase3());
+
+        metrics.reset();
+        RedBlackTree dobrada = new RedBlackTree();
+        dobrada.setMetrics(metrics);
+        for (int value : new int[]{30, 10, 20}) dobrada.add(value);
+        snapshot = metrics.snapshot();
+        assertTrue("30-10-20: caso 4 seguido do caso 5, rotação LR",
+                snapshot.recolorCase4() == 1 && snapshot.recolorCase5() == 1 && snapshot.rotationsLR() == 1);
+        assertEquals("3 inserções com 0+1+2 comparações", 3, (int) snapshot.comparisons());
+
+        metrics.reset();
+        dobrada.search(20);
+        dobrada.search(5);
+        dobrada.remove(30);
+        snapshot = metrics.snapshot();
+        assertTrue("search e remove contados separadamente", snapshot.searches() == 2 && snapshot.removes() == 1);
+        assertTrue("profundidades 1, 2 e 2 no histograma", snapshot.depthHistogram()[1] == 1
+                && snapshot.depthHistogram()[2] == 2);
+
+        // rotações da remoção: {inserções, valor removido, LL, LR, RR, RL esperados}
+        int[][] remocoes = {
+                {20, 10, 30, 40, 10, 0, 0, 1, 0}, // caso 4: sobrinho distante vermelho
+                {20, 10, 30, 25, 10, 0, 0, 0, 1}, // caso 3 + caso 4: rotação dupla
+                {20, 10, 30, 5, 30, 1, 0, 0, 0},  // espelho do caso 4
+                {20, 10, 30, 15, 30, 0, 1, 0, 0}, // espelho do caso 3 + caso 4
+        };
+        boolean contadas = true;
+        for (int[] c : remocoes) {
+            RedBlackTree removal = new RedBlackTree();
+            for (int i = 0; i < 4; i++) removal.add(c[i]);
+            metrics.reset();
+            removal.setMetrics(metrics);
+            removal.remove(c[4]);
+            snapshot = metrics.snapshot();
+            contadas &= snapshot.rotationsLL() == c[5] && snapshot.rotationsLR() == c[6]
+                    && snapshot.rotationsRR() == c[7] && snapshot.rotationsRL() == c[8];
+        }
+        assertTrue("remoção conta as rotações dos casos 3 e 4 (e espelhos)", contadas);
+
+        RedBlackTree irmaoVermelho = new RedBlackTree();
+        for (int value : new int[]{10, 5, 20, 15, 25, 30}) irmaoVermelho.add(value);
+        metrics.reset();
+        irmaoVermelho.setMetrics(metrics);
+        irmaoVermelho.remove(5); // irmão 20 vermelho: caso 1 rotaciona o pai, caso 2 termina
+        snapshot = metrics.snapshot();
+        assertTrue("remoção conta a rotação do caso 1", snapshot.rotationsRR() == 1 && snapshot.rotations() == 1);
+    }
+
+    // estatísticas recalculadas do zero, recursivamente: {vermelhos, pretos, altura, altura negra, altura vermelha}
+    static int[] recontar(Node node) {
+        if (node == null) return new int[5];
+        int[] left = recontar(node.left), right = recontar(node.right);
+        int red = node.isRed ? 1 : 0;
+        return new int[]{red + left[0] + right[0], 1 - red + left[1] + right[1],
+                1 + Math.max(left[2], right[2]), 1 - red + Math.max(left[3], right[3]), red + Math.max(left[4], right[4])};
+    }
+
+    static boolean estatisticasBatem(RedBlackTree tree) {
+        int[] expected = recontar(tree.root);
+        try {
+            tree.validate();
+        } catch (IllegalStateException e) {
+            return false;
+        }
+        return tree.countRedNodes() == expected[0] && tree.countBlackNodes() == expected[1]
+                && tree.height() == expected[2] && tree.blackHeight() == expected[3] && tree.redHeight() == expected[4];
+    }
+
+    static void testarEstatisticas() {
+        System.out.println("\n--- estatísticas mantidas e validate ---");
+        RedBlackTree tree = new RedBlackTree();
+        assertTrue("árvore vazia: tudo 0", estatisticasBatem(tree) && tree.height() == 0 && tree.countRedNodes() == 0);
+
+        java.util.Random random = new java.util.Random(25);
+        boolean ok = true;
+        for (int i = 0; i < 20000; i++) {
+            int value = random.nextInt(2000); // muitas duplicatas
+            if (random.nextInt(3) == 0) tree.remove(value);
+            else tree.add(value);
+            if (i % 97 == 0) ok &= estatisticasBatem(tree);
+        }
+        assertTrue("inserções e remoções aleatórias", ok && estatisticasBatem(tree));
+
+        while (tree.size > 100) {
+            tree.pollFirst();
+            tree.pollLast();
+        }
+        assertTrue("pollFirst e pollLast", estatisticasBatem(tree));
+        while (tree.size > 0) tree.remove(tree.root.value); // remoções sempre com dois filhos ou na raiz
+        assertTrue("esvaziando pela raiz", estatisticasBatem(tree) && tree.height() == 0 && tree.blackHeight() == 0);
+
+        int[] batch = new int[5000];
+        for (int i = 0; i < batch.length; i++) batch[i] = random.nextInt(100000);
+        tree.insertAll(batch);                                 // remonta (árvore vazia)
+        assertTrue("insertAll com reconstrução", estatisticasBatem(tree));
+        tree.insertAll(java.util.Arrays.copyOf(batch, 100));   // inserção a partir do último nó
+        assertTrue("insertAll incremental", estatisticasBatem(tree));
+        tree.removeAll(java.util.Arrays.copyOf(batch, 50));
+        assertTrue("removeAll incremental", estatisticasBatem(tree));
+        tree.removeAll(java.util.Arrays.copyOfRange(batch, 0, 3000));
+        assertTrue("removeAll com reconstrução", estatisticasBatem(tree));
+
+        for (int n : new int[]{1, 2, 7, 8, 100, 20000}) {
+            int[] sorted = new int[n];
+            for (int i = 0; i < n; i++) sorted[i] = i;
+            ok &= estatisticasBatem(RedBlackTree.fromSorted(sorted)) && estatisticasBatem(RedBlackTree.fromSortedParallel(sorted));
+        }
+        assertTrue("fromSorted e fromSortedParallel", ok);
+
+        try {
+            java.nio.file.Path file = java.nio.file.Files.createTempFile("rb-stats", ".bin");
+            tree.save(file);
+            RedBlackTree loaded = RedBlackTree.load(file);
+            java.nio.file.Files.delete(file);
+            assertTrue("load", estatisticasBatem(loaded) && loaded.redHeight() == tree.redHeight());
+        } catch (java.io.IOException e) {
+            assertTrue("load: " + e, false);
+        }
+
+        // corrupções detectadas por validate
+        Node leaf = tree.min();
+        leaf.isRed = !leaf.isRed;
+        boolean thrown = false;
+        try {
+            tree.validate();
+        } catch (IllegalStateException e) {
+            thrown = true;
+        }
+        leaf.isRed = !leaf.isRed;
+        assertTrue("validate detecta cor trocada", thrown);
+        tree.size++;
+        thrown = false;
+        try {
+            tree.validate();
+        } catch (IllegalStateException e) {
+            thrown = true;
+        }
+        tree.size--;
+        assertTrue("validate detecta size errado", thrown);
+        byte height = tree.root.height;
+        tree.root.height = 0;
+        thrown = false;
+        try {
+            tree.validate();
+        } catch (IllegalStateException e) {
+            thrown = true;
+        }
+        assertTrue("validate detecta altura desatualizada sem corrigi-la", thrown && tree.root.height == 0);
+        tree.root.height = height;
+        assertTrue("árvore restaurada volta a validar", estatisticasBatem(tree));
+    }
+
     public static void main(String[] args) {
         testarInsercaoSimples();
         testarPropriedadeRaizPreta();
@@ -454,6 +1783,19 @@ class RedBlackTreeTest {
         testarRotacao();
         testarBusca();
         testarMinMax();
+        testarRemocao();
+        testarRemocaoAteEsvaziar();
+        testarPollFirstLast();
+        testarMapas();
+        testarArrayRedBlackTree();
+        testarFromSorted();
+        testarOperacoesEmLote();
+        testarNavegacao();
+        testarStreams();
+        testarPercursosSemAlocacao();
+        testarSnapshot();
+        testarMetricas();
+        testarEstatisticas();
 
         System.out.println("\n══════════════════════════════");
         System.out.println("Total: " + (testsPassed + testsFailed) +
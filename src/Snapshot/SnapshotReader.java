@@ -0,0 +1,91 @@
+package Snapshot;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+// lê um snapshot gravado por SnapshotWriter: o FileChannel enche um buffer direto de
+// 1 MiB por vez, em vez de um read por campo, e o CRC32 é acumulado bloco a bloco sobre
+// os bytes já consumidos. Qualquer inconsistência vira IOException
+public final class SnapshotReader implements Closeable {
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(SnapshotWriter.BUFFER_SIZE);
+    private final CRC32 crc = new CRC32();
+    private final long payloadEnd; // posição do CRC no arquivo
+    private long consumed;         // bytes do arquivo já entregues ao chamador
+    private int crcStart;          // início, no buffer, dos bytes consumidos ainda fora do CRC
+
+    public SnapshotReader(Path path, int magic) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            this.payloadEnd = channel.size() - Integer.BYTES;
+            buffer.limit(0);
+            if (payloadEnd < 2L * Integer.BYTES) throw new IOException("snapshot truncado: " + path);
+            if (readInt() != magic) throw new IOException("arquivo não é um snapshot deste tipo: " + path);
+            int version = readInt();
+            if (version != SnapshotWriter.FORMAT_VERSION)
+                throw new IOException("versão de snapshot não suportada: " + version);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public byte readByte() throws IOException {
+        require(Byte.BYTES);
+        return buffer.get();
+    }
+
+    public int readInt() throws IOException {
+        require(Integer.BYTES);
+        return buffer.getInt();
+    }
+
+    public long readLong() throws IOException {
+        require(Long.BYTES);
+        return buffer.getLong();
+    }
+
+    // chamado depois do último campo: confere que tudo foi lido e que o CRC bate
+    public void verifyChecksum() throws IOException {
+        if (consumed != payloadEnd) throw new IOException("snapshot com bytes sobrando ou faltando");
+        updateCrc();
+        buffer.compact().flip();
+        ByteBuffer trailer = ByteBuffer.allocate(Integer.BYTES);
+        while (trailer.hasRemaining() && buffer.hasRemaining()) trailer.put(buffer.get());
+        while (trailer.hasRemaining()) {
+            if (channel.read(trailer) < 0) throw new IOException("snapshot truncado");
+        }
+        if (trailer.flip().getInt() != (int) crc.getValue()) throw new IOException("CRC do snapshot não confere");
+    }
+
+    private void require(int bytes) throws IOException {
+        if (consumed + bytes > payloadEnd) throw new IOException("snapshot truncado ou corrompido");
+        consumed += bytes;
+        if (buffer.remaining() >= bytes) return;
+        updateCrc();
+        buffer.compact();
+        while (buffer.position() < bytes) {
+            if (channel.read(buffer) < 0) throw new IOException("snapshot truncado");
+        }
+        buffer.flip();
+    }
+
+    // soma ao CRC os bytes entregues desde a última atualização
+    private void updateCrc() {
+        ByteBuffer delivered = buffer.duplicate();
+        delivered.position(crcStart).limit(buffer.position());
+        crc.update(delivered);
+        crcStart = 0; // depois do compact, o que sobrou no buffer ainda não foi entregue
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
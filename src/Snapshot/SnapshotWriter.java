@@ -0,0 +1,81 @@
+package Snapshot;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+// escreve um snapshot binário: cabeçalho (magic, versão do formato), os campos gravados
+// pela árvore e, no fim, o CRC32 de tudo que veio antes. Os bytes passam por um buffer
+// direto de 1 MiB e vão para o FileChannel em blocos. O arquivo é montado ao lado do
+// destino (".tmp") e só substitui o snapshot anterior em commit(), com um move atômico,
+// então uma queda no meio da gravação nunca deixa um snapshot pela metade no lugar
+public final class SnapshotWriter implements Closeable {
+
+    public static final int FORMAT_VERSION = 1;
+    static final int BUFFER_SIZE = 1 << 20;
+
+    private final Path target;
+    private final Path temporary;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final CRC32 crc = new CRC32();
+    private boolean committed;
+
+    public SnapshotWriter(Path target, int magic) throws IOException {
+        this.target = target;
+        this.temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        this.channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        writeInt(magic);
+        writeInt(FORMAT_VERSION);
+    }
+
+    public void writeByte(int value) throws IOException {
+        if (!buffer.hasRemaining()) flush();
+        buffer.put((byte) value);
+    }
+
+    public void writeInt(int value) throws IOException {
+        if (buffer.remaining() < Integer.BYTES) flush();
+        buffer.putInt(value);
+    }
+
+    public void writeLong(long value) throws IOException {
+        if (buffer.remaining() < Long.BYTES) flush();
+        buffer.putLong(value);
+    }
+
+    // grava o CRC, força o conteúdo para o disco e troca o snapshot anterior por este
+    public void commit() throws IOException {
+        flush();
+        buffer.putInt((int) crc.getValue()); // o próprio CRC fica fora da soma
+        buffer.flip();
+        while (buffer.hasRemaining()) channel.write(buffer);
+        buffer.clear();
+        channel.force(true);
+        channel.close();
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        committed = true;
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        crc.update(buffer.duplicate());
+        while (buffer.hasRemaining()) channel.write(buffer);
+        buffer.clear();
+    }
+
+    // sem commit, a gravação é descartada e o snapshot anterior continua valendo
+    @Override
+    public void close() throws IOException {
+        if (committed) return;
+        channel.close();
+        Files.deleteIfExists(temporary);
+    }
+}